@@ -2,11 +2,13 @@ package com.cabinetmedical;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principale de l'application Cabinet Médical
  */
 @SpringBootApplication
+@EnableScheduling
 public class CabinetMedicalApplication {
 
     public static void main(String[] args) {
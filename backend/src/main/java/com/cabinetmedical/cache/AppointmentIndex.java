@@ -0,0 +1,207 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.repository.AppointementRepository;
+import com.cabinetmedical.repository.AppointmentInterval;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index en mémoire des rendez-vous à venir, par médecin
+ *
+ * Chaque agenda est une TreeMap des plages non annulées triées par début. Les plages d'un médecin
+ * ne se chevauchent jamais : la seule candidate au chevauchement d'une plage [début, fin) est celle
+ * qui commence juste avant la fin demandée, d'où un contrôle en O(log n) au lieu de comparer
+ * tous les rendez-vous deux à deux.
+ *
+ * L'agenda d'un médecin est chargé depuis la base à sa première réservation, puis rechargé une fois
+ * sa durée de vie écoulée (cabinet.appointments.index.ttl). Une réservation est d'abord posée dans
+ * l'index (sans identifiant), puis confirmée ou retirée selon l'issue de l'insertion.
+ *
+ * L'index peut être en retard sur la base dans les deux sens (autre instance, modification directe) :
+ * - un conflit manqué est rattrapé par la contrainte d'exclusion ex_rdv_medecin_chevauchement ;
+ * - un conflit avec un rendez-vous annulé ailleurs est contre-vérifié en base avant tout refus,
+ *   et l'agenda est alors rechargé.
+ */
+@Component
+@Slf4j
+public class AppointmentIndex {
+
+    /**
+     * Durée maximale d'un rendez-vous : borne la purge des plages terminées
+     */
+    public static final Duration MAX_DURATION = Duration.ofHours(4);
+
+    private final AppointementRepository appointementRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Agenda> agendas = new ConcurrentHashMap<>();
+
+    public AppointmentIndex(AppointementRepository appointementRepository,
+                            @Value("${cabinet.appointments.index.ttl:PT1M}") Duration ttl) {
+        this.appointementRepository = appointementRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Pose une réservation provisoire si la plage est libre
+     *
+     * @param doctorId ID du médecin
+     * @param start Début demandé
+     * @param end Fin demandée (exclue)
+     * @return true si la plage était libre et est maintenant réservée, false si elle chevauche un rendez-vous
+     */
+    public boolean tryReserve(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        Agenda agenda = agenda(doctorId);
+        synchronized (agenda) {
+            agenda.purgeEndedBefore(LocalDateTime.now());
+
+            AppointmentInterval conflict = agenda.findOverlap(start, end);
+            if (conflict != null && conflict.appointmentId() != null
+                    && !appointementRepository.existsActiveOverlap(doctorId, start, end)) {
+                // Rendez-vous annulé ou déplacé hors de cette instance : l'agenda est périmé
+                log.debug("Conflit fantôme avec le rendez-vous {} du médecin {}, rechargement de l'agenda",
+                        conflict.appointmentId(), doctorId);
+                load(doctorId, agenda);
+                conflict = agenda.findOverlap(start, end);
+            }
+            if (conflict != null) {
+                log.debug("Créneau {} - {} du médecin {} en conflit avec le rendez-vous {}",
+                        start, end, doctorId, conflict.appointmentId());
+                return false;
+            }
+            agenda.byStart.put(start, new AppointmentInterval(null, start, end));
+            return true;
+        }
+    }
+
+    /**
+     * Plages non annulées (réservations provisoires comprises) qui recoupent une période, triées par début
+     *
+     * @param doctorId ID du médecin
+     * @param from Début de la période
+     * @param to Fin de la période (exclue)
+     */
+    public List<AppointmentInterval> intervalsBetween(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        Agenda agenda = agenda(doctorId);
+        synchronized (agenda) {
+            List<AppointmentInterval> intervals = new ArrayList<>();
+            // Seule la plage commençant juste avant la période peut déborder dessus
+            Map.Entry<LocalDateTime, AppointmentInterval> before = agenda.byStart.lowerEntry(from);
+            if (before != null && before.getValue().end().isAfter(from)) {
+                intervals.add(before.getValue());
+            }
+            intervals.addAll(agenda.byStart.subMap(from, true, to, false).values());
+            return intervals;
+        }
+    }
+
+    /**
+     * Confirme une réservation provisoire une fois le rendez-vous enregistré
+     */
+    public void confirm(Long doctorId, LocalDateTime start, Long appointmentId) {
+        Agenda agenda = agenda(doctorId);
+        synchronized (agenda) {
+            agenda.byStart.computeIfPresent(start,
+                    (key, pending) -> new AppointmentInterval(appointmentId, pending.start(), pending.end()));
+        }
+    }
+
+    /**
+     * Retire une réservation provisoire dont l'insertion a échoué
+     */
+    public void release(Long doctorId, LocalDateTime start) {
+        Agenda agenda = agenda(doctorId);
+        synchronized (agenda) {
+            agenda.byStart.computeIfPresent(start, (key, pending) -> pending.appointmentId() == null ? null : pending);
+        }
+    }
+
+    /**
+     * Libère la plage d'un rendez-vous annulé
+     */
+    public void remove(Long doctorId, LocalDateTime start, Long appointmentId) {
+        Agenda agenda = agendas.get(doctorId);
+        if (agenda == null) {
+            return;
+        }
+        synchronized (agenda) {
+            agenda.byStart.computeIfPresent(start,
+                    (key, interval) -> appointmentId.equals(interval.appointmentId()) ? null : interval);
+        }
+    }
+
+    /**
+     * Retourne l'agenda d'un médecin, chargé depuis la base au premier accès puis à expiration
+     * Le chargement a lieu sous le verrou de l'agenda : aucune réservation ne peut s'intercaler
+     */
+    private Agenda agenda(Long doctorId) {
+        Agenda agenda = agendas.computeIfAbsent(doctorId, id -> new Agenda());
+        synchronized (agenda) {
+            if (!agenda.loaded || System.nanoTime() - agenda.loadedAt >= ttlNanos) {
+                load(doctorId, agenda);
+            }
+        }
+        return agenda;
+    }
+
+    /**
+     * Remplace les plages de l'agenda par celles de la base, sous le verrou de l'agenda
+     * Les réservations provisoires (insertion en cours sur cette instance) sont conservées
+     */
+    private void load(Long doctorId, Agenda agenda) {
+        TreeMap<LocalDateTime, AppointmentInterval> pending = new TreeMap<>();
+        agenda.byStart.forEach((start, interval) -> {
+            if (interval.appointmentId() == null) {
+                pending.put(start, interval);
+            }
+        });
+
+        agenda.byStart.clear();
+        for (AppointmentInterval interval : appointementRepository.findActiveIntervals(doctorId, LocalDateTime.now())) {
+            agenda.byStart.put(interval.start(), interval);
+        }
+        pending.forEach(agenda.byStart::putIfAbsent);
+        agenda.loaded = true;
+        agenda.loadedAt = System.nanoTime();
+        log.debug("Agenda du médecin {} chargé: {} rendez-vous à venir", doctorId, agenda.byStart.size());
+    }
+
+    /**
+     * Plages non annulées d'un médecin ; accès sous le moniteur de l'instance
+     */
+    private static final class Agenda {
+
+        private final TreeMap<LocalDateTime, AppointmentInterval> byStart = new TreeMap<>();
+        private boolean loaded;
+        private long loadedAt;
+
+        /**
+         * Les plages ne se chevauchent pas : triées par début, elles le sont aussi par fin.
+         * La plage commençant juste avant la fin demandée est donc celle qui finit le plus tard
+         * parmi les candidates
+         */
+        private AppointmentInterval findOverlap(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, AppointmentInterval> candidate = byStart.lowerEntry(end);
+            if (candidate != null && candidate.getValue().overlaps(start, end)) {
+                return candidate.getValue();
+            }
+            return null;
+        }
+
+        /**
+         * Une plage commencée plus de MAX_DURATION avant l'instant donné est terminée
+         */
+        private void purgeEndedBefore(LocalDateTime now) {
+            byStart.headMap(now.minus(MAX_DURATION)).clear();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import com.cabinetmedical.repository.DoctorRepository;
+import com.cabinetmedical.repository.SpecialityRepository;
+import com.cabinetmedical.repository.TableStamp;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Version courante des listes de médecins, utilisée comme ETag
+ * Calculée à partir de COUNT(*) et MAX(updated_at) de chaque table, conservée en mémoire
+ * et recalculée (une requête) à la première lecture suivant une écriture validée
+ *
+ * Permet de répondre 304 Not Modified sans exécuter la requête de page ni sérialiser de JSON.
+ */
+@Component
+@Slf4j
+public class DirectoryVersion {
+
+    private final Stamp doctors;
+    private final Stamp specialities;
+
+    public DirectoryVersion(DoctorRepository doctorRepository, SpecialityRepository specialityRepository) {
+        this.doctors = new Stamp(doctorRepository::findStamp);
+        this.specialities = new Stamp(specialityRepository::findStamp);
+    }
+
+    /**
+     * ETag fort des listes de médecins
+     * Dépend aussi des spécialités, embarquées dans chaque DoctorDTO
+     */
+    public String doctorsEtag() {
+        return "\"d" + doctors.token() + "-s" + specialities.token() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        log.debug("Version des médecins périmée suite à {}", event);
+        doctors.invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpecialityChanged(SpecialityChangedEvent event) {
+        log.debug("Version des spécialités périmée suite à {}", event);
+        specialities.invalidate();
+    }
+
+    /**
+     * Empreinte d'une table, rechargée paresseusement après invalidation
+     */
+    private static final class Stamp {
+
+        private final Supplier<TableStamp> loader;
+        private final AtomicReference<String> token = new AtomicReference<>();
+        private final AtomicLong generation = new AtomicLong();
+
+        private Stamp(Supplier<TableStamp> loader) {
+            this.loader = loader;
+        }
+
+        private String token() {
+            String current = token.get();
+            if (current != null) {
+                return current;
+            }
+
+            long startGeneration = generation.get();
+            String loaded = loader.get().token();
+            token.compareAndSet(null, loaded);
+            if (generation.get() != startGeneration) {
+                // Une écriture a été validée pendant le calcul : l'empreinte est peut-être périmée
+                token.compareAndSet(loaded, null);
+            }
+            return loaded;
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+            token.set(null);
+        }
+    }
+}
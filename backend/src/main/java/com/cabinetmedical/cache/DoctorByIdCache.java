@@ -0,0 +1,132 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache en lecture des médecins par ID (fiches détaillées et lectures groupées)
+ * Borné en taille et en durée de vie ; compteurs publiés dans Micrometer sous "doctorsById"
+ *
+ * Les IDs absents du cache sont chargés en une seule fois par le chargeur fourni (requête IN).
+ * Un médecin est invalidé après commit de son écriture ou de celle de sa spécialité.
+ */
+@Component
+@Slf4j
+public class DoctorByIdCache {
+
+    static final String CACHE_NAME = "doctorsById";
+
+    private final Cache<Long, DoctorDTO> doctors;
+
+    /**
+     * Incrémentée à chaque invalidation : un médecin chargé avant une invalidation
+     * ne doit pas rester dans le cache
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public DoctorByIdCache(@Value("${cabinet.cache.doctors-by-id.maximum-size:10000}") long maximumSize,
+                           @Value("${cabinet.cache.doctors-by-id.ttl:PT30M}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.doctors = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, doctors, CACHE_NAME);
+    }
+
+    /**
+     * Retourne les médecins demandés, dans l'ordre des IDs, en chargeant les absents en une fois
+     * Les IDs inconnus sont ignorés
+     *
+     * @param ids IDs des médecins (les doublons sont ignorés)
+     * @param loader Chargement groupé des IDs absents du cache, indexé par ID
+     * @return Médecins trouvés, dans l'ordre des IDs demandés
+     */
+    public List<DoctorDTO> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, DoctorDTO>> loader) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, DoctorDTO> found = new HashMap<>(doctors.getAllPresent(requested));
+
+        Set<Long> missing = new LinkedHashSet<>(requested);
+        missing.removeAll(found.keySet());
+        if (!missing.isEmpty()) {
+            long startGeneration = generation.get();
+            Map<Long, DoctorDTO> loaded = loader.apply(missing);
+            doctors.putAll(loaded);
+            if (generation.get() != startGeneration) {
+                // Une écriture a été validée pendant la lecture : les fiches sont peut-être périmées
+                loaded.forEach((id, doctor) -> doctors.asMap().remove(id, doctor));
+            }
+            found.putAll(loaded);
+        }
+
+        List<DoctorDTO> result = new ArrayList<>(found.size());
+        for (Long id : requested) {
+            DoctorDTO doctor = found.get(id);
+            if (doctor != null) {
+                result.add(doctor);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Invalide la fiche du médecin modifié ou supprimé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        log.debug("Invalidation de la fiche du médecin suite à {}", event);
+        generation.incrementAndGet();
+        doctors.invalidate(event.doctorId());
+    }
+
+    /**
+     * Invalide les fiches des médecins de la spécialité modifiée
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpecialityChanged(SpecialityChangedEvent event) {
+        if (event.type() == SpecialityChangedEvent.Type.CREATED) {
+            return;
+        }
+        log.debug("Invalidation des fiches de médecins suite à {}", event);
+        generation.incrementAndGet();
+        doctors.asMap().values().removeIf(doctor -> doctor.specialite() != null
+                && event.specialityId().equals(doctor.specialite().id()));
+    }
+
+    /**
+     * Statistiques du cache (hits, misses, évictions)
+     */
+    public CacheStats stats() {
+        return doctors.stats();
+    }
+
+    /**
+     * Vide entièrement le cache
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        doctors.invalidateAll();
+    }
+}
@@ -0,0 +1,88 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.event.DoctorChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache en mémoire du nombre total de médecins, par spécialité
+ * Évite d'exécuter la requête COUNT à chaque page de la liste des médecins
+ *
+ * La clé null (tous les médecins) est stockée sous {@link #ALL_DOCTORS}.
+ * Les entrées sont invalidées après commit de toute écriture sur un médecin.
+ */
+@Component
+@Slf4j
+public class DoctorCountCache {
+
+    /**
+     * Clé interne représentant "tous les médecins" (les IDs de spécialité sont positifs)
+     */
+    static final long ALL_DOCTORS = -1L;
+
+    private final Map<Long, Long> totals = new ConcurrentHashMap<>();
+
+    /**
+     * Incrémentée à chaque invalidation : un chargement commencé avant une invalidation
+     * ne doit pas laisser de valeur périmée dans le cache
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Retourne le total de médecins pour la spécialité, en le calculant au premier appel
+     *
+     * @param specialityId ID de la spécialité (null pour tous les médecins)
+     * @param loader Requête de comptage exécutée en cas d'absence dans le cache
+     * @return Nombre total de médecins
+     */
+    public long getTotal(Long specialityId, LongSupplier loader) {
+        Long key = keyOf(specialityId);
+        Long cached = totals.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        long total = loader.getAsLong();
+        totals.put(key, total);
+        if (generation.get() != startGeneration) {
+            // Une écriture a eu lieu pendant le comptage : la valeur est peut-être périmée
+            totals.remove(key, total);
+        }
+        return total;
+    }
+
+    /**
+     * Invalide les totaux impactés par l'écriture d'un médecin
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        log.debug("Invalidation des totaux de médecins suite à {}", event);
+        generation.incrementAndGet();
+        totals.remove(ALL_DOCTORS);
+        if (event.previousSpecialityId() != null) {
+            totals.remove(event.previousSpecialityId());
+        }
+        if (event.specialityId() != null) {
+            totals.remove(event.specialityId());
+        }
+    }
+
+    /**
+     * Vide entièrement le cache
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        totals.clear();
+    }
+
+    private static Long keyOf(Long specialityId) {
+        return specialityId != null ? specialityId : ALL_DOCTORS;
+    }
+}
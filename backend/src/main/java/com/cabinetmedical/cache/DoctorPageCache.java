@@ -0,0 +1,118 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.dto.PageResponse;
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache en lecture des pages de l'annuaire des médecins
+ * Borné en taille et en durée de vie ; les compteurs hit/miss/eviction sont publiés
+ * dans Micrometer sous le nom de cache "doctorPages" (cache.gets, cache.evictions...)
+ *
+ * L'invalidation est ciblée : l'écriture d'un médecin n'invalide que les pages non filtrées
+ * et celles de ses spécialités (avant et après), après commit de la transaction.
+ */
+@Component
+@Slf4j
+public class DoctorPageCache {
+
+    static final String CACHE_NAME = "doctorPages";
+
+    private final Cache<DoctorPageKey, PageResponse<DoctorDTO>> pages;
+
+    /**
+     * Incrémentée à chaque invalidation : une page chargée avant une invalidation
+     * ne doit pas rester dans le cache
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public DoctorPageCache(@Value("${cabinet.cache.doctor-pages.maximum-size:500}") long maximumSize,
+                           @Value("${cabinet.cache.doctor-pages.ttl:PT10M}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+    }
+
+    /**
+     * Retourne la page en cache, ou la charge et la met en cache
+     *
+     * @param key Clé de la page
+     * @param loader Lecture en base exécutée en cas d'absence
+     * @return Page de médecins
+     */
+    public PageResponse<DoctorDTO> get(DoctorPageKey key, Supplier<PageResponse<DoctorDTO>> loader) {
+        PageResponse<DoctorDTO> cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        PageResponse<DoctorDTO> page = loader.get();
+        pages.put(key, page);
+        if (generation.get() != startGeneration) {
+            // Une écriture a été validée pendant la lecture : la page est peut-être périmée
+            pages.asMap().remove(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Invalide les pages impactées par l'écriture d'un médecin
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        log.debug("Invalidation des pages de médecins suite à {}", event);
+        generation.incrementAndGet();
+        pages.asMap().keySet().removeIf(key -> key.specialityId() == null
+                || key.specialityId().equals(event.previousSpecialityId())
+                || key.specialityId().equals(event.specialityId()));
+    }
+
+    /**
+     * Invalide les pages qui embarquent la spécialité modifiée
+     * Une spécialité créée n'a encore aucun médecin : aucune page n'est impactée
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpecialityChanged(SpecialityChangedEvent event) {
+        if (event.type() == SpecialityChangedEvent.Type.CREATED) {
+            return;
+        }
+        log.debug("Invalidation des pages de médecins suite à {}", event);
+        generation.incrementAndGet();
+        pages.asMap().keySet().removeIf(key -> key.specialityId() == null
+                || key.specialityId().equals(event.specialityId()));
+    }
+
+    /**
+     * Statistiques du cache (hits, misses, évictions)
+     */
+    public CacheStats stats() {
+        return pages.stats();
+    }
+
+    /**
+     * Vide entièrement le cache
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        pages.invalidateAll();
+    }
+}
@@ -0,0 +1,41 @@
+package com.cabinetmedical.cache;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Clé du cache des pages de médecins
+ *
+ * @param specialityId ID de la spécialité filtrée (null pour tous les médecins)
+ * @param page Numéro de page
+ * @param size Taille de page
+ * @param sort Tri normalisé, par ex. "nom:ASC,prenom:DESC" (vide si non trié)
+ */
+public record DoctorPageKey(
+        Long specialityId,
+        int page,
+        int size,
+        String sort
+) {
+    /**
+     * Construit la clé d'une requête paginée
+     * Le nom des propriétés de tri est mis en minuscules pour que "NOM" et "nom" partagent l'entrée
+     */
+    public static DoctorPageKey of(Long specialityId, Pageable pageable) {
+        return new DoctorPageKey(
+                specialityId,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                normalize(pageable.getSort())
+        );
+    }
+
+    private static String normalize(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty().toLowerCase(Locale.ROOT) + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+}
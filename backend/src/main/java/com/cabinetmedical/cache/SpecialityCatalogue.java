@@ -0,0 +1,141 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.SpecialityDTO;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import com.cabinetmedical.mapper.SpecialityMapper;
+import com.cabinetmedical.repository.SpecialityRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Catalogue des spécialités tenu en mémoire sous forme d'instantané immuable
+ *
+ * L'instantané contient la liste triée par nom et sa réponse JSON déjà encodée, brute et gzip :
+ * /speciality/allSpecialities n'écrit qu'un tableau d'octets, sans base ni sérialisation.
+ * Construit au démarrage, puis reconstruit et remplacé atomiquement après chaque écriture
+ * validée sur une spécialité.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpecialityCatalogue {
+
+    private final SpecialityRepository specialityRepository;
+    private final SpecialityMapper specialityMapper;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    /**
+     * Incrémentée à chaque écriture validée : un instantané construit pendant une écriture est écarté
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Construit le catalogue au démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        snapshot();
+    }
+
+    /**
+     * Retourne l'instantané courant, construit au premier appel s'il n'existe pas encore
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long startGeneration = generation.get();
+        Snapshot loaded = build();
+        current.compareAndSet(null, loaded);
+        if (generation.get() != startGeneration) {
+            // Une spécialité a changé pendant la construction : l'instantané est peut-être périmé
+            current.compareAndSet(loaded, null);
+        }
+        return loaded;
+    }
+
+    /**
+     * Reconstruit le catalogue après une écriture validée sur une spécialité
+     * Les lectures continuent de servir l'ancien instantané jusqu'au remplacement ; si une autre
+     * écriture survient pendant la construction, c'est sa propre reconstruction qui est retenue.
+     * En cas d'échec, l'instantané est retiré et sera reconstruit à la prochaine lecture
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpecialityChanged(SpecialityChangedEvent event) {
+        log.debug("Reconstruction du catalogue des spécialités suite à {}", event);
+        long eventGeneration = generation.incrementAndGet();
+        try {
+            Snapshot rebuilt = build();
+            if (generation.get() == eventGeneration) {
+                current.set(rebuilt);
+            }
+        } catch (RuntimeException e) {
+            log.error("Échec de la reconstruction du catalogue des spécialités", e);
+            current.set(null);
+        }
+    }
+
+    private Snapshot build() {
+        List<SpecialityDTO> specialities = specialityRepository.findAllByOrderByNomAsc().stream()
+                .map(specialityMapper::toDTO)
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(specialities);
+            String digest = DigestUtils.md5DigestAsHex(json);
+            Snapshot snapshot = new Snapshot(specialities, json, gzip(json),
+                    "\"s" + digest + "\"", "\"s" + digest + "-gzip\"");
+            log.info("Catalogue des spécialités construit : {} spécialités, {} octets ({} en gzip)",
+                     specialities.size(), json.length, snapshot.gzipJson().length);
+            return snapshot;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation du catalogue des spécialités impossible", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Instantané immuable du catalogue ; les tableaux d'octets ne doivent jamais être modifiés
+     *
+     * @param specialities Spécialités triées par nom (liste non modifiable)
+     * @param json Réponse JSON encodée en UTF-8
+     * @param gzipJson Même réponse compressée en gzip
+     * @param etag ETag fort de la représentation JSON (empreinte MD5 du contenu)
+     * @param gzipEtag ETag de la représentation gzip, distinct de celui de la représentation brute
+     */
+    public record Snapshot(
+            List<SpecialityDTO> specialities,
+            byte[] json,
+            byte[] gzipJson,
+            String etag,
+            String gzipEtag
+    ) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.SpecialityCountDTO;
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import com.cabinetmedical.repository.DoctorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Nombre de médecins par spécialité, tenu en mémoire pour les compteurs du filtre
+ *
+ * Chargé une seule fois au démarrage par un GROUP BY, puis mis à jour par delta à chaque
+ * création, suppression ou changement de spécialité d'un médecin : la lecture ne coûte
+ * qu'un parcours des spécialités, sans requête SQL.
+ *
+ * Un delta n'est appliqué qu'après le commit de sa transaction, mais un chargement exécuté entre
+ * ce commit et la réception du delta compte déjà le médecin. Chaque écriture est donc suivie dès
+ * sa publication : un chargement n'est retenu que si aucune écriture n'était en cours et qu'aucune
+ * ne s'est terminée pendant la requête ; sinon il attend leur fin (délai borné) puis recommence,
+ * un nombre limité de fois. Seules les écritures qui changent la spécialité d'un médecin comptent.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpecialityDoctorCounts {
+
+    /**
+     * Nombre maximum de requêtes d'un chargement avant d'abandonner
+     */
+    static final int MAX_LOAD_ATTEMPTS = 3;
+
+    /**
+     * Attente maximale de la fin des écritures en cours, à chaque tentative
+     */
+    static final Duration WRITES_WAIT = Duration.ofSeconds(2);
+
+    private final DoctorRepository doctorRepository;
+
+    /**
+     * Compteurs par ID de spécialité (null tant que le chargement initial n'a pas abouti)
+     */
+    private volatile Map<Long, Long> counts;
+
+    /**
+     * Incrémentée à la fin de chaque changement de spécialité (sous le verrou de l'instance) :
+     * un chargement pendant lequel un médecin a changé de spécialité est recommencé
+     */
+    private long generation;
+
+    /**
+     * Changements de spécialité publiés dont la transaction n'est pas encore terminée (sous le verrou de l'instance)
+     */
+    private int inFlight;
+
+    /**
+     * Charge les compteurs au démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        load();
+    }
+
+    /**
+     * Retourne le nombre de médecins de chaque spécialité, par ID croissant
+     */
+    public List<SpecialityCountDTO> getCounts() {
+        Map<Long, Long> current = counts;
+        if (current == null) {
+            current = load();
+        }
+        return current.entrySet().stream()
+                .map(entry -> new SpecialityCountDTO(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(SpecialityCountDTO::specialityId))
+                .toList();
+    }
+
+    /**
+     * Suit une écriture sur un médecin dès sa publication, puis applique son delta après le commit
+     * (immédiatement hors transaction, jamais en cas de rollback)
+     * Une modification sans changement de spécialité ne peut pas changer les compteurs : ignorée
+     */
+    @EventListener
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        if (!event.specialityChanged()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                generation++;
+                applyDelta(event);
+            }
+            return;
+        }
+        synchronized (this) {
+            inFlight++;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new PendingDelta(event));
+    }
+
+    /**
+     * Applique le delta d'une écriture validée, sous le verrou de l'instance
+     */
+    private void applyDelta(DoctorChangedEvent event) {
+        Map<Long, Long> current = counts;
+        if (current == null) {
+            return;
+        }
+        log.debug("Mise à jour des compteurs de spécialités suite à {}", event);
+        if (event.previousSpecialityId() != null) {
+            current.merge(event.previousSpecialityId(), -1L, Long::sum);
+        }
+        if (event.specialityId() != null) {
+            current.merge(event.specialityId(), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Ajoute ou retire la spécialité créée ou supprimée
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSpecialityChanged(SpecialityChangedEvent event) {
+        Map<Long, Long> current = counts;
+        if (current == null) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> current.putIfAbsent(event.specialityId(), 0L);
+            case DELETED -> current.remove(event.specialityId());
+            case UPDATED -> {
+                // Le nom ne fait pas partie des compteurs
+            }
+        }
+    }
+
+    /**
+     * Recharge les compteurs depuis la base
+     * La requête est exécutée hors verrou ; le résultat n'est retenu que si aucune écriture n'était
+     * en cours ni ne s'est terminée entre-temps, sinon la requête est recommencée après leur fin.
+     * Au-delà de {@value #MAX_LOAD_ATTEMPTS} tentatives, ou si la transaction de l'appelant porte
+     * elle-même un changement en cours (il ne se terminera pas pendant l'attente), le chargement
+     * abandonne : les compteurs déjà publiés sont conservés, à défaut le dernier comptage est
+     * retourné sans être publié.
+     */
+    public Map<Long, Long> load() {
+        boolean ownPendingWrite = hasPendingDeltaInCurrentTransaction();
+        Map<Long, Long> loaded = null;
+        for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+            long startGeneration;
+            synchronized (this) {
+                startGeneration = generation;
+            }
+
+            Map<Long, Long> snapshot = new ConcurrentHashMap<>();
+            doctorRepository.countDoctorsBySpeciality()
+                    .forEach(count -> snapshot.put(count.specialityId(), count.doctorCount()));
+            loaded = snapshot;
+
+            synchronized (this) {
+                if (inFlight == 0 && generation == startGeneration) {
+                    counts = loaded;
+                    log.info("Compteurs de médecins chargés pour {} spécialités", loaded.size());
+                    return loaded;
+                }
+                if (ownPendingWrite || !awaitWritesCompleted()) {
+                    break;
+                }
+            }
+            log.debug("Spécialité d'un médecin modifiée pendant le comptage, nouveau chargement");
+        }
+
+        Map<Long, Long> current = counts;
+        if (current != null) {
+            log.warn("Écritures concurrentes pendant le chargement des compteurs : compteurs actuels conservés");
+            return current;
+        }
+        log.warn("Écritures concurrentes pendant le chargement des compteurs : comptage servi sans être publié");
+        return loaded;
+    }
+
+    /**
+     * Attend, au plus {@link #WRITES_WAIT}, la fin des transactions dont le delta n'a pas encore été reçu
+     * Sous le verrou de l'instance
+     * @return vrai si plus aucune écriture n'est en cours
+     */
+    private boolean awaitWritesCompleted() {
+        long deadline = System.nanoTime() + WRITES_WAIT.toNanos();
+        try {
+            long remaining;
+            while (inFlight > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                wait(Math.max(1, remaining / 1_000_000));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return inFlight == 0;
+    }
+
+    /**
+     * Vrai si la transaction du thread courant porte un changement de spécialité non terminé
+     */
+    private boolean hasPendingDeltaInCurrentTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(synchronization -> synchronization instanceof PendingDelta pending && pending.owner() == this);
+    }
+
+    /**
+     * Delta d'un changement de spécialité, appliqué à la fin de sa transaction
+     */
+    private final class PendingDelta implements TransactionSynchronization {
+
+        private final DoctorChangedEvent event;
+
+        private PendingDelta(DoctorChangedEvent event) {
+            this.event = event;
+        }
+
+        private SpecialityDoctorCounts owner() {
+            return SpecialityDoctorCounts.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            synchronized (SpecialityDoctorCounts.this) {
+                inFlight--;
+                generation++;
+                if (status == STATUS_COMMITTED) {
+                    applyDelta(event);
+                }
+                SpecialityDoctorCounts.this.notifyAll();
+            }
+        }
+    }
+}
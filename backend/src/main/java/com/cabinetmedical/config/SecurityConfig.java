@@ -0,0 +1,35 @@
+package com.cabinetmedical.config;
+
+import com.cabinetmedical.security.SessionTokenFilter;
+import com.cabinetmedical.security.SessionTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration de l'authentification par jeton de session
+ * Seules les URL listées ici exigent un jeton ; le reste de l'API reste public
+ */
+@Configuration
+public class SecurityConfig {
+
+    /**
+     * URL (motifs servlet) réservées aux utilisateurs authentifiés
+     * Le rôle exigé (patient, personnel) est contrôlé par chaque controller
+     */
+    static final String[] PROTECTED_URL_PATTERNS = {"/patient/*", "/staff/*", "/auth/session"};
+
+    @Bean
+    public FilterRegistrationBean<SessionTokenFilter> sessionTokenFilter(SessionTokenService sessionTokenService,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<SessionTokenFilter> registration =
+                new FilterRegistrationBean<>(new SessionTokenFilter(sessionTokenService, objectMapper));
+        registration.addUrlPatterns(PROTECTED_URL_PATTERNS);
+
+        // Après le filtre CORS (voir CorsConfig), pour que les réponses 401 restent lisibles par le frontend
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,211 @@
+package com.cabinetmedical.controller;
+
+import com.cabinetmedical.dto.AppointmentDTO;
+import com.cabinetmedical.dto.AppointmentRequestDTO;
+import com.cabinetmedical.exception.ErrorResponse;
+import com.cabinetmedical.security.SessionPrincipal;
+import com.cabinetmedical.service.AppointmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST pour les rendez-vous du patient connecté
+ * Le patient est toujours celui du jeton de session (SessionTokenFilter)
+ */
+@RestController
+@RequestMapping("/patient/appointments")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rendez-vous API", description = "API REST pour la réservation des rendez-vous des patients")
+public class AppointmentController {
+
+    private final AppointmentService appointmentService;
+
+    /**
+     * Réserve un rendez-vous pour le patient connecté
+     */
+    @Operation(
+            summary = "Réserver un rendez-vous",
+            description = "Réserve un rendez-vous avec un médecin pour le patient du jeton de session. " +
+                         "Le chevauchement avec les rendez-vous non annulés du médecin est contrôlé en mémoire " +
+                         "(index trié par début, O(log n)) puis garanti en base par une contrainte d'exclusion. " +
+                         "Une plage qui chevauche un rendez-vous existant est refusée en 409. " +
+                         "Les réservations d'un même médecin sont traitées l'une après l'autre ; " +
+                         "si l'agenda reste occupé au-delà du délai d'attente, la demande est rejetée en 429."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Rendez-vous réservé",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AppointmentDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Demande invalide (date passée, durée hors bornes, champ manquant)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Jeton absent, invalide ou expiré",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Médecin non trouvé",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "La plage chevauche un rendez-vous existant du médecin",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Agenda du médecin trop sollicité (en-tête Retry-After)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping
+    public ResponseEntity<AppointmentDTO> bookAppointment(
+            @Parameter(hidden = true) @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal,
+            @RequestBody AppointmentRequestDTO request) {
+        log.info("Requête de réservation du patient {} avec le médecin {}", principal.patientId(), request.doctorId());
+
+        AppointmentDTO appointment = appointmentService.book(principal.patientId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(appointment);
+    }
+
+    /**
+     * Récupère les rendez-vous à venir du patient connecté
+     */
+    @Operation(
+            summary = "Récupérer mes rendez-vous à venir",
+            description = "Retourne les rendez-vous du patient du jeton de session dont la date de début est future, " +
+                         "annulés compris, triés par date de début."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Rendez-vous récupérés avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = AppointmentDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Jeton absent, invalide ou expiré",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping
+    public ResponseEntity<List<AppointmentDTO>> getUpcomingAppointments(
+            @Parameter(hidden = true) @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal) {
+        log.debug("Requête des rendez-vous à venir du patient {}", principal.patientId());
+
+        return ResponseEntity.ok(appointmentService.getUpcomingAppointments(principal.patientId()));
+    }
+
+    /**
+     * Annule un rendez-vous du patient connecté
+     */
+    @Operation(
+            summary = "Annuler un rendez-vous",
+            description = "Annule un rendez-vous à venir du patient du jeton de session. " +
+                         "La plage redevient immédiatement réservable. Annuler un rendez-vous déjà annulé est sans effet."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Rendez-vous annulé",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AppointmentDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Rendez-vous commencé ou passé",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Jeton absent, invalide ou expiré",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Rendez-vous non trouvé pour ce patient",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Rendez-vous modifié par une autre requête pendant l'annulation",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<AppointmentDTO> cancelAppointment(
+            @Parameter(hidden = true) @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal,
+            @Parameter(description = "ID du rendez-vous", required = true, example = "42")
+            @PathVariable Long id) {
+        log.info("Requête d'annulation du rendez-vous {} par le patient {}", id, principal.patientId());
+
+        return ResponseEntity.ok(appointmentService.cancel(principal.patientId(), id));
+    }
+}
@@ -2,38 +2,51 @@ package com.cabinetmedical.controller;
 
 import com.cabinetmedical.dto.LoginRequestDTO;
 import com.cabinetmedical.dto.LoginResponseDTO;
+import com.cabinetmedical.dto.StaffLoginRequestDTO;
+import com.cabinetmedical.dto.StaffLoginResponseDTO;
 import com.cabinetmedical.exception.ErrorResponse;
+import com.cabinetmedical.security.LoginRateLimiter;
+import com.cabinetmedical.security.SessionPrincipal;
 import com.cabinetmedical.service.AuthService;
+import com.cabinetmedical.service.StaffAuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
- * Controller REST pour l'authentification des patients
+ * Controller REST pour l'authentification des patients et du personnel du cabinet
  */
 @RestController
 @RequestMapping("/auth")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true")
 @RequiredArgsConstructor
 @Slf4j
-@Tag(name = "Authentification API", description = "API REST pour l'authentification des patients")
+@Tag(name = "Authentification API", description = "API REST pour l'authentification des patients et du personnel")
 public class AuthController {
 
     private final AuthService authService;
+    private final StaffAuthService staffAuthService;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * Endpoint de connexion pour les patients
      */
     @Operation(
             summary = "Connexion patient",
-            description = "Authentifie un patient avec son email et son numéro de téléphone (utilisé comme mot de passe)"
+            description = "Authentifie un patient avec son email et son numéro de téléphone (utilisé comme mot de passe). "
+                    + "Les tentatives sont limitées par email et par adresse IP ; au-delà, la requête est rejetée "
+                    + "en 429 sans interroger la base"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -60,6 +73,14 @@ public class AuthController {
                             schema = @Schema(implementation = ErrorResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Trop de tentatives de connexion (en-tête Retry-After)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Erreur interne du serveur",
@@ -70,16 +91,111 @@ public class AuthController {
             )
     })
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginRequest) {
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@RequestBody LoginRequestDTO loginRequest,
+                                                                     HttpServletRequest request) {
         log.info("Requête de connexion reçue pour: {}", loginRequest.email());
 
+        // Avant le service : un rejet n'ouvre ni transaction ni connexion
+        loginRateLimiter.checkLoginAttempt(loginRequest.email(), request.getRemoteAddr());
+
+        // Réponse asynchrone : le thread Tomcat est libéré pendant la vérification de l'empreinte
         try {
-            LoginResponseDTO response = authService.login(loginRequest);
-            return ResponseEntity.ok(response);
+            return authService.login(loginRequest)
+                    .whenComplete((response, e) -> {
+                        if (e != null) {
+                            log.error("Erreur lors de l'authentification: {}", e.getCause() != null
+                                    ? e.getCause().getMessage() : e.getMessage());
+                        }
+                    })
+                    .thenApply(ResponseEntity::ok);
         } catch (RuntimeException e) {
             log.error("Erreur lors de l'authentification: {}", e.getMessage());
             throw e;
         }
     }
-}
 
+    /**
+     * Endpoint de connexion pour le personnel du cabinet
+     */
+    @Operation(
+            summary = "Connexion du personnel",
+            description = "Authentifie le personnel du cabinet avec l'email et le mot de passe du compte configuré "
+                    + "(cabinet.security.staff.*) et émet un jeton de session de rôle STAFF, requis par les URL /staff/*. "
+                    + "Les tentatives sont limitées par email et par adresse IP comme pour les patients"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Authentification réussie",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StaffLoginResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Trop de tentatives de connexion (en-tête Retry-After)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Identifiants incorrects ou erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/staff/login")
+    public CompletableFuture<ResponseEntity<StaffLoginResponseDTO>> staffLogin(
+            @RequestBody StaffLoginRequestDTO loginRequest, HttpServletRequest request) {
+        log.info("Requête de connexion du personnel reçue pour: {}", loginRequest.email());
+
+        loginRateLimiter.checkLoginAttempt(loginRequest.email(), request.getRemoteAddr());
+
+        return staffAuthService.login(loginRequest)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        log.error("Erreur lors de l'authentification du personnel: {}", e.getCause() != null
+                                ? e.getCause().getMessage() : e.getMessage());
+                    }
+                })
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Retourne la session portée par le jeton, sans lecture en base
+     */
+    @Operation(
+            summary = "Session courante",
+            description = "Retourne l'identité portée par le jeton de session (en-tête Authorization: Bearer). "
+                    + "Le jeton est vérifié en mémoire, sans lecture en base ni magasin de sessions"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Jeton valide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SessionPrincipal.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Jeton absent, invalide ou expiré",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/session")
+    public ResponseEntity<SessionPrincipal> getSession(
+            @Parameter(hidden = true) @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal) {
+        log.debug("Session du patient {} valide jusqu'à {}", principal.patientId(), principal.expiresAt());
+        return ResponseEntity.ok(principal);
+    }
+}
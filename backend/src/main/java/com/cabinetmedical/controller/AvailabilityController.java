@@ -0,0 +1,117 @@
+package com.cabinetmedical.controller;
+
+import com.cabinetmedical.dto.AvailabilityDTO;
+import com.cabinetmedical.exception.ErrorResponse;
+import com.cabinetmedical.exception.ForbiddenException;
+import com.cabinetmedical.security.SessionPrincipal;
+import com.cabinetmedical.service.AvailabilityService;
+import com.cabinetmedical.service.StaffAuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST de gestion des disponibilités hebdomadaires des médecins
+ * Réservé au personnel du cabinet : jeton de session obligatoire (SessionTokenFilter, /staff/*)
+ * et rôle STAFF, obtenu par POST /auth/staff/login ; un jeton patient est refusé en 403
+ */
+@RestController
+@RequestMapping("/staff/doctor")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Disponibilités API", description = "API REST pour la gestion des semaines types des médecins (personnel du cabinet)")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    /**
+     * Remplace la semaine type d'un médecin
+     */
+    @Operation(
+            summary = "Remplacer la semaine type d'un médecin",
+            description = "Endpoint REST API pour enregistrer en une fois toutes les disponibilités hebdomadaires d'un médecin. " +
+                         "Le corps contient la semaine complète souhaitée ; seules les différences avec les plages existantes sont écrites " +
+                         "(ajouts, modifications, désactivation des plages absentes), dans une seule transaction. " +
+                         "Les heures doivent appartenir à la grille horaire du cabinet et les plages d'un même jour ne peuvent pas se chevaucher. " +
+                         "Une liste vide retire toutes les disponibilités du médecin. " +
+                         "Réservé au personnel du cabinet (jeton de session de rôle STAFF, obtenu par POST /auth/staff/login)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Semaine type enregistrée ; plages actives retournées",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = AvailabilityDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Plage invalide ou chevauchement de plages",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Jeton absent, invalide ou expiré",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Jeton valide mais sans le rôle du personnel",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Médecin non trouvé",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PutMapping("/{id}/availability")
+    public ResponseEntity<List<AvailabilityDTO>> replaceWeeklySchedule(
+            @Parameter(description = "ID du médecin", example = "1")
+            @PathVariable Long id,
+
+            @RequestBody List<AvailabilityDTO> plages,
+
+            @Parameter(hidden = true) @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal
+    ) {
+        log.info("PUT /staff/doctor/{}/availability - {} plage(s), rôle: {}", id, plages.size(), principal.role());
+
+        if (!StaffAuthService.STAFF_ROLE.equals(principal.role())) {
+            throw new ForbiddenException("La modification des disponibilités est réservée au personnel du cabinet");
+        }
+        return ResponseEntity.ok(availabilityService.replaceWeeklySchedule(id, plages));
+    }
+}
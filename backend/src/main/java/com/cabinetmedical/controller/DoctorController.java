@@ -1,11 +1,19 @@
 package com.cabinetmedical.controller;
 
+import com.cabinetmedical.cache.DirectoryVersion;
+import com.cabinetmedical.dto.CursorPageResponse;
 import com.cabinetmedical.dto.DoctorDTO;
 import com.cabinetmedical.dto.PageResponse;
+import com.cabinetmedical.dto.SliceResponse;
+import com.cabinetmedical.dto.SlotDTO;
 import com.cabinetmedical.exception.ErrorResponse;
+import com.cabinetmedical.repository.DoctorSortField;
+import com.cabinetmedical.service.DoctorExportFormat;
 import com.cabinetmedical.service.DoctorService;
+import com.cabinetmedical.service.SlotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,8 +24,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controller REST pour la récupération de la liste des médecins
@@ -31,7 +51,14 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Médecins API", description = "API REST pour la gestion des médecins du cabinet médical - Microservice")
 public class DoctorController {
 
+    /**
+     * Nombre maximum d'IDs acceptés par /doctor/batch
+     */
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final DoctorService doctorService;
+    private final SlotService slotService;
+    private final DirectoryVersion directoryVersion;
 
     /**
      * Récupère la liste paginée de tous les médecins avec tri
@@ -41,7 +68,12 @@ public class DoctorController {
             description = "Endpoint REST API pour récupérer la liste paginée de tous les médecins avec leurs spécialités. " +
                          "Retourne un objet paginé avec la liste des médecins, le nombre de pages, le nombre total d'éléments et les informations de navigation. " +
                          "Supporte le tri par différents champs de la table médecin. " +
-                         "Peut être filtré par ID de spécialité en utilisant le paramètre 'specialityId'."
+                         "Peut être filtré par ID de spécialité en utilisant le paramètre 'specialityId' " +
+                         "et par recherche textuelle (nom, prénom, numéro d'ordre, spécialité) avec le paramètre 'search'. " +
+                         "Avec 'withNextSlot=true', chaque médecin porte son prochain créneau libre (nextSlot), " +
+                         "calculé pour toute la page en une lecture groupée. " +
+                         "La réponse porte un ETag : une requête conditionnelle (If-None-Match) reçoit 304 si les données n'ont pas changé " +
+                         "(sauf avec 'withNextSlot', qui dépend des rendez-vous et de l'heure)."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -52,6 +84,11 @@ public class DoctorController {
                             schema = @Schema(implementation = PageResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Liste inchangée depuis l'ETag fourni dans If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Paramètres de requête invalides",
@@ -78,7 +115,9 @@ public class DoctorController {
             @RequestParam(defaultValue = "9") int size,
 
             @Parameter(
-                    description = "Champ pour le tri (nom, prenom, numeroOrdre, email, telephone, specialite)",
+                    description = "Champ pour le tri (nom, prenom, numeroOrdre, email, telephone, specialite). " +
+                                  "Hors recherche, un tri qu'aucun index ne couvre est ramené au nom : " +
+                                  "specialite, ainsi que numeroOrdre, email et telephone avec un filtre de spécialité",
                     example = "nom"
             )
             @RequestParam(defaultValue = "nom") String sortBy,
@@ -93,29 +132,435 @@ public class DoctorController {
                     description = "ID de la spécialité pour filtrer (optionnel)",
                     example = "6"
             )
-            @RequestParam(required = false) Long specialityId
+            @RequestParam(required = false) Long specialityId,
+
+            @Parameter(
+                    description = "Recherche sur le nom, le prénom, le numéro d'ordre ou la spécialité, " +
+                                  "insensible à la casse et aux accents (termes de 3 caractères minimum, optionnel)",
+                    example = "dupont"
+            )
+            @RequestParam(required = false) String search,
+
+            @Parameter(
+                    description = "Renseigner le prochain créneau libre de chaque médecin (optionnel)",
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "false") boolean withNextSlot,
+
+            WebRequest webRequest
     ) {
-        log.info("GET /doctor/allDoctors - page: {}, size: {}, sortBy: {}, sortDirection: {}, specialityId: {}",
-                 page, size, sortBy, sortDirection, specialityId);
+        log.info("GET /doctor/allDoctors - page: {}, size: {}, sortBy: {}, sortDirection: {}, specialityId: {}, search: {}, withNextSlot: {}",
+                 page, size, sortBy, sortDirection, specialityId, search, withNextSlot);
 
         // Validation des paramètres
         validatePaginationParams(page, size);
 
-        // Création du Pageable avec tri
-        Sort sort = createSort(sortBy, sortDirection);
+        // Requête conditionnelle : 304 sans requête de page ni sérialisation si rien n'a changé
+        // Les prochains créneaux changent avec les rendez-vous et l'heure : pas d'ETag
+        String etag = directoryVersion.doctorsEtag();
+        if (!withNextSlot && webRequest.checkNotModified(etag)) {
+            log.debug("Liste des médecins inchangée (ETag {}), réponse 304", etag);
+            return null;
+        }
+
+        // Création du Pageable avec tri : la recherche trie les seuls résultats, toutes les clés sont admises
+        boolean searching = search != null && !search.isBlank();
+        Sort sort = createSort(sortBy, sortDirection, specialityId, !searching);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        // Récupération des données avec ou sans filtre de spécialité
+        // Récupération des données : recherche textuelle, filtre de spécialité ou liste complète
         PageResponse<DoctorDTO> response;
-        if (specialityId != null) {
+        if (searching) {
+            response = doctorService.searchDoctors(search, specialityId, pageable);
+        } else if (specialityId != null) {
             response = doctorService.getDoctorsBySpeciality(specialityId, pageable);
         } else {
             response = doctorService.getAllDoctors(pageable);
         }
 
+        if (withNextSlot) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(withNextSlots(response));
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * Récupère une tranche de médecins sans total
+     */
+    @Operation(
+            summary = "Récupérer les médecins sans calcul du total",
+            description = "Variante de /doctor/allDoctors pour les clients qui n'affichent pas le nombre de pages : " +
+                         "la réponse indique seulement si la page est la dernière. " +
+                         "Aucune requête de comptage n'est exécutée (lecture de taille + 1 lignes)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tranche de médecins récupérée avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SliceResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Paramètres de requête invalides",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/allDoctors/slice")
+    public ResponseEntity<SliceResponse<DoctorDTO>> getDoctorsSlice(
+            @Parameter(description = "Numéro de la page (commence à 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Nombre d'éléments par page (taille)", example = "9")
+            @RequestParam(defaultValue = "9") int size,
+
+            @Parameter(
+                    description = "Champ pour le tri (nom, prenom, numeroOrdre, email, telephone, specialite). " +
+                                  "Un tri qu'aucun index ne couvre est ramené au nom : specialite, " +
+                                  "ainsi que numeroOrdre, email et telephone avec un filtre de spécialité",
+                    example = "nom"
+            )
+            @RequestParam(defaultValue = "nom") String sortBy,
+
+            @Parameter(
+                    description = "Direction du tri (asc ou desc)",
+                    example = "asc"
+            )
+            @RequestParam(defaultValue = "asc") String sortDirection,
+
+            @Parameter(
+                    description = "ID de la spécialité pour filtrer (optionnel)",
+                    example = "6"
+            )
+            @RequestParam(required = false) Long specialityId
+    ) {
+        log.info("GET /doctor/allDoctors/slice - page: {}, size: {}, sortBy: {}, sortDirection: {}, specialityId: {}",
+                 page, size, sortBy, sortDirection, specialityId);
+
+        validatePaginationParams(page, size);
+
+        Pageable pageable = PageRequest.of(page, size, createSort(sortBy, sortDirection, specialityId, true));
+
+        return ResponseEntity.ok(doctorService.getDoctorsSlice(specialityId, pageable));
+    }
+
+    /**
+     * Récupère une page de médecins par pagination par curseur (keyset)
+     */
+    @Operation(
+            summary = "Récupérer les médecins par pagination par curseur",
+            description = "Variante de /doctor/allDoctors adaptée aux grands annuaires : au lieu d'un numéro de page, " +
+                         "le client transmet le curseur opaque 'after' renvoyé par la page précédente. " +
+                         "Le coût d'une page ne dépend pas de sa profondeur et aucune requête de comptage n'est exécutée. " +
+                         "Le curseur n'est valable que pour le même tri (sortBy, sortDirection)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de médecins récupérée avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Paramètres de requête ou curseur invalides",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/allDoctors/cursor")
+    public ResponseEntity<CursorPageResponse<DoctorDTO>> getDoctorsByCursor(
+            @Parameter(description = "Curseur opaque de la page précédente (absent pour la première page)")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Nombre d'éléments par page (taille)", example = "9")
+            @RequestParam(defaultValue = "9") int size,
+
+            @Parameter(
+                    description = "Champ pour le tri (nom, prenom, numeroOrdre, email, telephone, specialite). " +
+                                  "Un tri qu'aucun index ne couvre est ramené au nom : specialite, " +
+                                  "ainsi que numeroOrdre, email et telephone avec un filtre de spécialité",
+                    example = "nom"
+            )
+            @RequestParam(defaultValue = "nom") String sortBy,
+
+            @Parameter(
+                    description = "Direction du tri (asc ou desc)",
+                    example = "asc"
+            )
+            @RequestParam(defaultValue = "asc") String sortDirection,
+
+            @Parameter(
+                    description = "ID de la spécialité pour filtrer (optionnel)",
+                    example = "6"
+            )
+            @RequestParam(required = false) Long specialityId
+    ) {
+        log.info("GET /doctor/allDoctors/cursor - after: {}, size: {}, sortBy: {}, sortDirection: {}, specialityId: {}",
+                 after, size, sortBy, sortDirection, specialityId);
+
+        validatePageSize(size);
+
+        DoctorSortField sortField = resolveIndexedSortField(sortBy, specialityId);
+
+        CursorPageResponse<DoctorDTO> response = doctorService.getDoctorsAfter(
+                specialityId, sortField, parseDirection(sortDirection), after, size);
+
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Récupère un médecin par son ID
+     */
+    @Operation(
+            summary = "Récupérer un médecin par son ID",
+            description = "Endpoint REST API pour récupérer la fiche d'un médecin avec sa spécialité. " +
+                         "Les fiches sont servies depuis un cache par ID : les consultations répétées n'interrogent pas la base."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Médecin récupéré avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DoctorDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Médecin non trouvé",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<DoctorDTO> getDoctorById(
+            @Parameter(description = "ID du médecin", example = "1")
+            @PathVariable Long id
+    ) {
+        log.info("GET /doctor/{}", id);
+
+        return ResponseEntity.ok(doctorService.getDoctorById(id));
+    }
+
+    /**
+     * Récupère les créneaux libres d'un médecin sur une période
+     */
+    @Operation(
+            summary = "Récupérer les créneaux libres d'un médecin",
+            description = "Endpoint REST API pour savoir quand un médecin est disponible. " +
+                         "Les plages sont calculées à partir de sa semaine type (disponibilités hebdomadaires), " +
+                         "moins ses rendez-vous non annulés et les créneaux déjà passés. " +
+                         "Les créneaux font 30 minutes ; le paramètre 'duree' recherche des plages de plusieurs créneaux consécutifs. " +
+                         "Période par défaut : les 7 jours à partir d'aujourd'hui, 31 jours au maximum."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Créneaux libres récupérés avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SlotDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Période ou durée invalide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Médecin non trouvé",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/{id}/slots")
+    public ResponseEntity<List<SlotDTO>> getFreeSlots(
+            @Parameter(description = "ID du médecin", example = "1")
+            @PathVariable Long id,
+
+            @Parameter(description = "Premier jour (inclus), aujourd'hui par défaut", example = "2024-03-18")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+            @Parameter(description = "Dernier jour (inclus), 6 jours après le premier par défaut", example = "2024-03-24")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+
+            @Parameter(description = "Durée de la plage recherchée en minutes (multiple de 30)", example = "30")
+            @RequestParam(defaultValue = "30") int duree
+    ) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        log.info("GET /doctor/{}/slots - from: {}, to: {}, duree: {}", id, start, end, duree);
+
+        return ResponseEntity.ok(slotService.getFreeSlots(id, start, end, duree));
+    }
+
+    /**
+     * Récupère plusieurs médecins par leurs IDs en une seule requête
+     */
+    @Operation(
+            summary = "Récupérer plusieurs médecins par leurs IDs",
+            description = "Endpoint REST API pour récupérer en un appel les fiches de plusieurs médecins (100 au maximum). " +
+                         "Les médecins absents du cache sont chargés en une seule requête, spécialité comprise. " +
+                         "Les médecins sont retournés dans l'ordre des IDs demandés ; les IDs inconnus sont ignorés."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Médecins récupérés avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = DoctorDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Liste d'IDs vide, trop longue ou contenant un ID vide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/batch")
+    public ResponseEntity<List<DoctorDTO>> getDoctorsByIds(
+            @Parameter(description = "IDs des médecins séparés par des virgules", example = "1,2,3")
+            @RequestParam List<Long> ids
+    ) {
+        log.info("GET /doctor/batch - ids: {}", ids);
+
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("La liste des IDs ne peut pas être vide");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("La liste des IDs ne peut pas dépasser " + MAX_BATCH_SIZE + " éléments");
+        }
+        // "1,,2" est lié à [1, null, 2]
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("La liste des IDs ne peut pas contenir d'ID vide");
+        }
+
+        return ResponseEntity.ok(doctorService.getDoctorsByIds(ids));
+    }
+
+    /**
+     * Exporte l'annuaire complet des médecins en flux continu
+     */
+    @Operation(
+            summary = "Exporter l'annuaire des médecins (NDJSON ou CSV)",
+            description = "Endpoint REST API destiné aux synchronisations : renvoie tous les médecins en un seul flux, " +
+                         "sans pagination ni requête de comptage. Les lignes sont lues par un curseur JDBC et écrites au fil de l'eau : " +
+                         "la mémoire consommée ne dépend pas de la taille de l'annuaire. " +
+                         "Format NDJSON (un DoctorDTO JSON par ligne) ou CSV avec en-tête. Les médecins sont triés par ID."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flux d'export des médecins",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Format d'export invalide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDoctors(
+            @Parameter(description = "Format d'export (ndjson ou csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+
+            @Parameter(
+                    description = "ID de la spécialité pour filtrer (optionnel)",
+                    example = "6"
+            )
+            @RequestParam(required = false) Long specialityId
+    ) {
+        log.info("GET /doctor/export - format: {}, specialityId: {}", format, specialityId);
+
+        DoctorExportFormat exportFormat = DoctorExportFormat.fromParam(format)
+                .orElseThrow(() -> new IllegalArgumentException("Format d'export invalide: " + format + " (ndjson ou csv)"));
+
+        // Le corps est écrit après le retour du contrôleur, dans sa propre transaction en lecture seule
+        StreamingResponseBody body = output -> doctorService.exportDoctors(specialityId, exportFormat, output);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("medecins." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     /**
      * Valide les paramètres de pagination
      */
@@ -123,6 +568,27 @@ public class DoctorController {
         if (page < 0) {
             throw new IllegalArgumentException("Le numéro de page ne peut pas être négatif");
         }
+        validatePageSize(size);
+    }
+
+    /**
+     * Complète la page avec le prochain créneau libre de chaque médecin
+     * La page elle-même peut venir du cache : les créneaux sont calculés à chaque requête
+     */
+    private PageResponse<DoctorDTO> withNextSlots(PageResponse<DoctorDTO> response) {
+        Map<Long, LocalDateTime> nextSlots = slotService.getNextSlots(
+                response.content().stream().map(DoctorDTO::id).toList());
+        List<DoctorDTO> content = response.content().stream()
+                .map(doctor -> doctor.withNextSlot(nextSlots.get(doctor.id())))
+                .toList();
+        return new PageResponse<>(content, response.pageNumber(), response.pageSize(), response.totalElements(),
+                response.totalPages(), response.first(), response.last(), response.empty());
+    }
+
+    /**
+     * Valide la taille de page
+     */
+    private void validatePageSize(int size) {
         if (size <= 0) {
             throw new IllegalArgumentException("La taille de la page doit être supérieure à 0");
         }
@@ -132,24 +598,48 @@ public class DoctorController {
     }
 
     /**
-     * Crée l'objet Sort basé sur les paramètres
+     * Crée l'objet Sort à partir du registre DoctorSortField (clé puis ID en départage)
+     *
+     * @param indexedOnly true pour les listes lues dans l'ordre d'un index : un tri qu'aucun index
+     *                    ne couvre (compte tenu du filtre de spécialité) est ramené au nom
      */
-    private Sort createSort(String sortBy, String sortDirection) {
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc")
+    private Sort createSort(String sortBy, String sortDirection, Long specialityId, boolean indexedOnly) {
+        DoctorSortField sortField = indexedOnly
+                ? resolveIndexedSortField(sortBy, specialityId)
+                : resolveSortField(sortBy);
+        return sortField.toSort(parseDirection(sortDirection));
+    }
+
+    /**
+     * Résout la clé de tri publique ('nom' par défaut pour une clé inconnue)
+     */
+    private DoctorSortField resolveSortField(String sortBy) {
+        return DoctorSortField.fromParam(sortBy).orElseGet(() -> {
+            log.warn("Champ de tri invalide: {}. Utilisation de 'nom' par défaut", sortBy);
+            return DoctorSortField.NOM;
+        });
+    }
+
+    /**
+     * Résout la clé de tri en la ramenant au nom si aucun index ne la couvre
+     */
+    private DoctorSortField resolveIndexedSortField(String sortBy, Long specialityId) {
+        DoctorSortField sortField = resolveSortField(sortBy);
+        boolean bySpeciality = specialityId != null;
+        if (!sortField.isIndexed(bySpeciality)) {
+            log.warn("Tri '{}' non couvert par un index{}. Utilisation de 'nom'",
+                     sortField.getParamName(), bySpeciality ? " pour une spécialité" : "");
+            return DoctorSortField.NOM;
+        }
+        return sortField;
+    }
+
+    /**
+     * Convertit le paramètre de direction (ASC par défaut)
+     */
+    private Sort.Direction parseDirection(String sortDirection) {
+        return sortDirection.equalsIgnoreCase("desc")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
-
-        // Validation du champ de tri
-        return switch (sortBy.toLowerCase()) {
-            case "nom", "prenom", "numeroordre", "email", "telephone" ->
-                    Sort.by(direction, sortBy);
-            case "specialite" ->
-                    Sort.by(direction, "specialite.nom");
-            default -> {
-                log.warn("Champ de tri invalide: {}. Utilisation de 'nom' par défaut", sortBy);
-                yield Sort.by(direction, "nom");
-            }
-        };
     }
 }
-
@@ -1,9 +1,14 @@
 package com.cabinetmedical.controller;
 
+import com.cabinetmedical.cache.SpecialityCatalogue;
+import com.cabinetmedical.dto.DoctorSlotDTO;
+import com.cabinetmedical.dto.SpecialityCountDTO;
 import com.cabinetmedical.dto.SpecialityDTO;
 import com.cabinetmedical.exception.ErrorResponse;
+import com.cabinetmedical.service.SlotService;
 import com.cabinetmedical.service.SpecialityService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,10 +17,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Controller REST pour la gestion des spécialités médicales
@@ -29,6 +41,8 @@ import java.util.List;
 public class SpecialityController {
 
     private final SpecialityService specialityService;
+    private final SpecialityCatalogue specialityCatalogue;
+    private final SlotService slotService;
 
     /**
      * Récupère la liste de toutes les spécialités
@@ -36,7 +50,10 @@ public class SpecialityController {
     @Operation(
             summary = "Récupérer toutes les spécialités",
             description = "Endpoint REST API pour récupérer la liste complète des spécialités médicales triées par nom. " +
-                         "Utilisé pour alimenter les listes déroulantes et les filtres."
+                         "Utilisé pour alimenter les listes déroulantes et les filtres. " +
+                         "La réponse est servie depuis un catalogue en mémoire déjà sérialisé (gzip si le client l'accepte), " +
+                         "sans accès à la base. " +
+                         "La réponse porte un ETag : une requête conditionnelle (If-None-Match) reçoit 304 si les données n'ont pas changé."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -47,6 +64,11 @@ public class SpecialityController {
                             array = @ArraySchema(schema = @Schema(implementation = SpecialityDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Liste inchangée depuis l'ETag fourni dans If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Erreur interne du serveur",
@@ -57,14 +79,172 @@ public class SpecialityController {
             )
     })
     @GetMapping("/allSpecialities")
-    public ResponseEntity<List<SpecialityDTO>> getAllSpecialities() {
-        log.info("GET /speciality/allSpecialities");
+    public ResponseEntity<byte[]> getAllSpecialities(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        log.debug("GET /speciality/allSpecialities");
+
+        SpecialityCatalogue.Snapshot catalogue = specialityCatalogue.snapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? catalogue.gzipEtag() : catalogue.etag();
 
-        List<SpecialityDTO> specialities = specialityService.getAllSpecialities();
+        // Requête conditionnelle : 304 sans corps si le catalogue n'a pas changé
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
-        log.info("Nombre de spécialités retournées: {}", specialities.size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
 
-        return ResponseEntity.ok(specialities);
+        // Octets pré-encodés : aucune sérialisation ni compression par requête
+        return gzip
+                ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalogue.gzipJson())
+                : response.body(catalogue.json());
     }
-}
 
+    /**
+     * Récupère le nombre de médecins de chaque spécialité
+     */
+    @Operation(
+            summary = "Récupérer le nombre de médecins par spécialité",
+            description = "Endpoint REST API pour afficher les compteurs du filtre par spécialité en un seul appel. " +
+                         "Les compteurs sont tenus en mémoire et mis à jour à chaque création, suppression " +
+                         "ou changement de spécialité d'un médecin : aucune requête SQL n'est exécutée."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Compteurs récupérés avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SpecialityCountDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/doctorCounts")
+    public ResponseEntity<List<SpecialityCountDTO>> getDoctorCounts() {
+        log.info("GET /speciality/doctorCounts");
+
+        return ResponseEntity.ok(specialityService.getDoctorCounts());
+    }
+
+    /**
+     * Récupère les plages libres les plus proches parmi tous les médecins d'une spécialité
+     */
+    @Operation(
+            summary = "Récupérer les premières plages libres d'une spécialité",
+            description = "Endpoint REST API pour trouver le rendez-vous le plus proche, quel que soit le médecin. " +
+                         "Les agendas de tous les médecins de la spécialité sont fusionnés par ordre chronologique ; " +
+                         "la recherche s'arrête dès que 'limit' plages sont trouvées (50 au maximum) " +
+                         "et porte sur les 8 semaines à partir de 'from' (aujourd'hui par défaut). " +
+                         "À début égal, les plages sont triées par ID de médecin."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Plages libres récupérées avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = DoctorSlotDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Limite ou durée invalide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Spécialité non trouvée",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erreur interne du serveur",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/{id}/earliest-slots")
+    public ResponseEntity<List<DoctorSlotDTO>> getEarliestSlots(
+            @Parameter(description = "ID de la spécialité", example = "1")
+            @PathVariable Long id,
+
+            @Parameter(description = "Premier jour (inclus), aujourd'hui par défaut", example = "2024-03-18")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+            @Parameter(description = "Nombre maximum de plages (1 à 50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit,
+
+            @Parameter(description = "Durée de la plage recherchée en minutes (multiple de 30)", example = "30")
+            @RequestParam(defaultValue = "30") int duree
+    ) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        log.info("GET /speciality/{}/earliest-slots - from: {}, limit: {}, duree: {}", id, start, limit, duree);
+
+        return ResponseEntity.ok(slotService.getEarliestSlots(id, start, limit, duree));
+    }
+
+    /**
+     * Indique si le client accepte une réponse gzip
+     * Chaque codage de l'en-tête porte sa pondération q (1 par défaut) : gzip (ou x-gzip) est accepté
+     * si sa pondération est positive ; à défaut de mention explicite, celle de * s'applique.
+     * Une pondération illisible vaut 0 : la représentation brute reste toujours acceptable
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipWeight = null;
+        Double wildcardWeight = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = weight(parts);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipWeight = weight;
+            } else if (name.equals("*")) {
+                wildcardWeight = weight;
+            }
+        }
+        Double effective = gzipWeight != null ? gzipWeight : wildcardWeight;
+        return effective != null && effective > 0;
+    }
+
+    /**
+     * Pondération q d'un codage de Accept-Encoding, découpé sur ';'
+     */
+    private static double weight(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
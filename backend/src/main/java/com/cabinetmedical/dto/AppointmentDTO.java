@@ -0,0 +1,33 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO représentant un rendez-vous dans les réponses API
+ */
+@Schema(description = "Rendez-vous d'un patient avec un médecin")
+public record AppointmentDTO(
+        @Schema(description = "Identifiant unique du rendez-vous", example = "42")
+        Long id,
+
+        @Schema(description = "Identifiant du médecin", example = "1")
+        Long doctorId,
+
+        @Schema(description = "Identifiant du patient", example = "7")
+        Long patientId,
+
+        @Schema(description = "Date et heure de début", example = "2024-03-18T09:30:00")
+        LocalDateTime dateHeureDebut,
+
+        @Schema(description = "Date et heure de fin (exclue)", example = "2024-03-18T10:00:00")
+        LocalDateTime dateHeureFin,
+
+        @Schema(description = "Statut du rendez-vous", example = "CONFIRME")
+        String statut,
+
+        @Schema(description = "Motif de la consultation", example = "Consultation de suivi")
+        String motif
+) {
+}
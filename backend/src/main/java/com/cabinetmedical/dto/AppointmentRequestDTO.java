@@ -0,0 +1,25 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pour la demande de réservation d'un rendez-vous
+ * Le patient est celui du jeton de session
+ */
+@Schema(description = "Demande de réservation d'un rendez-vous")
+public record AppointmentRequestDTO(
+        @Schema(description = "Identifiant du médecin", example = "1", required = true)
+        Long doctorId,
+
+        @Schema(description = "Date et heure de début", example = "2024-03-18T09:30:00", required = true)
+        LocalDateTime dateHeureDebut,
+
+        @Schema(description = "Durée en minutes (5 à 240, 60 par défaut)", example = "30")
+        Integer dureeMinutes,
+
+        @Schema(description = "Motif de la consultation", example = "Consultation de suivi")
+        String motif
+) {
+}
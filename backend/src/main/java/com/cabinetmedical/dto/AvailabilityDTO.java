@@ -0,0 +1,24 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalTime;
+
+/**
+ * DTO représentant une plage de la semaine type d'un médecin
+ */
+@Schema(description = "Plage hebdomadaire de disponibilité d'un médecin")
+public record AvailabilityDTO(
+        @Schema(description = "Jour de la semaine (1 = lundi ... 7 = dimanche)", example = "1", required = true)
+        Integer jour,
+
+        @Schema(description = "Heure de début", example = "09:00:00", required = true)
+        LocalTime heureDebut,
+
+        @Schema(description = "Heure de fin (exclue)", example = "12:00:00", required = true)
+        LocalTime heureFin,
+
+        @Schema(description = "Note libre (500 caractères au maximum)", example = "Consultations sans rendez-vous")
+        String note
+) {
+}
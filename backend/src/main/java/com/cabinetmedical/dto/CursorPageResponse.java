@@ -0,0 +1,41 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO représentant une page obtenue par pagination par curseur (keyset)
+ * Ne contient pas de total : aucune requête COUNT n'est exécutée
+ */
+@Schema(description = "Réponse paginée par curseur contenant une liste d'éléments")
+public record CursorPageResponse<T>(
+        @Schema(description = "Liste des éléments de la page actuelle")
+        List<T> content,
+
+        @Schema(description = "Taille de la page", example = "9")
+        int pageSize,
+
+        @Schema(description = "Curseur opaque à transmettre dans le paramètre 'after' pour obtenir la page suivante (null s'il n'y a plus de page)",
+                example = "AQNub20BAAAAAAAAAAkBAAZNYXJ0aW4")
+        String nextCursor,
+
+        @Schema(description = "Indique s'il existe une page suivante", example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Indique si la page est vide", example = "false")
+        boolean empty
+) {
+    /**
+     * Constructeur à partir du contenu de la page et du curseur suivant
+     */
+    public static <T> CursorPageResponse<T> of(List<T> content, int pageSize, String nextCursor) {
+        return new CursorPageResponse<>(
+                content,
+                pageSize,
+                nextCursor,
+                nextCursor != null,
+                content.isEmpty()
+        );
+    }
+}
@@ -1,7 +1,10 @@
 package com.cabinetmedical.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO représentant un médecin dans les réponses API
  */
@@ -26,7 +29,24 @@ public record DoctorDTO(
         String numeroOrdre,
 
         @Schema(description = "Spécialité du médecin")
-        SpecialityDTO specialite
+        SpecialityDTO specialite,
+
+        @Schema(description = "Début du prochain créneau libre de 30 minutes, renseigné uniquement sur demande (withNextSlot) ; " +
+                              "absent si aucun créneau n'est libre dans les 8 semaines",
+                example = "2024-03-18T09:30:00", nullable = true)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        LocalDateTime nextSlot
 ) {
+    public DoctorDTO(Long id, String nom, String prenom, String email, String telephone, String numeroOrdre,
+                     SpecialityDTO specialite) {
+        this(id, nom, prenom, email, telephone, numeroOrdre, specialite, null);
+    }
+
+    /**
+     * Copie du médecin avec son prochain créneau libre
+     */
+    public DoctorDTO withNextSlot(LocalDateTime nextSlot) {
+        return new DoctorDTO(id, nom, prenom, email, telephone, numeroOrdre, specialite, nextSlot);
+    }
 }
 
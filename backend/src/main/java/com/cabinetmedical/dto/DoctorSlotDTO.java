@@ -0,0 +1,27 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO représentant une plage libre d'un médecin dans une recherche multi-médecins
+ */
+@Schema(description = "Plage libre d'un médecin de la spécialité")
+public record DoctorSlotDTO(
+        @Schema(description = "Identifiant du médecin", example = "1")
+        Long medecinId,
+
+        @Schema(description = "Nom du médecin", example = "Martin")
+        String nom,
+
+        @Schema(description = "Prénom du médecin", example = "Sophie")
+        String prenom,
+
+        @Schema(description = "Date et heure de début", example = "2024-03-18T09:30:00")
+        LocalDateTime debut,
+
+        @Schema(description = "Date et heure de fin (exclue)", example = "2024-03-18T10:00:00")
+        LocalDateTime fin
+) {
+}
@@ -2,6 +2,8 @@ package com.cabinetmedical.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.Instant;
+
 /**
  * DTO pour la réponse d'authentification d'un patient
  */
@@ -20,7 +22,14 @@ public record LoginResponseDTO(
         String email,
 
         @Schema(description = "Rôle de l'utilisateur", example = "PATIENT")
-        String role
+        String role,
+
+        @Schema(description = "Jeton de session signé, à transmettre dans l'en-tête Authorization: Bearer",
+                example = "MTI6UEFUSUVOVDoxNzAwMDAwMDAw.3q2-7wX...")
+        String token,
+
+        @Schema(description = "Date d'expiration du jeton de session", example = "2024-01-15T18:30:00Z")
+        Instant expiresAt
 ) {
 }
 
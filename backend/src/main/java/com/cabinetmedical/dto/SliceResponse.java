@@ -0,0 +1,45 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * DTO représentant une tranche de résultats (Slice) sans total
+ * Obtenue en lisant taille + 1 lignes, sans requête COUNT
+ */
+@Schema(description = "Réponse paginée sans total contenant une liste d'éléments")
+public record SliceResponse<T>(
+        @Schema(description = "Liste des éléments de la page actuelle")
+        List<T> content,
+
+        @Schema(description = "Numéro de la page actuelle (commence à 0)", example = "0")
+        int pageNumber,
+
+        @Schema(description = "Taille de la page", example = "9")
+        int pageSize,
+
+        @Schema(description = "Indique si c'est la première page", example = "true")
+        boolean first,
+
+        @Schema(description = "Indique si c'est la dernière page", example = "false")
+        boolean last,
+
+        @Schema(description = "Indique si la page est vide", example = "false")
+        boolean empty
+) {
+    /**
+     * Constructeur à partir d'un Slice Spring Data
+     */
+    public static <T> SliceResponse<T> of(Slice<T> slice) {
+        return new SliceResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.isFirst(),
+                slice.isLast(),
+                slice.isEmpty()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO représentant une plage libre réservable dans l'agenda d'un médecin
+ */
+@Schema(description = "Plage libre de l'agenda d'un médecin")
+public record SlotDTO(
+        @Schema(description = "Date et heure de début", example = "2024-03-18T09:30:00")
+        LocalDateTime debut,
+
+        @Schema(description = "Date et heure de fin (exclue)", example = "2024-03-18T10:00:00")
+        LocalDateTime fin
+) {
+}
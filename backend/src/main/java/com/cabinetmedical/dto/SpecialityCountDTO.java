@@ -0,0 +1,16 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO représentant le nombre de médecins d'une spécialité (compteurs du filtre)
+ */
+@Schema(description = "Nombre de médecins d'une spécialité")
+public record SpecialityCountDTO(
+        @Schema(description = "Identifiant de la spécialité", example = "1")
+        Long specialityId,
+
+        @Schema(description = "Nombre de médecins de la spécialité", example = "12")
+        long doctorCount
+) {
+}
@@ -0,0 +1,16 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour la requête d'authentification du personnel du cabinet
+ */
+@Schema(description = "Requête d'authentification pour le personnel du cabinet")
+public record StaffLoginRequestDTO(
+        @Schema(description = "Email du compte du personnel", example = "secretariat@cabinet.fr", required = true)
+        String email,
+
+        @Schema(description = "Mot de passe du compte du personnel", example = "motDePasse", required = true)
+        String password
+) {
+}
@@ -0,0 +1,25 @@
+package com.cabinetmedical.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * DTO pour la réponse d'authentification du personnel du cabinet
+ */
+@Schema(description = "Réponse d'authentification contenant le jeton de session du personnel")
+public record StaffLoginResponseDTO(
+        @Schema(description = "Email du compte du personnel", example = "secretariat@cabinet.fr")
+        String email,
+
+        @Schema(description = "Rôle de l'utilisateur", example = "STAFF")
+        String role,
+
+        @Schema(description = "Jeton de session signé, à transmettre dans l'en-tête Authorization: Bearer",
+                example = "MDpTVEFGRjoxNzAwMDAwMDAw.3q2-7wX...")
+        String token,
+
+        @Schema(description = "Date d'expiration du jeton de session", example = "2024-01-15T18:30:00Z")
+        Instant expiresAt
+) {
+}
@@ -1,5 +1,6 @@
 package com.cabinetmedical.entity;
 
+import com.cabinetmedical.event.AppointmentEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,21 +16,20 @@ import java.time.LocalDateTime;
  * - Une seule table pour les rendez-vous
  * - Date et heure complètes (jour/mois/année + heure)
  * - Durée fixe d'1 heure par défaut
+ *
+ * Les chevauchements d'un même médecin sont interdits en base par la contrainte d'exclusion
+ * ex_rdv_medecin_chevauchement (rendez-vous non annulés, plages [début, fin))
+ * Les changements de statut sont protégés par verrouillage optimiste (colonne version)
  */
 @Entity
 @Table(name = "rendez_vous",
-    uniqueConstraints = {
-        @UniqueConstraint(
-            name = "uk_medecin_date_heure",
-            columnNames = {"medecin_id", "date_heure_debut"}
-        )
-    },
     indexes = {
         @Index(name = "idx_patient_date", columnList = "patient_id, date_heure_debut"),
         @Index(name = "idx_medecin_date", columnList = "medecin_id, date_heure_debut"),
         @Index(name = "idx_statut", columnList = "statut")
     }
 )
+@EntityListeners(AppointmentEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -69,6 +69,10 @@ public class Appointement {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -4,13 +4,21 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
 /**
  * Entité représentant un jour de la semaine
+ * Table de référence immuable (@Immutable : jamais modifiée par l'application),
+ * mise en cache de second niveau en lecture seule
  */
 @Entity
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "jours-semaine")
 @Table(name = "jours_semaine")
 @Data
 @NoArgsConstructor
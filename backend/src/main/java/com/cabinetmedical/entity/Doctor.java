@@ -1,9 +1,12 @@
 package com.cabinetmedical.entity;
 
+import com.cabinetmedical.event.DoctorEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +15,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "medecins")
+@EntityListeners(DoctorEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,6 +50,24 @@ public class Doctor {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Texte de recherche normalisé (nom, prénom, numéro d'ordre sans accents, en minuscules)
+     * Colonne générée par PostgreSQL, jamais écrite par Hibernate
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "text")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String recherche;
+
+    /**
+     * ID de la spécialité tel que chargé depuis la base (renseigné par DoctorEntityListener)
+     * Permet de publier l'ancienne et la nouvelle spécialité lors d'une modification
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long loadedSpecialityId;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,54 @@
+package com.cabinetmedical.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entité représentant les créneaux libres d'un médecin pour un jour (calendrier précalculé)
+ * Le bit i de {@code libres} vaut 1 si le créneau de 30 minutes n° i de la journée est libre
+ *
+ * Les lignes sont écrites en masse par le calcul du calendrier ; un jour sans créneau libre n'a pas de ligne
+ */
+@Entity
+@Table(name = "creneaux",
+    indexes = {
+        @Index(name = "idx_creneaux_jour_medecin", columnList = "jour, medecin_id")
+    }
+)
+@IdClass(DoctorSlotDay.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorSlotDay {
+
+    @Id
+    @Column(name = "medecin_id")
+    private Long doctorId;
+
+    @Id
+    @Column(name = "jour")
+    private LocalDate jour;
+
+    @Column(nullable = false)
+    private Long libres;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Clé composite (médecin, jour)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long doctorId;
+        private LocalDate jour;
+    }
+}
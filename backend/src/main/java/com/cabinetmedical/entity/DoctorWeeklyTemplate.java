@@ -0,0 +1,64 @@
+package com.cabinetmedical.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entité représentant la semaine type compacte d'un médecin : un bitmap de créneaux par jour
+ * Le bit i vaut 1 si le créneau de 30 minutes n° i de la journée est couvert par une disponibilité
+ *
+ * Dérivée des plages actives de disponibilites_medecin et réécrite en SQL à chaque changement :
+ * la semaine d'un médecin se lit en une ligne, sans jointure vers les tables de référence.
+ * Un médecin sans disponibilité n'a pas de ligne.
+ */
+@Entity
+@Immutable
+@Table(name = "semaines_types")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorWeeklyTemplate {
+
+    @Id
+    @Column(name = "medecin_id")
+    private Long doctorId;
+
+    @Column(nullable = false)
+    private long lundi;
+
+    @Column(nullable = false)
+    private long mardi;
+
+    @Column(nullable = false)
+    private long mercredi;
+
+    @Column(nullable = false)
+    private long jeudi;
+
+    @Column(nullable = false)
+    private long vendredi;
+
+    @Column(nullable = false)
+    private long samedi;
+
+    @Column(nullable = false)
+    private long dimanche;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Bitmaps des 7 jours, lundi = 0
+     */
+    public long[] days() {
+        return new long[]{lundi, mardi, mercredi, jeudi, vendredi, samedi, dimanche};
+    }
+}
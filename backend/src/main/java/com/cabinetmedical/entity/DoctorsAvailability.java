@@ -1,5 +1,6 @@
 package com.cabinetmedical.entity;
 
+import com.cabinetmedical.event.AvailabilityEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,8 +14,17 @@ import java.time.LocalDateTime;
  *
  * Utilise les tables de référence pour définir les plages horaires récurrentes
  * Ex: "Dr. Martin est disponible tous les lundis de 09:00 à 12:00"
+ *
+ * Toutes les associations sont LAZY : le graphe "DoctorsAvailability.schedule" les charge
+ * en une seule requête pour l'affichage des plannings
  */
 @Entity
+@NamedEntityGraph(name = DoctorsAvailability.SCHEDULE_GRAPH, attributeNodes = {
+        @NamedAttributeNode("doctor"),
+        @NamedAttributeNode("jourSemaine"),
+        @NamedAttributeNode("heureDebut"),
+        @NamedAttributeNode("heureFin")
+})
 @Table(name = "disponibilites_medecin",
     uniqueConstraints = {
         @UniqueConstraint(
@@ -26,11 +36,17 @@ import java.time.LocalDateTime;
         @Index(name = "idx_medecin_jour", columnList = "medecin_id, jour_semaine_id")
     }
 )
+@EntityListeners(AvailabilityEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class DoctorsAvailability {
 
+    /**
+     * Graphe de chargement d'un planning : médecin, jour et heures de chaque plage
+     */
+    public static final String SCHEDULE_GRAPH = "DoctorsAvailability.schedule";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
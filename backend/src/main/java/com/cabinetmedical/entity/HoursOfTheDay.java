@@ -4,14 +4,22 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 /**
  * Entité représentant une heure de la journée (pour les créneaux)
+ * Table de référence immuable (@Immutable : jamais modifiée par l'application),
+ * mise en cache de second niveau en lecture seule
  */
 @Entity
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "heures-jour")
 @Table(name = "heures_jour")
 @Data
 @NoArgsConstructor
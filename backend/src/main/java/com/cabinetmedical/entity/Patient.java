@@ -1,9 +1,12 @@
 package com.cabinetmedical.entity;
 
+import com.cabinetmedical.event.PatientEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +15,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "patients")
+@EntityListeners(PatientEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +37,14 @@ public class Patient {
     @Column(length = 20)
     private String telephone;
 
+    /**
+     * Empreinte BCrypt du téléphone, utilisé comme mot de passe (voir CredentialVerifier)
+     * Recalculée par PatientEntityListener à chaque création ou changement de téléphone
+     */
+    @Column(name = "telephone_hash", length = 60)
+    @ToString.Exclude
+    private String telephoneHash;
+
     @Column(name = "date_naissance")
     private LocalDateTime dateNaissance;
 
@@ -45,6 +57,15 @@ public class Patient {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Téléphone tel que chargé depuis la base (renseigné par PatientEntityListener)
+     * Permet de ne recalculer l'empreinte que si le téléphone a changé
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedTelephone;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -1,17 +1,25 @@
 package com.cabinetmedical.entity;
 
+import com.cabinetmedical.event.SpecialityEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 /**
  * Entité représentant une spécialité médicale
+ * Table de référence mise en cache de second niveau (NONSTRICT_READ_WRITE : renommages rares,
+ * l'entrée est invalidée après commit)
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "specialites")
 @Table(name = "specialites")
+@EntityListeners(SpecialityEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,30 @@
+package com.cabinetmedical.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement publié après l'insertion, la modification ou la suppression d'un rendez-vous
+ * Permet au calendrier des créneaux de se mettre à jour sans recalcul complet
+ *
+ * @param appointmentId ID du rendez-vous
+ * @param doctorId ID du médecin
+ * @param start Début après l'écriture
+ * @param end Fin après l'écriture (exclue)
+ * @param type Nature de la modification
+ */
+public record AppointmentChangedEvent(
+        Long appointmentId,
+        Long doctorId,
+        LocalDateTime start,
+        LocalDateTime end,
+        Type type
+) {
+    /**
+     * Nature de la modification
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,42 @@
+package com.cabinetmedical.event;
+
+import com.cabinetmedical.entity.Appointement;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de l'entité Appointement
+ * Publie un {@link AppointmentChangedEvent} à chaque écriture, consommé en phase AFTER_COMMIT
+ *
+ * Instancié par Hibernate via le conteneur de beans Spring
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onPersist(Appointement appointement) {
+        publish(appointement, AppointmentChangedEvent.Type.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Appointement appointement) {
+        publish(appointement, AppointmentChangedEvent.Type.UPDATED);
+    }
+
+    @PostRemove
+    public void onRemove(Appointement appointement) {
+        publish(appointement, AppointmentChangedEvent.Type.DELETED);
+    }
+
+    private void publish(Appointement appointement, AppointmentChangedEvent.Type type) {
+        eventPublisher.publishEvent(new AppointmentChangedEvent(appointement.getId(),
+                appointement.getDoctor().getId(), appointement.getDateHeureDebut(), appointement.getDateHeureFin(), type));
+    }
+}
@@ -0,0 +1,12 @@
+package com.cabinetmedical.event;
+
+/**
+ * Événement publié après l'écriture d'une disponibilité hebdomadaire d'un médecin
+ * Le calendrier des créneaux du médecin est alors recalculé
+ *
+ * @param doctorId ID du médecin concerné
+ */
+public record AvailabilityChangedEvent(
+        Long doctorId
+) {
+}
@@ -0,0 +1,69 @@
+package com.cabinetmedical.event;
+
+import com.cabinetmedical.entity.DoctorsAvailability;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Listener JPA de l'entité DoctorsAvailability
+ * Publie un {@link AvailabilityChangedEvent} à chaque écriture, consommé en phase AFTER_COMMIT
+ *
+ * Dans une transaction, un seul événement est publié par médecin : les consommateurs recalculent
+ * la semaine entière, une réécriture de plusieurs plages ne doit donc la recalculer qu'une fois.
+ *
+ * Instancié par Hibernate via le conteneur de beans Spring
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(DoctorsAvailability availability) {
+        Long doctorId = availability.getDoctor().getId();
+        if (firstWriteInTransaction(doctorId)) {
+            eventPublisher.publishEvent(new AvailabilityChangedEvent(doctorId));
+        }
+    }
+
+    /**
+     * Vrai à la première écriture du médecin dans la transaction courante (ou hors transaction)
+     * L'ensemble des médecins notifiés est porté par une synchronisation de la transaction :
+     * suspendu avec elle (REQUIRES_NEW) et libéré à sa fin
+     */
+    private static boolean firstWriteInTransaction(Long doctorId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return true;
+        }
+        NotifiedDoctors notified = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(NotifiedDoctors.class::isInstance)
+                .map(NotifiedDoctors.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    NotifiedDoctors registered = new NotifiedDoctors();
+                    TransactionSynchronizationManager.registerSynchronization(registered);
+                    return registered;
+                });
+        return notified.doctorIds.add(doctorId);
+    }
+
+    /**
+     * Médecins déjà notifiés dans la transaction
+     */
+    private static final class NotifiedDoctors implements TransactionSynchronization {
+
+        private final Set<Long> doctorIds = new HashSet<>();
+    }
+}
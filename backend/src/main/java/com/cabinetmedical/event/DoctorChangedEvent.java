@@ -0,0 +1,35 @@
+package com.cabinetmedical.event;
+
+/**
+ * Événement publié après l'insertion, la modification ou la suppression d'un médecin
+ * Permet aux caches en mémoire de s'invalider sans interroger la base
+ *
+ * @param doctorId ID du médecin concerné
+ * @param previousSpecialityId Spécialité avant la modification (null pour une création)
+ * @param specialityId Spécialité après la modification (null pour une suppression)
+ * @param type Nature de la modification
+ */
+public record DoctorChangedEvent(
+        Long doctorId,
+        Long previousSpecialityId,
+        Long specialityId,
+        Type type
+) {
+    /**
+     * Nature de la modification
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Indique si le médecin a changé de spécialité
+     */
+    public boolean specialityChanged() {
+        return previousSpecialityId == null
+                ? specialityId != null
+                : !previousSpecialityId.equals(specialityId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.cabinetmedical.event;
+
+import com.cabinetmedical.entity.Doctor;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de l'entité Doctor
+ * Publie un {@link DoctorChangedEvent} à chaque écriture ; les consommateurs l'écoutent
+ * en phase AFTER_COMMIT pour ne jamais invalider un cache avec une transaction annulée
+ *
+ * Instancié par Hibernate via le conteneur de beans Spring
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoad(Doctor doctor) {
+        doctor.setLoadedSpecialityId(specialityIdOf(doctor));
+    }
+
+    @PostPersist
+    public void onPersist(Doctor doctor) {
+        Long specialityId = specialityIdOf(doctor);
+        eventPublisher.publishEvent(new DoctorChangedEvent(
+                doctor.getId(), null, specialityId, DoctorChangedEvent.Type.CREATED));
+        doctor.setLoadedSpecialityId(specialityId);
+    }
+
+    @PostUpdate
+    public void onUpdate(Doctor doctor) {
+        Long specialityId = specialityIdOf(doctor);
+        eventPublisher.publishEvent(new DoctorChangedEvent(
+                doctor.getId(), doctor.getLoadedSpecialityId(), specialityId, DoctorChangedEvent.Type.UPDATED));
+        doctor.setLoadedSpecialityId(specialityId);
+    }
+
+    @PostRemove
+    public void onRemove(Doctor doctor) {
+        eventPublisher.publishEvent(new DoctorChangedEvent(
+                doctor.getId(), doctor.getLoadedSpecialityId(), null, DoctorChangedEvent.Type.DELETED));
+    }
+
+    /**
+     * Lit l'ID de la spécialité sans initialiser le proxy LAZY
+     */
+    private static Long specialityIdOf(Doctor doctor) {
+        return doctor.getSpeciality() != null ? doctor.getSpeciality().getId() : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cabinetmedical.event;
+
+/**
+ * Événement publié après l'insertion ou la modification d'un patient
+ * Permet au filtre des emails connus d'intégrer les nouveaux comptes sans relire la table
+ *
+ * @param patientId ID du patient concerné
+ * @param email Email du patient après l'écriture (peut être null)
+ * @param type Nature de la modification
+ */
+public record PatientChangedEvent(
+        Long patientId,
+        String email,
+        Type type
+) {
+    /**
+     * Nature de la modification
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
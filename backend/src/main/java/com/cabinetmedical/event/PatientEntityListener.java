@@ -0,0 +1,70 @@
+package com.cabinetmedical.event;
+
+import com.cabinetmedical.entity.Patient;
+import com.cabinetmedical.security.CredentialVerifier;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Listener JPA de l'entité Patient
+ * Publie un {@link PatientChangedEvent} à chaque écriture, consommé en phase AFTER_COMMIT,
+ * et tient à jour l'empreinte du téléphone avant chaque création ou modification
+ *
+ * Instancié par Hibernate via le conteneur de beans Spring
+ */
+@Component
+@RequiredArgsConstructor
+public class PatientEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final CredentialVerifier credentialVerifier;
+
+    @PostLoad
+    public void onLoad(Patient patient) {
+        patient.setLoadedTelephone(patient.getTelephone());
+    }
+
+    /**
+     * Recalcule l'empreinte si le téléphone est nouveau ou a changé depuis le chargement
+     * (BCrypt est coûteux : une modification qui ne touche pas au téléphone ne le recalcule pas)
+     */
+    @PrePersist
+    @PreUpdate
+    public void hashTelephone(Patient patient) {
+        String telephone = patient.getTelephone();
+        if (telephone == null) {
+            patient.setTelephoneHash(null);
+        } else if (patient.getTelephoneHash() == null || !Objects.equals(telephone, patient.getLoadedTelephone())) {
+            patient.setTelephoneHash(credentialVerifier.hash(telephone));
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Patient patient) {
+        patient.setLoadedTelephone(patient.getTelephone());
+        eventPublisher.publishEvent(new PatientChangedEvent(
+                patient.getId(), patient.getEmail(), PatientChangedEvent.Type.CREATED));
+    }
+
+    @PostUpdate
+    public void onUpdate(Patient patient) {
+        patient.setLoadedTelephone(patient.getTelephone());
+        eventPublisher.publishEvent(new PatientChangedEvent(
+                patient.getId(), patient.getEmail(), PatientChangedEvent.Type.UPDATED));
+    }
+
+    @PostRemove
+    public void onRemove(Patient patient) {
+        eventPublisher.publishEvent(new PatientChangedEvent(
+                patient.getId(), patient.getEmail(), PatientChangedEvent.Type.DELETED));
+    }
+}
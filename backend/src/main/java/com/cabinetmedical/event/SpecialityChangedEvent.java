@@ -0,0 +1,22 @@
+package com.cabinetmedical.event;
+
+/**
+ * Événement publié après l'insertion, la modification ou la suppression d'une spécialité
+ * Les DTO de médecins embarquent la spécialité : les caches de pages doivent être invalidés
+ *
+ * @param specialityId ID de la spécialité concernée
+ * @param type Nature de la modification
+ */
+public record SpecialityChangedEvent(
+        Long specialityId,
+        Type type
+) {
+    /**
+     * Nature de la modification
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
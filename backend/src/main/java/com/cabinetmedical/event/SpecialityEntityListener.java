@@ -0,0 +1,40 @@
+package com.cabinetmedical.event;
+
+import com.cabinetmedical.entity.Speciality;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de l'entité Speciality
+ * Publie un {@link SpecialityChangedEvent} à chaque écriture, consommé en phase AFTER_COMMIT
+ *
+ * Instancié par Hibernate via le conteneur de beans Spring
+ */
+@Component
+@RequiredArgsConstructor
+public class SpecialityEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onPersist(Speciality speciality) {
+        eventPublisher.publishEvent(new SpecialityChangedEvent(
+                speciality.getId(), SpecialityChangedEvent.Type.CREATED));
+    }
+
+    @PostUpdate
+    public void onUpdate(Speciality speciality) {
+        eventPublisher.publishEvent(new SpecialityChangedEvent(
+                speciality.getId(), SpecialityChangedEvent.Type.UPDATED));
+    }
+
+    @PostRemove
+    public void onRemove(Speciality speciality) {
+        eventPublisher.publishEvent(new SpecialityChangedEvent(
+                speciality.getId(), SpecialityChangedEvent.Type.DELETED));
+    }
+}
@@ -0,0 +1,18 @@
+package com.cabinetmedical.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception levée lorsqu'une écriture entre en conflit avec l'état existant
+ * (par exemple un rendez-vous qui chevauche un autre rendez-vous du médecin)
+ * Traduite en réponse 409
+ */
+public class ConflictException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cabinetmedical.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception levée lorsqu'un utilisateur authentifié n'a pas le rôle requis
+ * Traduite en réponse 403
+ */
+public class ForbiddenException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
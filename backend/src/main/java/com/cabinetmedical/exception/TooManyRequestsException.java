@@ -0,0 +1,25 @@
+package com.cabinetmedical.exception;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Exception levée lorsqu'un client dépasse le débit autorisé
+ * Traduite en réponse 429 avec l'en-tête Retry-After
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cabinetmedical.mapper;
+
+import com.cabinetmedical.dto.AppointmentDTO;
+import com.cabinetmedical.entity.Appointement;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+/**
+ * Mapper pour convertir Appointement en AppointmentDTO
+ * Seuls les IDs du médecin et du patient sont lus : les proxys LAZY ne sont pas initialisés
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface AppointmentMapper {
+
+    @Mapping(source = "doctor.id", target = "doctorId")
+    @Mapping(source = "patient.id", target = "patientId")
+    AppointmentDTO toDTO(Appointement appointement);
+}
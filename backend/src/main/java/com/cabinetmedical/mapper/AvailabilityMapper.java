@@ -0,0 +1,20 @@
+package com.cabinetmedical.mapper;
+
+import com.cabinetmedical.dto.AvailabilityDTO;
+import com.cabinetmedical.entity.DoctorsAvailability;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+/**
+ * Mapper pour convertir DoctorsAvailability en AvailabilityDTO
+ * Le jour et les heures sont lus depuis le cache de second niveau des tables de référence
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface AvailabilityMapper {
+
+    @Mapping(source = "jourSemaine.numeroJour", target = "jour")
+    @Mapping(source = "heureDebut.heure", target = "heureDebut")
+    @Mapping(source = "heureFin.heure", target = "heureFin")
+    AvailabilityDTO toDTO(DoctorsAvailability availability);
+}
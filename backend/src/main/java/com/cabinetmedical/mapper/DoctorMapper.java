@@ -17,8 +17,12 @@ public interface DoctorMapper {
      * Convertit une entité Doctor en DoctorDTO
      * La spécialité est automatiquement mappée grâce au SpecialityMapper
      * Mapping explicite: speciality (entity) -> specialite (DTO)
+     * Le prochain créneau n'est renseigné que sur demande ; withNextSlot(...) est une méthode de copie,
+     * que MapStruct prendrait sinon pour un setter fluent
      */
     @Mapping(source = "speciality", target = "specialite")
+    @Mapping(target = "nextSlot", ignore = true)
+    @Mapping(target = "withNextSlot", ignore = true)
     DoctorDTO toDTO(Doctor doctor);
 
     /**
@@ -28,6 +32,8 @@ public interface DoctorMapper {
     @Mapping(source = "specialite", target = "speciality")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "loadedSpecialityId", ignore = true)
+    @Mapping(target = "recherche", ignore = true)
     Doctor toEntity(DoctorDTO doctorDTO);
 }
 
@@ -0,0 +1,50 @@
+package com.cabinetmedical.mapper;
+
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.dto.SpecialityDTO;
+import com.cabinetmedical.repository.DoctorRow;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assemble les DoctorDTO à partir des projections DoctorRow
+ * Chaque SpecialityDTO distinct n'est alloué qu'une seule fois par page
+ */
+@Component
+public class DoctorRowMapper {
+
+    /**
+     * Convertit une page de projections en DTO en partageant les spécialités
+     */
+    public List<DoctorDTO> toDTOs(List<DoctorRow> rows) {
+        Map<Long, SpecialityDTO> specialities = new HashMap<>();
+        List<DoctorDTO> doctors = new ArrayList<>(rows.size());
+        for (DoctorRow row : rows) {
+            doctors.add(toDTO(row, specialities));
+        }
+        return doctors;
+    }
+
+    /**
+     * Convertit une projection en DTO en réutilisant les spécialités déjà construites
+     *
+     * @param specialities Spécialités déjà allouées, indexées par ID (complété au fil de l'eau)
+     */
+    public DoctorDTO toDTO(DoctorRow row, Map<Long, SpecialityDTO> specialities) {
+        SpecialityDTO speciality = specialities.computeIfAbsent(row.specialityId(),
+                id -> new SpecialityDTO(id, row.specialityNom(), row.specialityDescription()));
+        return new DoctorDTO(
+                row.id(),
+                row.nom(),
+                row.prenom(),
+                row.email(),
+                row.telephone(),
+                row.numeroOrdre(),
+                speciality
+        );
+    }
+}
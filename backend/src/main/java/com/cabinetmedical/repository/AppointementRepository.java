@@ -0,0 +1,117 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.Appointement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository pour la gestion des rendez-vous
+ */
+@Repository
+public interface AppointementRepository extends JpaRepository<Appointement, Long> {
+
+    /**
+     * Plages non annulées d'un médecin se terminant après un instant, triées par début
+     * Chargement de l'agenda d'un médecin dans l'index en mémoire (idx_medecin_date)
+     *
+     * @param doctorId ID du médecin
+     * @param after Instant à partir duquel les rendez-vous comptent encore
+     */
+    @Query("""
+            SELECT new com.cabinetmedical.repository.AppointmentInterval(a.id, a.dateHeureDebut, a.dateHeureFin)
+            FROM Appointement a
+            WHERE a.doctor.id = :doctorId
+              AND a.statut <> com.cabinetmedical.entity.Appointement$StatutRendezVous.ANNULE
+              AND a.dateHeureFin > :after
+            ORDER BY a.dateHeureDebut
+            """)
+    List<AppointmentInterval> findActiveIntervals(Long doctorId, LocalDateTime after);
+
+    /**
+     * Indique si un rendez-vous non annulé du médecin recoupe la plage [début, fin)
+     * Contre-vérification d'un conflit signalé par l'index en mémoire (idx_medecin_date)
+     *
+     * @param doctorId ID du médecin
+     * @param start Début de la plage
+     * @param end Fin de la plage (exclue)
+     */
+    @Query("""
+            SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END
+            FROM Appointement a
+            WHERE a.doctor.id = :doctorId
+              AND a.statut <> com.cabinetmedical.entity.Appointement$StatutRendezVous.ANNULE
+              AND a.dateHeureDebut < :end
+              AND a.dateHeureFin > :start
+            """)
+    boolean existsActiveOverlap(Long doctorId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Plages non annulées de tous les médecins recoupant une période
+     * Calcul complet du calendrier des créneaux (un seul parcours, regroupé ensuite par médecin)
+     *
+     * @param from Début de la période
+     * @param to Fin de la période (exclue)
+     */
+    @Query("""
+            SELECT new com.cabinetmedical.repository.DoctorInterval(a.doctor.id, a.dateHeureDebut, a.dateHeureFin)
+            FROM Appointement a
+            WHERE a.statut <> com.cabinetmedical.entity.Appointement$StatutRendezVous.ANNULE
+              AND a.dateHeureFin > :from
+              AND a.dateHeureDebut < :to
+            """)
+    List<DoctorInterval> findAllActiveIntervalsBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Plages non annulées des médecins d'une spécialité recoupant une période
+     *
+     * @param from Début de la période
+     * @param to Fin de la période (exclue)
+     */
+    @Query("""
+            SELECT new com.cabinetmedical.repository.DoctorInterval(a.doctor.id, a.dateHeureDebut, a.dateHeureFin)
+            FROM Appointement a
+            WHERE a.doctor.speciality.id = :specialityId
+              AND a.statut <> com.cabinetmedical.entity.Appointement$StatutRendezVous.ANNULE
+              AND a.dateHeureFin > :from
+              AND a.dateHeureDebut < :to
+            """)
+    List<DoctorInterval> findActiveIntervalsBySpecialityId(Long specialityId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Plages non annulées d'un ensemble de médecins (page de l'annuaire) recoupant une période
+     *
+     * @param from Début de la période
+     * @param to Fin de la période (exclue)
+     */
+    @Query("""
+            SELECT new com.cabinetmedical.repository.DoctorInterval(a.doctor.id, a.dateHeureDebut, a.dateHeureFin)
+            FROM Appointement a
+            WHERE a.doctor.id IN :doctorIds
+              AND a.statut <> com.cabinetmedical.entity.Appointement$StatutRendezVous.ANNULE
+              AND a.dateHeureFin > :from
+              AND a.dateHeureDebut < :to
+            """)
+    List<DoctorInterval> findActiveIntervalsByDoctorIds(Collection<Long> doctorIds, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Rendez-vous d'un patient se terminant après un instant, triés par début (idx_patient_date)
+     */
+    @Query("""
+            SELECT a FROM Appointement a
+            WHERE a.patient.id = :patientId
+              AND a.dateHeureFin > :after
+            ORDER BY a.dateHeureDebut
+            """)
+    List<Appointement> findUpcomingByPatientId(Long patientId, LocalDateTime after);
+
+    /**
+     * Trouve un rendez-vous appartenant à un patient
+     */
+    Optional<Appointement> findByIdAndPatientId(Long id, Long patientId);
+}
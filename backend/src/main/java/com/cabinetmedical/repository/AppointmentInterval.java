@@ -0,0 +1,21 @@
+package com.cabinetmedical.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Plage occupée par un rendez-vous non annulé, semi-ouverte [début, fin)
+ * Projection construite directement par la requête JPQL (index des agendas)
+ *
+ * @param appointmentId ID du rendez-vous (null tant qu'une réservation n'est pas enregistrée)
+ * @param start Début du rendez-vous
+ * @param end Fin du rendez-vous (exclue)
+ */
+public record AppointmentInterval(Long appointmentId, LocalDateTime start, LocalDateTime end) {
+
+    /**
+     * Indique si les deux plages se chevauchent (deux rendez-vous consécutifs ne se chevauchent pas)
+     */
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
@@ -0,0 +1,24 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.DaysOfTheWeek;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository pour la table de référence des jours de la semaine
+ */
+@Repository
+public interface DaysOfTheWeekRepository extends JpaRepository<DaysOfTheWeek, Long> {
+
+    /**
+     * Récupère les jours de la semaine du lundi au dimanche
+     * Résultat conservé dans le cache de requêtes, les entités dans le cache de second niveau
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<DaysOfTheWeek> findAllByOrderByNumeroJourAsc();
+}
@@ -0,0 +1,10 @@
+package com.cabinetmedical.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Plage [début, fin) d'un rendez-vous non annulé, avec son médecin
+ * Projection utilisée par le calcul du calendrier de tous les médecins
+ */
+public record DoctorInterval(Long doctorId, LocalDateTime start, LocalDateTime end) {
+}
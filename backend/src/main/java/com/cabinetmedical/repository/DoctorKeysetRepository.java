@@ -0,0 +1,30 @@
+package com.cabinetmedical.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Fragment de repository pour la pagination par curseur (keyset / seek method)
+ * Évite les OFFSET et la requête COUNT de la pagination classique
+ */
+public interface DoctorKeysetRepository {
+
+    /**
+     * Récupère les médecins situés après la position donnée dans l'ordre de tri
+     *
+     * @param specialityId ID de la spécialité à filtrer (null pour tous les médecins)
+     * @param sortField Clé de tri
+     * @param direction Direction du tri (appliquée aussi au départage par ID)
+     * @param lastValue Valeur de la clé de tri de la dernière ligne lue (peut être null)
+     * @param lastId ID de la dernière ligne lue (null pour la première page)
+     * @param limit Nombre maximum de lignes à retourner
+     * @return Projections des médecins avec leur spécialité, dans l'ordre de tri
+     */
+    List<DoctorRow> findNextPage(Long specialityId,
+                              DoctorSortField sortField,
+                              Sort.Direction direction,
+                              String lastValue,
+                              Long lastId,
+                              int limit);
+}
@@ -0,0 +1,81 @@
+package com.cabinetmedical.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implémentation JPQL de la pagination par curseur
+ *
+ * Le prédicat de seek est écrit sous la forme "col >= :v AND (col > :v OR id > :id)"
+ * afin que PostgreSQL puisse utiliser l'index (col, id) comme borne de parcours.
+ * Les colonnes nullables suivent l'ordre par défaut de PostgreSQL :
+ * NULLS LAST en ordre croissant, NULLS FIRST en ordre décroissant.
+ */
+public class DoctorKeysetRepositoryImpl implements DoctorKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DoctorRow> findNextPage(Long specialityId,
+                                     DoctorSortField sortField,
+                                     Sort.Direction direction,
+                                     String lastValue,
+                                     Long lastId,
+                                     int limit) {
+        List<String> conditions = new ArrayList<>();
+        if (specialityId != null) {
+            conditions.add("s.id = :specialityId");
+        }
+        if (lastId != null) {
+            conditions.add(seekPredicate(sortField, direction, lastValue));
+        }
+
+        StringBuilder jpql = new StringBuilder(DoctorRow.SELECT_CLAUSE).append(" FROM Doctor d JOIN d.speciality s");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        jpql.append(" ORDER BY ").append(sortField.getJpqlPath()).append(' ').append(order)
+                .append(", d.id ").append(order);
+
+        TypedQuery<DoctorRow> query = entityManager.createQuery(jpql.toString(), DoctorRow.class);
+        if (specialityId != null) {
+            query.setParameter("specialityId", specialityId);
+        }
+        if (lastId != null) {
+            query.setParameter("lastId", lastId);
+            if (lastValue != null) {
+                query.setParameter("lastValue", lastValue);
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Construit le prédicat "strictement après (lastValue, lastId)" dans l'ordre de tri
+     */
+    private String seekPredicate(DoctorSortField sortField, Sort.Direction direction, String lastValue) {
+        String path = sortField.getJpqlPath();
+
+        if (direction.isAscending()) {
+            if (lastValue == null) {
+                // On est déjà dans la queue des NULL (NULLS LAST)
+                return "(" + path + " IS NULL AND d.id > :lastId)";
+            }
+            String seek = "(" + path + " >= :lastValue AND (" + path + " > :lastValue OR d.id > :lastId))";
+            return sortField.isNullable() ? "(" + seek + " OR " + path + " IS NULL)" : seek;
+        }
+
+        if (lastValue == null) {
+            // On est encore dans la tête des NULL (NULLS FIRST)
+            return "((" + path + " IS NULL AND d.id < :lastId) OR " + path + " IS NOT NULL)";
+        }
+        return "(" + path + " <= :lastValue AND (" + path + " < :lastValue OR d.id < :lastId))";
+    }
+}
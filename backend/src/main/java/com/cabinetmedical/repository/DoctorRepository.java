@@ -1,39 +1,122 @@
 package com.cabinetmedical.repository;
 
+import com.cabinetmedical.dto.SpecialityCountDTO;
 import com.cabinetmedical.entity.Doctor;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repository simplifié pour l'entité Doctor
- * Récupération paginée avec FETCH JOIN optimisé
+ * Listings paginés projetés en DoctorRow, sans entités managées
+ * La pagination par curseur est fournie par le fragment DoctorKeysetRepository
+ * La recherche textuelle est fournie par le fragment DoctorSearchRepository
  */
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, DoctorKeysetRepository, DoctorSearchRepository {
 
     /**
-     * Récupère tous les médecins avec leur spécialité (FETCH JOIN pour éviter N+1)
+     * Nombre de lignes lues par aller-retour réseau lors d'un export
      */
-    @Query("""
-            SELECT DISTINCT d FROM Doctor d
-            LEFT JOIN FETCH d.speciality
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /**
+     * Récupère une tranche de médecins projetés directement en DoctorRow, sans requête COUNT
+     * Spring Data lit taille + 1 lignes pour déterminer s'il existe une page suivante
+     */
+    @Query(DoctorRow.SELECT_CLAUSE + """
+            FROM Doctor d
+            JOIN d.speciality s
             """)
-    Page<Doctor> findAllWithSpecialite(Pageable pageable);
+    Slice<DoctorRow> sliceAllRows(Pageable pageable);
 
     /**
-     * Récupère les médecins filtrés par ID de spécialité
-     * @param specialityId ID de la spécialité à filtrer
-     * @param pageable Configuration de pagination et tri
-     * @return Page de médecins correspondant à la spécialité
+     * Récupère une tranche de médecins d'une spécialité projetés en DoctorRow, sans requête COUNT
      */
-    @Query("""
-            SELECT DISTINCT d FROM Doctor d
-            LEFT JOIN FETCH d.speciality s
+    @Query(DoctorRow.SELECT_CLAUSE + """
+            FROM Doctor d
+            JOIN d.speciality s
             WHERE s.id = :specialityId
             """)
-    Page<Doctor> findBySpecialityId(Long specialityId, Pageable pageable);
-}
+    Slice<DoctorRow> sliceRowsBySpecialityId(Long specialityId, Pageable pageable);
+
+    /**
+     * Récupère en une seule requête IN les médecins demandés, projetés avec leur spécialité
+     *
+     * @param ids IDs des médecins (les IDs inconnus sont ignorés)
+     * @return Projections des médecins trouvés, sans ordre garanti
+     */
+    @Query(DoctorRow.SELECT_CLAUSE + """
+            FROM Doctor d
+            JOIN d.speciality s
+            WHERE d.id IN :ids
+            """)
+    List<DoctorRow> findRowsByIdIn(Collection<Long> ids);
+
+    /**
+     * Parcourt tous les médecins par ordre d'ID via un curseur JDBC (export)
+     * Doit être consommé dans une transaction ; les projections ne sont pas attachées
+     * au contexte de persistance, la mémoire reste constante quelle que soit la taille de la table
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(DoctorRow.SELECT_CLAUSE + """
+            FROM Doctor d
+            JOIN d.speciality s
+            ORDER BY d.id
+            """)
+    Stream<DoctorRow> streamAllRows();
+
+    /**
+     * Parcourt les médecins d'une spécialité par ordre d'ID via un curseur JDBC (export)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(DoctorRow.SELECT_CLAUSE + """
+            FROM Doctor d
+            JOIN d.speciality s
+            WHERE s.id = :specialityId
+            ORDER BY d.id
+            """)
+    Stream<DoctorRow> streamRowsBySpecialityId(Long specialityId);
 
+    /**
+     * Compte les médecins d'une spécialité
+     */
+    long countBySpecialityId(Long specialityId);
+
+    /**
+     * Compte les médecins de chaque spécialité en un seul GROUP BY
+     * Les spécialités sans médecin sont incluses avec un total de 0
+     */
+    @Query("""
+            SELECT new com.cabinetmedical.dto.SpecialityCountDTO(s.id, COUNT(d.id))
+            FROM Speciality s
+            LEFT JOIN Doctor d ON d.speciality = s
+            GROUP BY s.id
+            """)
+    List<SpecialityCountDTO> countDoctorsBySpeciality();
+
+    /**
+     * Calcule l'empreinte de la table des médecins (nombre de lignes et dernière modification)
+     */
+    @Query("SELECT new com.cabinetmedical.repository.TableStamp(COUNT(d), MAX(d.updatedAt)) FROM Doctor d")
+    TableStamp findStamp();
+
+    /**
+     * Verrouille la ligne du médecin jusqu'à la fin de la transaction (réécritures de son planning)
+     * FOR NO KEY UPDATE : les insertions de rendez-vous référençant le médecin ne sont pas bloquées
+     *
+     * @return ID du médecin, vide s'il n'existe pas
+     */
+    @Query(value = "SELECT id FROM medecins WHERE id = :id FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Long> lockById(Long id);
+}
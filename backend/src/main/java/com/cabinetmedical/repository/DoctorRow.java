@@ -0,0 +1,27 @@
+package com.cabinetmedical.repository;
+
+/**
+ * Projection plate d'un médecin et de sa spécialité, construite directement par la requête JPQL
+ * (expression constructeur) : aucune entité managée, aucun snapshot de dirty-checking,
+ * rien dans le cache de premier niveau
+ */
+public record DoctorRow(
+        Long id,
+        String nom,
+        String prenom,
+        String email,
+        String telephone,
+        String numeroOrdre,
+        Long specialityId,
+        String specialityNom,
+        String specialityDescription
+) {
+    /**
+     * Expression constructeur JPQL correspondante (alias "d" pour le médecin, "s" pour la spécialité)
+     */
+    public static final String SELECT_CLAUSE = """
+            SELECT new com.cabinetmedical.repository.DoctorRow(
+                d.id, d.nom, d.prenom, d.email, d.telephone, d.numeroOrdre,
+                s.id, s.nom, s.description)
+            """;
+}
@@ -0,0 +1,105 @@
+package com.cabinetmedical.repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Recherche textuelle de médecins, normalisée comme la colonne générée medecins.recherche
+ * (minuscules, sans accents) afin que chaque terme puisse être résolu par l'index trigrammes
+ *
+ * Un médecin correspond si chaque terme apparaît dans son nom, son prénom, son numéro d'ordre
+ * ou le nom de sa spécialité.
+ *
+ * @param terms Termes normalisés, d'au moins {@link #MIN_TERM_LENGTH} caractères
+ */
+public record DoctorSearch(List<String> terms) {
+
+    /**
+     * Longueur minimale d'un terme : en dessous, l'index trigrammes n'est pas sélectif
+     */
+    public static final int MIN_TERM_LENGTH = 3;
+
+    /**
+     * Nombre maximum de termes combinés dans une recherche
+     */
+    public static final int MAX_TERMS = 5;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<Character, String> LIGATURES = Map.of(
+            'œ', "oe", 'æ', "ae", 'ß', "ss", 'ø', "o", 'ł', "l",
+            'đ', "d", 'ð', "d", 'þ', "th", 'ı', "i");
+
+    public DoctorSearch {
+        terms = List.copyOf(terms);
+    }
+
+    /**
+     * Analyse la saisie de l'utilisateur
+     * Les termes de moins de 3 caractères sont ignorés (initiales, articles)
+     *
+     * @throws IllegalArgumentException si aucun terme exploitable ou trop de termes
+     */
+    public static DoctorSearch parse(String input) {
+        List<String> terms = new ArrayList<>();
+        for (String term : WHITESPACE.split(normalize(input == null ? "" : input).trim())) {
+            if (term.length() >= MIN_TERM_LENGTH && !terms.contains(term)) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "La recherche doit contenir au moins un terme de " + MIN_TERM_LENGTH + " caractères");
+        }
+        if (terms.size() > MAX_TERMS) {
+            throw new IllegalArgumentException(
+                    "La recherche ne peut pas contenir plus de " + MAX_TERMS + " termes");
+        }
+        return new DoctorSearch(terms);
+    }
+
+    /**
+     * Normalise un texte comme lower(f_unaccent(...)) côté PostgreSQL
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+
+        // Lettres sans décomposition Unicode, translittérées par unaccent
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        for (char c : stripped.toCharArray()) {
+            String replacement = LIGATURES.get(c);
+            if (replacement != null) {
+                normalized.append(replacement);
+            } else {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Motif LIKE "contient" d'un terme, les caractères spéciaux étant échappés par '\'
+     */
+    public static String likePattern(String term) {
+        StringBuilder pattern = new StringBuilder(term.length() + 2).append('%');
+        for (char c : term.toCharArray()) {
+            if (c == '%' || c == '_' || c == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Indique si un texte (non normalisé) contient le terme donné
+     */
+    public static boolean contains(String text, String term) {
+        return text != null && normalize(text).contains(term);
+    }
+}
@@ -0,0 +1,30 @@
+package com.cabinetmedical.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Fragment de repository pour la recherche textuelle de médecins
+ * Les termes sont résolus par l'index trigrammes de la colonne medecins.recherche
+ */
+public interface DoctorSearchRepository {
+
+    /**
+     * Récupère une tranche de médecins correspondant à la recherche, sans requête COUNT
+     *
+     * @param search Recherche normalisée
+     * @param specialityId ID de la spécialité à filtrer (null pour tous les médecins)
+     * @param pageable Configuration de pagination et tri
+     * @return Tranche de projections des médecins avec leur spécialité
+     */
+    Slice<DoctorRow> searchRows(DoctorSearch search, Long specialityId, Pageable pageable);
+
+    /**
+     * Compte les médecins correspondant à la recherche
+     *
+     * @param search Recherche normalisée
+     * @param specialityId ID de la spécialité à filtrer (null pour tous les médecins)
+     * @return Nombre total de médecins correspondants
+     */
+    long countSearch(DoctorSearch search, Long specialityId);
+}
@@ -0,0 +1,123 @@
+package com.cabinetmedical.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation JPQL de la recherche de médecins
+ *
+ * Chaque terme devient "d.recherche LIKE '%terme%'", résolu par l'index GIN trigrammes.
+ * Les spécialités dont le nom contient le terme sont résolues en Java (table de quelques lignes)
+ * puis ajoutées en "OR d.speciality.id IN (...)", ce qui permet à PostgreSQL de combiner
+ * l'index trigrammes et l'index sur specialite_id (BitmapOr) au lieu de parcourir la table.
+ */
+public class DoctorSearchRepositoryImpl implements DoctorSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<DoctorRow> searchRows(DoctorSearch search, Long specialityId, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String jpql = DoctorRow.SELECT_CLAUSE + " FROM Doctor d JOIN d.speciality s"
+                + whereClause(search, specialityId, parameters)
+                + orderByClause(pageable.getSort());
+
+        TypedQuery<DoctorRow> query = entityManager.createQuery(jpql, DoctorRow.class);
+        bind(query, parameters);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        List<DoctorRow> rows = query.getResultList();
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        List<DoctorRow> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public long countSearch(DoctorSearch search, Long specialityId) {
+        Map<String, Object> parameters = new HashMap<>();
+        String jpql = "SELECT COUNT(d) FROM Doctor d" + whereClause(search, specialityId, parameters);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql, Long.class);
+        bind(query, parameters);
+        return query.getSingleResult();
+    }
+
+    /**
+     * Construit la clause WHERE : tous les termes doivent correspondre (AND)
+     */
+    private String whereClause(DoctorSearch search, Long specialityId, Map<String, Object> parameters) {
+        List<Tuple> specialities = entityManager
+                .createQuery("SELECT s.id AS id, s.nom AS nom FROM Speciality s", Tuple.class)
+                .getResultList();
+
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < search.terms().size(); i++) {
+            String term = search.terms().get(i);
+            String condition = "d.recherche LIKE :term" + i + " ESCAPE '\\'";
+            parameters.put("term" + i, DoctorSearch.likePattern(term));
+
+            List<Long> specialityIds = specialities.stream()
+                    .filter(speciality -> DoctorSearch.contains(speciality.get("nom", String.class), term))
+                    .map(speciality -> speciality.get("id", Long.class))
+                    .toList();
+            if (!specialityIds.isEmpty()) {
+                condition = "(" + condition + " OR d.speciality.id IN :specialities" + i + ")";
+                parameters.put("specialities" + i, specialityIds);
+            }
+            conditions.add(condition);
+        }
+        if (specialityId != null) {
+            conditions.add("d.speciality.id = :specialityId");
+            parameters.put("specialityId", specialityId);
+        }
+        return " WHERE " + String.join(" AND ", conditions);
+    }
+
+    /**
+     * Construit la clause ORDER BY avec départage par ID (pagination stable)
+     * Seules les propriétés du registre DoctorSortField sont acceptées
+     *
+     * Les clés de tri sont écrites CONCAT(col, '') : même ordre, mais PostgreSQL ne peut plus
+     * parcourir l'index (nom, ...) en filtrant chaque ligne. Ce plan est catastrophique quand les
+     * résultats sont regroupés en fin d'index (recherche sur un nom de famille : plus de 400 000
+     * lignes filtrées sur 500 000). Le plan retenu est toujours index trigrammes + tri top-N,
+     * dont le coût est borné par le nombre de résultats.
+     */
+    private static String orderByClause(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        String tieBreaker = "d.id ASC";
+        for (Sort.Order order : sort) {
+            if (DoctorSortField.TIE_BREAKER_PROPERTY.equals(order.getProperty())) {
+                tieBreaker = "d.id " + order.getDirection().name();
+                continue;
+            }
+            String path = DoctorSortField.fromProperty(order.getProperty())
+                    .map(DoctorSortField::getJpqlPath)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Champ de tri non supporté: " + order.getProperty()));
+            orders.add("CONCAT(" + path + ", '') " + order.getDirection().name());
+        }
+        orders.add(tieBreaker);
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private static void bind(Query query, Map<String, Object> parameters) {
+        parameters.forEach(query::setParameter);
+    }
+}
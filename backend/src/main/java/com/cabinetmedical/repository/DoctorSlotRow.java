@@ -0,0 +1,10 @@
+package com.cabinetmedical.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Bitmap des créneaux libres d'un médecin pour un jour (ligne de creneaux)
+ * Projection construite par la requête JPQL : aucune entité managée
+ */
+public record DoctorSlotRow(Long doctorId, LocalDate jour, long libres) {
+}
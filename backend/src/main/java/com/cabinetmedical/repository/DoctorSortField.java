@@ -0,0 +1,116 @@
+package com.cabinetmedical.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Registre des clés de tri publiques acceptées pour la liste des médecins
+ * Associe chaque clé exposée par l'API à une propriété JPA validée, au chemin JPQL utilisé par les
+ * requêtes keyset et aux index composites (clé, id) qui la couvrent (voir 005 et 007)
+ * L'identifiant du médecin sert systématiquement de départage (tie-breaker)
+ */
+public enum DoctorSortField {
+
+    NOM("nom", "nom", "d.nom", false, true, true, DoctorRow::nom),
+    PRENOM("prenom", "prenom", "d.prenom", false, true, true, DoctorRow::prenom),
+    NUMERO_ORDRE("numeroOrdre", "numeroOrdre", "d.numeroOrdre", true, true, false, DoctorRow::numeroOrdre),
+    EMAIL("email", "email", "d.email", true, true, false, DoctorRow::email),
+    TELEPHONE("telephone", "telephone", "d.telephone", true, true, false, DoctorRow::telephone),
+    SPECIALITE("specialite", "speciality.nom", "s.nom", false, false, false, DoctorRow::specialityNom);
+
+    /**
+     * Propriété JPA du départage, ajoutée après chaque clé de tri
+     */
+    public static final String TIE_BREAKER_PROPERTY = "id";
+
+    private final String paramName;
+    private final String property;
+    private final String jpqlPath;
+    private final boolean nullable;
+    private final boolean indexed;
+    private final boolean indexedBySpeciality;
+    private final Function<DoctorRow, String> valueExtractor;
+
+    DoctorSortField(String paramName, String property, String jpqlPath, boolean nullable,
+                    boolean indexed, boolean indexedBySpeciality, Function<DoctorRow, String> valueExtractor) {
+        this.paramName = paramName;
+        this.property = property;
+        this.jpqlPath = jpqlPath;
+        this.nullable = nullable;
+        this.indexed = indexed;
+        this.indexedBySpeciality = indexedBySpeciality;
+        this.valueExtractor = valueExtractor;
+    }
+
+    /**
+     * Recherche la clé de tri correspondant au paramètre de requête (insensible à la casse)
+     */
+    public static Optional<DoctorSortField> fromParam(String sortBy) {
+        if (sortBy == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(field -> field.paramName.equalsIgnoreCase(sortBy))
+                .findFirst();
+    }
+
+    /**
+     * Recherche la clé de tri correspondant à une propriété JPA d'un objet Sort
+     */
+    public static Optional<DoctorSortField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+
+    public String getParamName() {
+        return paramName;
+    }
+
+    /**
+     * Propriété JPA triée, relative à l'entité Doctor (utilisée dans les objets Sort)
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Chemin JPQL de la colonne triée (alias "d" pour le médecin, "s" pour la spécialité)
+     */
+    public String getJpqlPath() {
+        return jpqlPath;
+    }
+
+    /**
+     * Indique si la colonne peut contenir des valeurs NULL (prises en compte par le prédicat de seek)
+     */
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Indique si un index fournit directement l'ordre (clé, id), avec ou sans filtre de spécialité
+     * Un tri non couvert oblige PostgreSQL à lire et trier toutes les lignes candidates
+     */
+    public boolean isIndexed(boolean bySpeciality) {
+        return bySpeciality ? indexedBySpeciality : indexed;
+    }
+
+    /**
+     * Construit le tri complet : clé demandée puis ID dans la même direction,
+     * pour que l'index (clé, id) puisse être parcouru dans un sens comme dans l'autre
+     */
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction, property).and(Sort.by(direction, TIE_BREAKER_PROPERTY));
+    }
+
+    /**
+     * Extrait la valeur de la clé de tri d'un médecin (utilisée pour construire le curseur)
+     */
+    public String valueOf(DoctorRow row) {
+        return valueExtractor.apply(row);
+    }
+}
@@ -0,0 +1,62 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.DoctorsAvailability;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository pour les disponibilités hebdomadaires des médecins
+ * Les jours et heures référencés sont résolus depuis le cache de second niveau, sans jointure ;
+ * les associations restantes sont chargées par lots (hibernate.default_batch_fetch_size)
+ */
+@Repository
+public interface DoctorsAvailabilityRepository extends JpaRepository<DoctorsAvailability, Long> {
+
+    /**
+     * Récupère en une requête les disponibilités actives d'un ensemble de médecins
+     * Tri sur les clés étrangères (médecin, jour, heure de début) : aucune table jointe
+     *
+     * @param doctorIds IDs des médecins
+     * @return Disponibilités actives, groupées par médecin
+     */
+    @Query("""
+            SELECT a FROM DoctorsAvailability a
+            WHERE a.doctor.id IN :doctorIds
+              AND a.actif = true
+            ORDER BY a.doctor.id, a.jourSemaine.id, a.heureDebut.id
+            """)
+    List<DoctorsAvailability> findActiveByDoctorIds(Collection<Long> doctorIds);
+
+    /**
+     * Récupère le planning complet d'un ensemble de médecins en une seule requête
+     * Médecin, jour et heures sont chargés par jointure (graphe DoctorsAvailability.schedule),
+     * indépendamment de l'état du cache de second niveau
+     *
+     * @param doctorIds IDs des médecins
+     * @return Disponibilités actives avec leurs associations initialisées, groupées par médecin
+     */
+    @EntityGraph(DoctorsAvailability.SCHEDULE_GRAPH)
+    @Query("""
+            SELECT a FROM DoctorsAvailability a
+            WHERE a.doctor.id IN :doctorIds
+              AND a.actif = true
+            ORDER BY a.doctor.id, a.jourSemaine.id, a.heureDebut.id
+            """)
+    List<DoctorsAvailability> findScheduleByDoctorIds(Collection<Long> doctorIds);
+
+    /**
+     * Récupère toutes les plages d'un médecin, désactivées comprises
+     * Une plage désactivée occupe toujours sa clé (médecin, jour, heure de début) : elle est
+     * réactivée plutôt que dupliquée lors d'une réécriture de la semaine type
+     *
+     * @param doctorId ID du médecin
+     * @return Disponibilités du médecin, actives ou non
+     */
+    @Query("SELECT a FROM DoctorsAvailability a WHERE a.doctor.id = :doctorId")
+    List<DoctorsAvailability> findAllByDoctorId(Long doctorId);
+}
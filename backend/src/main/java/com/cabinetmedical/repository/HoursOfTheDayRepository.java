@@ -0,0 +1,24 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.HoursOfTheDay;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository pour la table de référence des heures de la journée
+ */
+@Repository
+public interface HoursOfTheDayRepository extends JpaRepository<HoursOfTheDay, Long> {
+
+    /**
+     * Récupère les heures de la journée par ordre chronologique
+     * Résultat conservé dans le cache de requêtes, les entités dans le cache de second niveau
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<HoursOfTheDay> findAllByOrderByHeureAsc();
+}
@@ -1,10 +1,15 @@
 package com.cabinetmedical.repository;
 
 import com.cabinetmedical.entity.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour la gestion des patients
@@ -13,12 +18,9 @@ import java.util.Optional;
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
     /**
-     * Trouve un patient par son email et son téléphone
-     * @param email email du patient
-     * @param telephone téléphone du patient
-     * @return Optional contenant le patient s'il existe
+     * Nombre de lignes lues par aller-retour réseau lors d'un parcours complet
      */
-    Optional<Patient> findByEmailAndTelephone(String email, String telephone);
+    String SCAN_FETCH_SIZE = "5000";
 
     /**
      * Trouve un patient par son email
@@ -26,5 +28,12 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      * @return Optional contenant le patient s'il existe
      */
     Optional<Patient> findByEmail(String email);
-}
 
+    /**
+     * Parcourt les emails de tous les patients via un curseur JDBC
+     * Doit être consommé dans une transaction ; seule la colonne email est lue
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = SCAN_FETCH_SIZE))
+    @Query("SELECT p.email FROM Patient p WHERE p.email IS NOT NULL")
+    Stream<String> streamAllEmails();
+}
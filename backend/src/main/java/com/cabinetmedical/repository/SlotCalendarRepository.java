@@ -0,0 +1,62 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.DoctorSlotDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository du calendrier des créneaux libres précalculé (table creneaux)
+ */
+@Repository
+public interface SlotCalendarRepository extends JpaRepository<DoctorSlotDay, DoctorSlotDay.Key>, SlotCalendarWriter {
+
+    /**
+     * Jours d'un médecin ayant des créneaux libres sur une période (parcours de la clé primaire)
+     */
+    List<DoctorSlotDay> findByDoctorIdAndJourBetweenOrderByJour(Long doctorId, LocalDate from, LocalDate to);
+
+    /**
+     * Jours des médecins d'une spécialité ayant des créneaux libres sur une période
+     * Parcours de l'index idx_creneaux_jour_medecin borné par la période, joint aux médecins de la spécialité
+     */
+    @Query("""
+            SELECT new com.cabinetmedical.repository.DoctorSlotRow(c.doctorId, c.jour, c.libres)
+            FROM DoctorSlotDay c, Doctor d
+            WHERE d.id = c.doctorId
+              AND d.speciality.id = :specialityId
+              AND c.jour BETWEEN :from AND :to
+            """)
+    List<DoctorSlotRow> findRowsBySpecialityId(Long specialityId, LocalDate from, LocalDate to);
+
+    /**
+     * Jours d'un ensemble de médecins (page de l'annuaire) ayant des créneaux libres sur une période
+     */
+    @Query("""
+            SELECT new com.cabinetmedical.repository.DoctorSlotRow(c.doctorId, c.jour, c.libres)
+            FROM DoctorSlotDay c
+            WHERE c.doctorId IN :doctorIds
+              AND c.jour BETWEEN :from AND :to
+            """)
+    List<DoctorSlotRow> findRowsByDoctorIds(Collection<Long> doctorIds, LocalDate from, LocalDate to);
+
+    /**
+     * Efface des créneaux d'un jour (rendez-vous réservé), sans relire la ligne
+     *
+     * @param doctorId ID du médecin
+     * @param jour Jour concerné
+     * @param mask Bits des créneaux à effacer
+     * @return Nombre de lignes modifiées (0 si le jour n'avait plus de créneau libre)
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE creneaux SET libres = libres & ~CAST(:mask AS BIGINT), updated_at = now()
+            WHERE medecin_id = :doctorId AND jour = :jour
+            """, nativeQuery = true)
+    int clearSlots(Long doctorId, LocalDate jour, long mask);
+}
@@ -0,0 +1,38 @@
+package com.cabinetmedical.repository;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Écritures en masse du calendrier des créneaux (table creneaux)
+ *
+ * Verrous : le recalcul complet prend un verrou de table SHARE ROW EXCLUSIVE, les mises à jour
+ * d'un médecin un verrou ROW EXCLUSIVE et un verrou consultatif sur le médecin. Les lectures ne
+ * sont jamais bloquées ; une mise à jour incrémentale attend la fin d'un recalcul complet
+ * et s'applique ensuite sur ses lignes, sans être écrasée.
+ */
+public interface SlotCalendarWriter {
+
+    /**
+     * Verrou du recalcul complet, à prendre avant de lire les données sources
+     */
+    void lockForRefresh();
+
+    /**
+     * Verrou de mise à jour d'un médecin, à prendre avant de lire les données sources
+     */
+    void lockDoctor(Long doctorId);
+
+    /**
+     * Remplace tout le calendrier
+     *
+     * @param from Premier jour des bitmaps
+     * @param freeByDoctor Créneaux libres par médecin, un long par jour à partir de {@code from}
+     */
+    void replaceAll(LocalDate from, Map<Long, long[]> freeByDoctor);
+
+    /**
+     * Remplace le calendrier d'un médecin sur la période couverte par {@code free}
+     */
+    void replaceDoctor(Long doctorId, LocalDate from, long[] free);
+}
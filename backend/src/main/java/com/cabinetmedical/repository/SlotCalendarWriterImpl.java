@@ -0,0 +1,72 @@
+package com.cabinetmedical.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation JDBC des écritures du calendrier : insertions par lots, sans passer par le contexte de persistance
+ */
+@RequiredArgsConstructor
+public class SlotCalendarWriterImpl implements SlotCalendarWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO creneaux (medecin_id, jour, libres, updated_at) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void lockForRefresh() {
+        jdbcTemplate.execute("LOCK TABLE creneaux IN SHARE ROW EXCLUSIVE MODE");
+    }
+
+    @Override
+    public void lockDoctor(Long doctorId) {
+        jdbcTemplate.execute("LOCK TABLE creneaux IN ROW EXCLUSIVE MODE");
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext('creneaux'), ?)",
+                Long.hashCode(doctorId));
+    }
+
+    @Override
+    public void replaceAll(LocalDate from, Map<Long, long[]> freeByDoctor) {
+        jdbcTemplate.update("DELETE FROM creneaux");
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        freeByDoctor.forEach((doctorId, free) -> addRows(rows, doctorId, from, free, now));
+        insert(rows);
+    }
+
+    @Override
+    public void replaceDoctor(Long doctorId, LocalDate from, long[] free) {
+        jdbcTemplate.update("DELETE FROM creneaux WHERE medecin_id = ? AND jour BETWEEN ? AND ?",
+                doctorId, Date.valueOf(from), Date.valueOf(from.plusDays(free.length - 1L)));
+        List<Object[]> rows = new ArrayList<>();
+        addRows(rows, doctorId, from, free, Timestamp.valueOf(LocalDateTime.now()));
+        insert(rows);
+    }
+
+    /**
+     * Un jour sans créneau libre n'a pas de ligne
+     */
+    private static void addRows(List<Object[]> rows, Long doctorId, LocalDate from, long[] free, Timestamp now) {
+        for (int day = 0; day < free.length; day++) {
+            if (free[day] != 0L) {
+                rows.add(new Object[]{doctorId, Date.valueOf(from.plusDays(day)), free[day], now});
+            }
+        }
+    }
+
+    private void insert(List<Object[]> rows) {
+        for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(start, Math.min(rows.size(), start + BATCH_SIZE)));
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.cabinetmedical.repository;
 
 import com.cabinetmedical.entity.Speciality;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,7 +18,15 @@ public interface SpecialityRepository extends JpaRepository<Speciality, Long> {
 
     /**
      * Récupère toutes les spécialités triées par nom
+     * Résultat conservé dans le cache de requêtes, les entités dans le cache de second niveau
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Speciality> findAllByOrderByNomAsc();
+
+    /**
+     * Calcule l'empreinte de la table des spécialités (nombre de lignes et dernière modification)
+     */
+    @Query("SELECT new com.cabinetmedical.repository.TableStamp(COUNT(s), MAX(s.updatedAt)) FROM Speciality s")
+    TableStamp findStamp();
 }
 
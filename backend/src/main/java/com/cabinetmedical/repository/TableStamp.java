@@ -0,0 +1,25 @@
+package com.cabinetmedical.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Empreinte d'une table : nombre de lignes et date de dernière modification
+ * Change à chaque insertion, modification ou suppression
+ *
+ * @param count Nombre de lignes
+ * @param lastUpdatedAt Plus grande valeur de updated_at (null si la table est vide)
+ */
+public record TableStamp(long count, LocalDateTime lastUpdatedAt) {
+
+    /**
+     * Représentation compacte utilisable dans un ETag, par ex. "12.18c3f2a9b40"
+     */
+    public String token() {
+        long micros = 0;
+        if (lastUpdatedAt != null) {
+            micros = lastUpdatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastUpdatedAt.getNano() / 1_000;
+        }
+        return count + "." + Long.toHexString(micros);
+    }
+}
@@ -0,0 +1,26 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.DoctorWeeklyTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository des semaines types compactes (table semaines_types)
+ * La semaine d'un médecin se lit par sa clé primaire (findById) : une seule ligne
+ */
+@Repository
+public interface WeeklyTemplateRepository extends JpaRepository<DoctorWeeklyTemplate, Long>, WeeklyTemplateWriter {
+
+    /**
+     * Semaines types des médecins d'une spécialité
+     */
+    @Query("""
+            SELECT t FROM DoctorWeeklyTemplate t, Doctor d
+            WHERE d.id = t.doctorId
+              AND d.speciality.id = :specialityId
+            """)
+    List<DoctorWeeklyTemplate> findBySpecialityId(Long specialityId);
+}
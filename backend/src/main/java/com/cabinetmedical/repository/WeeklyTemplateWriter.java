@@ -0,0 +1,20 @@
+package com.cabinetmedical.repository;
+
+/**
+ * Réécriture des semaines types compactes (table semaines_types) à partir de disponibilites_medecin
+ *
+ * Le calcul est fait en SQL, dans la transaction courante : les disponibilités ne sont pas chargées
+ * en entités. Chaque plage donne les créneaux qu'elle couvre entièrement, comme WeeklyTemplate.of.
+ */
+public interface WeeklyTemplateWriter {
+
+    /**
+     * Réécrit la semaine type de tous les médecins
+     */
+    void rebuildAll();
+
+    /**
+     * Réécrit la semaine type d'un médecin
+     */
+    void rebuildDoctor(Long doctorId);
+}
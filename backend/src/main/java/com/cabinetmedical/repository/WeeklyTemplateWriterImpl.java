@@ -0,0 +1,63 @@
+package com.cabinetmedical.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Implémentation JDBC de la réécriture des semaines types : agrégation bit_or par médecin et par jour
+ */
+@RequiredArgsConstructor
+public class WeeklyTemplateWriterImpl implements WeeklyTemplateWriter {
+
+    /**
+     * Suppression puis insertion ; l'insertion tolère une réécriture concurrente du même médecin
+     * Paramètre %s : filtre optionnel sur le médecin (colonne medecin_id)
+     */
+    private static final String DELETE_SQL = "DELETE FROM semaines_types %s";
+    private static final String UPSERT_SQL = """
+            INSERT INTO semaines_types (medecin_id, lundi, mardi, mercredi, jeudi, vendredi, samedi, dimanche, updated_at)
+            SELECT p.medecin_id,
+                   COALESCE(bit_or(p.masque) FILTER (WHERE p.numero_jour = 1), 0),
+                   COALESCE(bit_or(p.masque) FILTER (WHERE p.numero_jour = 2), 0),
+                   COALESCE(bit_or(p.masque) FILTER (WHERE p.numero_jour = 3), 0),
+                   COALESCE(bit_or(p.masque) FILTER (WHERE p.numero_jour = 4), 0),
+                   COALESCE(bit_or(p.masque) FILTER (WHERE p.numero_jour = 5), 0),
+                   COALESCE(bit_or(p.masque) FILTER (WHERE p.numero_jour = 6), 0),
+                   COALESCE(bit_or(p.masque) FILTER (WHERE p.numero_jour = 7), 0),
+                   now()
+            FROM (
+                SELECT d.medecin_id, j.numero_jour,
+                       ((1::bigint << (f.creneau - s.creneau)) - 1) << s.creneau AS masque
+                FROM disponibilites_medecin d
+                JOIN jours_semaine j ON j.id = d.jour_semaine_id
+                CROSS JOIN LATERAL (
+                    SELECT ceil(extract(epoch FROM h.heure) / 1800)::int AS creneau
+                    FROM heures_jour h WHERE h.id = d.heure_debut_id) s
+                CROSS JOIN LATERAL (
+                    SELECT floor(extract(epoch FROM h.heure) / 1800)::int AS creneau
+                    FROM heures_jour h WHERE h.id = d.heure_fin_id) f
+                WHERE d.actif = true
+                  AND f.creneau > s.creneau
+                  %s
+            ) p
+            GROUP BY p.medecin_id
+            ON CONFLICT (medecin_id) DO UPDATE SET
+                lundi = EXCLUDED.lundi, mardi = EXCLUDED.mardi, mercredi = EXCLUDED.mercredi,
+                jeudi = EXCLUDED.jeudi, vendredi = EXCLUDED.vendredi, samedi = EXCLUDED.samedi,
+                dimanche = EXCLUDED.dimanche, updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void rebuildAll() {
+        jdbcTemplate.update(DELETE_SQL.formatted(""));
+        jdbcTemplate.update(UPSERT_SQL.formatted(""));
+    }
+
+    @Override
+    public void rebuildDoctor(Long doctorId) {
+        jdbcTemplate.update(DELETE_SQL.formatted("WHERE medecin_id = ?"), doctorId);
+        jdbcTemplate.update(UPSERT_SQL.formatted("AND d.medecin_id = ?"), doctorId);
+    }
+}
@@ -0,0 +1,103 @@
+package com.cabinetmedical.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom de chaînes, concurrent et sans verrou
+ *
+ * Les bits sont portés par un {@link AtomicLongArray} : les ajouts (OU atomique) et les lectures
+ * peuvent se faire depuis plusieurs threads. Pas de faux négatif ; le taux de faux positifs
+ * reste proche de celui demandé tant que le nombre d'entrées ne dépasse pas la capacité prévue.
+ * Les k positions sont dérivées de deux empreintes 64 bits (double hachage de Kirsch-Mitzenmacher).
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bitSize + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = words * 64L;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Dimensionne un filtre pour un nombre d'entrées et un taux de faux positifs
+     *
+     * @param expectedInsertions Nombre d'entrées prévu
+     * @param falsePositiveRate Taux de faux positifs visé (entre 0 et 1 exclus)
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Taux de faux positifs invalide: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bitSize = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        return new BloomFilter(bitSize, hashFunctions);
+    }
+
+    void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.accumulateAndGet(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Empreinte mémoire du tableau de bits, en octets
+     */
+    long byteSize() {
+        return bits.length() * 8L;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private long index(long combined) {
+        return (combined & Long.MAX_VALUE) % bitSize;
+    }
+
+    /**
+     * FNV-1a 64 bits sur les octets UTF-8, suivi d'un brassage final
+     */
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Finaliseur de SplitMix64 : chaque bit d'entrée influence tous les bits de sortie
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
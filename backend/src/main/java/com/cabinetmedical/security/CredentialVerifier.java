@@ -0,0 +1,123 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vérification des identifiants patients (empreintes BCrypt) sur un pool de threads dédié
+ *
+ * Le hachage est volontairement coûteux en CPU : il s'exécute sur un pool borné, distinct des
+ * threads Tomcat, avec une file d'attente bornée. Un pic de connexions ne peut donc occuper que
+ * ces threads ; au-delà de la file, la tentative est rejetée en 429 au lieu de s'accumuler.
+ * Métriques : auth.credentials.queue.depth, auth.credentials.verify, auth.credentials.rejected
+ */
+@Component
+@Slf4j
+public class CredentialVerifier {
+
+    static final int BCRYPT_COST = 10;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(BCRYPT_COST);
+
+    /**
+     * Empreinte de référence des vérifications factices (email inconnu, patient sans empreinte) :
+     * même coût qu'une vraie comparaison, pour que la durée de réponse ne révèle pas les emails inscrits
+     */
+    private final String dummyHash = encoder.encode("cabinet-medical-dummy-secret");
+    private final ThreadPoolExecutor executor;
+
+    private final Timer verifyTimer;
+    private final Counter rejections;
+
+    @Autowired
+    public CredentialVerifier(@Value("${cabinet.security.credentials.threads:0}") int threads,
+                              @Value("${cabinet.security.credentials.queue-capacity:100}") int queueCapacity,
+                              MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new VerifierThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Pool de vérification des identifiants: {} threads, file de {} tentatives", poolSize, queueCapacity);
+
+        Gauge.builder("auth.credentials.queue.depth", executor, e -> e.getQueue().size())
+                .description("Vérifications d'identifiants en attente d'un thread")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.credentials.verify")
+                .description("Durée d'une vérification d'empreinte BCrypt (hors attente en file)")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auth.credentials.rejected")
+                .description("Vérifications refusées faute de place dans la file")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Vérifie un secret contre son empreinte, sur le pool dédié
+     * Sans secret ou sans empreinte, une comparaison factice de même coût est exécutée
+     * et le résultat est toujours false
+     *
+     * @param raw Secret saisi (peut être null)
+     * @param hash Empreinte BCrypt enregistrée (null : email inconnu ou patient sans empreinte)
+     * @return Future complété par le résultat de la comparaison
+     * @throws TooManyRequestsException si la file du pool est pleine
+     */
+    public CompletableFuture<Boolean> verify(String raw, String hash) {
+        boolean comparable = raw != null && hash != null;
+        String candidate = raw != null ? raw : "";
+        String reference = hash != null ? hash : dummyHash;
+
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> verifyTimer.record(() -> encoder.matches(candidate, reference)) && comparable, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("File de vérification des identifiants pleine ({} en attente)", executor.getQueue().size());
+            throw new TooManyRequestsException("Service d'authentification saturé, veuillez réessayer",
+                    Duration.ofSeconds(1));
+        }
+    }
+
+    /**
+     * Calcule l'empreinte BCrypt d'un secret (création ou modification d'un patient)
+     */
+    public String hash(String raw) {
+        return encoder.encode(raw);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Threads démons nommés, pour les distinguer dans les dumps
+     */
+    private static final class VerifierThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "credential-verifier-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
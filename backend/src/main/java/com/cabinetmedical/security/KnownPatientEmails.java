@@ -0,0 +1,171 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.event.PatientChangedEvent;
+import com.cabinetmedical.repository.PatientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Filtre de Bloom des emails de patients, consulté avant toute recherche de connexion
+ *
+ * Un email absent du filtre n'appartient à aucun patient : la tentative est rejetée sans requête.
+ * Construit au démarrage par un parcours en flux de patients.email, complété à chaque insertion
+ * validée, puis reconstruit périodiquement (un filtre de Bloom ne sait pas retirer une entrée :
+ * la reconstruction élimine les emails supprimés et redimensionne le filtre).
+ * Tant que le filtre n'est pas construit, tous les emails sont considérés comme connus.
+ */
+@Component
+@Slf4j
+public class KnownPatientEmails {
+
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedPatients;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+
+    /**
+     * Filtre en cours de reconstruction : les insertions y sont aussi ajoutées, pour ne pas
+     * perdre celles validées après le début du parcours
+     */
+    private volatile BloomFilter building;
+
+    private final AtomicLong entries = new AtomicLong();
+    private final Counter unknownEmails;
+
+    public KnownPatientEmails(PatientRepository patientRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${cabinet.security.patient-emails.expected-patients:100000}") long expectedPatients,
+                              @Value("${cabinet.security.patient-emails.false-positive-rate:0.01}") double falsePositiveRate,
+                              MeterRegistry meterRegistry) {
+        this.patientRepository = patientRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedPatients = expectedPatients;
+        this.falsePositiveRate = falsePositiveRate;
+
+        Gauge.builder("auth.login.email-filter.false-positive-rate", this, f -> f.falsePositiveRate)
+                .description("Taux de faux positifs configuré du filtre des emails de patients")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.email-filter.size", this, KnownPatientEmails::byteSize)
+                .description("Empreinte mémoire du filtre des emails de patients")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.email-filter.entries", entries, AtomicLong::get)
+                .description("Emails ajoutés au filtre depuis sa dernière construction")
+                .register(meterRegistry);
+        this.unknownEmails = Counter.builder("auth.login.unknown-email")
+                .description("Tentatives de connexion rejetées sans requête : email inconnu")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Construit le filtre au démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruit le filtre pour éliminer les emails supprimés ou modifiés
+     */
+    @Scheduled(fixedDelayString = "${cabinet.security.patient-emails.rebuild-interval:PT6H}",
+            initialDelayString = "${cabinet.security.patient-emails.rebuild-interval:PT6H}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long patients = patientRepository.count();
+
+        // Marge de croissance : le filtre doit absorber les inscriptions jusqu'à la prochaine reconstruction
+        BloomFilter filter = BloomFilter.create(Math.max(expectedPatients, patients * 2), falsePositiveRate);
+        building = filter;
+        try {
+            AtomicLong added = new AtomicLong();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = patientRepository.streamAllEmails()) {
+                    emails.forEach(email -> {
+                        filter.put(normalize(email));
+                        added.incrementAndGet();
+                    });
+                }
+            });
+
+            current = filter;
+            entries.set(added.get());
+            log.info("Filtre des emails de patients construit: {} emails, {} Ko, {} hachages, en {} ms",
+                    added, filter.byteSize() / 1024, filter.hashFunctions(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Le filtre précédent (ou l'absence de filtre) reste en place
+            log.error("Échec de la construction du filtre des emails de patients", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Ajoute l'email d'un patient créé ou modifié, après commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (event.type() == PatientChangedEvent.Type.DELETED || event.email() == null) {
+            return;
+        }
+
+        String email = normalize(event.email());
+        BloomFilter pending = building;
+        if (pending != null) {
+            pending.put(email);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(email);
+            entries.incrementAndGet();
+        }
+    }
+
+    /**
+     * Indique si l'email peut appartenir à un patient
+     *
+     * @param email Email saisi
+     * @return false si aucun patient n'a cet email (certain), true sinon
+     */
+    public boolean mightBeKnown(String email) {
+        if (email == null || email.isBlank()) {
+            return false;
+        }
+        BloomFilter filter = current;
+        if (filter == null || filter.mightContain(normalize(email))) {
+            return true;
+        }
+        unknownEmails.increment();
+        return false;
+    }
+
+    private double byteSize() {
+        BloomFilter filter = current;
+        return filter != null ? filter.byteSize() : 0;
+    }
+
+    /**
+     * Même normalisation à la construction et à la consultation : la casse et les espaces
+     * autour de l'email ne créent jamais de faux négatif
+     */
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,137 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limiteur de débit des tentatives de connexion, par email et par adresse IP
+ *
+ * Chaque clé possède un {@link TokenBucket} sans verrou ; les seaux sont conservés dans des caches
+ * Caffeine bornés en taille et expirés après inactivité. Un seau inactif pendant son temps de
+ * remplissage complet est de nouveau plein : l'évincer ne change donc aucune décision.
+ * Le contrôle a lieu avant toute requête SQL (et avant l'ouverture d'une transaction).
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    static final String EMAIL_BUCKETS = "loginBucketsByEmail";
+    static final String IP_BUCKETS = "loginBucketsByIp";
+
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+    private final Ticker ticker;
+
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${cabinet.security.login-rate.email.capacity:5}") int emailCapacity,
+                            @Value("${cabinet.security.login-rate.email.refill-period:PT1M}") Duration emailRefill,
+                            @Value("${cabinet.security.login-rate.ip.capacity:20}") int ipCapacity,
+                            @Value("${cabinet.security.login-rate.ip.refill-period:PT3S}") Duration ipRefill,
+                            @Value("${cabinet.security.login-rate.maximum-keys:100000}") long maximumKeys,
+                            MeterRegistry meterRegistry) {
+        this(new Limit(emailCapacity, emailRefill), new Limit(ipCapacity, ipRefill), maximumKeys,
+                Ticker.systemTicker(), meterRegistry);
+    }
+
+    LoginRateLimiter(Limit emailLimit, Limit ipLimit, long maximumKeys, Ticker ticker, MeterRegistry meterRegistry) {
+        this.emailLimit = emailLimit;
+        this.ipLimit = ipLimit;
+        this.ticker = ticker;
+        this.emailBuckets = buckets(emailLimit, maximumKeys, ticker);
+        this.ipBuckets = buckets(ipLimit, maximumKeys, ticker);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, emailBuckets, EMAIL_BUCKETS);
+        CaffeineCacheMetrics.monitor(meterRegistry, ipBuckets, IP_BUCKETS);
+        this.emailRejections = Counter.builder("auth.login.throttled")
+                .description("Tentatives de connexion rejetées par le limiteur de débit")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttled")
+                .description("Tentatives de connexion rejetées par le limiteur de débit")
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consomme un jeton pour l'adresse IP puis pour l'email de la tentative
+     *
+     * @param email Email saisi (peut être null)
+     * @param clientIp Adresse IP du client
+     * @throws TooManyRequestsException si l'un des deux seaux est vide
+     */
+    public void checkLoginAttempt(String email, String clientIp) {
+        long now = ticker.read();
+
+        if (clientIp != null) {
+            long wait = ipBuckets.get(clientIp, key -> ipLimit.newBucket(now)).tryConsume(now);
+            if (wait > 0) {
+                ipRejections.increment();
+                log.warn("Trop de tentatives de connexion depuis l'adresse {}", clientIp);
+                throw new TooManyRequestsException("Trop de tentatives de connexion, veuillez réessayer plus tard",
+                        Duration.ofNanos(wait));
+            }
+        }
+
+        if (email != null && !email.isBlank()) {
+            String key = email.trim().toLowerCase(Locale.ROOT);
+            long wait = emailBuckets.get(key, k -> emailLimit.newBucket(now)).tryConsume(now);
+            if (wait > 0) {
+                emailRejections.increment();
+                log.warn("Trop de tentatives de connexion pour l'email {}", key);
+                throw new TooManyRequestsException("Trop de tentatives de connexion, veuillez réessayer plus tard",
+                        Duration.ofNanos(wait));
+            }
+        }
+    }
+
+    private static Cache<String, TokenBucket> buckets(Limit limit, long maximumKeys, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(limit.refillDuration())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Débit autorisé pour une clé : une rafale de {@code capacity} tentatives,
+     * puis une tentative par {@code refillPeriod}
+     */
+    record Limit(int capacity, Duration refillPeriod) {
+
+        Limit {
+            if (capacity <= 0 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+                throw new IllegalArgumentException("Limite de connexion invalide: " + capacity + " / " + refillPeriod);
+            }
+        }
+
+        TokenBucket newBucket(long nowNanos) {
+            return new TokenBucket(capacity, refillPeriod.toNanos(), nowNanos);
+        }
+
+        /**
+         * Durée au bout de laquelle un seau vide est de nouveau plein
+         */
+        Duration refillDuration() {
+            return refillPeriod.multipliedBy(capacity);
+        }
+    }
+}
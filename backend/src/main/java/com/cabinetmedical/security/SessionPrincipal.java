@@ -0,0 +1,19 @@
+package com.cabinetmedical.security;
+
+import java.time.Instant;
+
+/**
+ * Identité portée par un jeton de session vérifié
+ * Déposée par {@link SessionTokenFilter} dans les attributs de la requête
+ *
+ * @param patientId Identifiant du patient authentifié
+ * @param role Rôle de l'utilisateur
+ * @param expiresAt Date d'expiration du jeton
+ */
+public record SessionPrincipal(Long patientId, String role, Instant expiresAt) {
+
+    /**
+     * Nom de l'attribut de requête (utilisable avec {@code @RequestAttribute})
+     */
+    public static final String REQUEST_ATTRIBUTE = "cabinet.sessionPrincipal";
+}
@@ -0,0 +1,73 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Filtre des endpoints réservés aux utilisateurs authentifiés (patients, personnel du cabinet)
+ * Vérifie le jeton "Authorization: Bearer ..." en mémoire et dépose le {@link SessionPrincipal}
+ * dans la requête ; répond 401 si le jeton est absent, invalide ou expiré.
+ * Les URL filtrées sont déclarées dans {@link com.cabinetmedical.config.SecurityConfig}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionTokenService sessionTokenService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Les requêtes preflight CORS ne portent jamais le jeton
+        return CorsUtils.isPreFlightRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        Optional<SessionPrincipal> principal = header != null && header.startsWith(BEARER_PREFIX)
+                ? sessionTokenService.verify(header.substring(BEARER_PREFIX.length()).trim())
+                : Optional.empty();
+
+        if (principal.isEmpty()) {
+            log.debug("Jeton de session absent ou invalide pour {}", request.getRequestURI());
+            reject(request, response);
+            return;
+        }
+
+        request.setAttribute(SessionPrincipal.REQUEST_ATTRIBUTE, principal.get());
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.UNAUTHORIZED.value(),
+                "Unauthorized",
+                "Jeton de session absent, invalide ou expiré",
+                request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,149 @@
+package com.cabinetmedical.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Émission et vérification des jetons de session signés (HMAC-SHA256)
+ *
+ * Format : base64url("patientId:role:expiration") + "." + base64url(signature)
+ * La vérification est entièrement en mémoire (aucune lecture en base ni magasin de sessions) :
+ * tous les nœuds partageant le même secret acceptent les jetons des autres.
+ */
+@Component
+@Slf4j
+public class SessionTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * Mac n'est pas thread-safe : une instance initialisée par thread
+     */
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public SessionTokenService(@Value("${cabinet.security.token.secret:}") String secret,
+                               @Value("${cabinet.security.token.ttl:PT8H}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    SessionTokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(resolveSecret(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Émet un jeton pour un patient ou le personnel authentifié
+     *
+     * @param patientId Identifiant du patient (0 pour le compte du personnel)
+     * @param role Rôle de l'utilisateur
+     * @return Jeton signé et sa date d'expiration
+     */
+    public SessionToken issue(Long patientId, String role) {
+        if (patientId == null || role == null || role.isBlank() || role.contains(":")) {
+            throw new IllegalArgumentException("Identifiant ou rôle invalide pour le jeton de session");
+        }
+
+        Instant expiresAt = clock.instant().plus(ttl);
+        String payload = ENCODER.encodeToString(
+                (patientId + ":" + role + ":" + expiresAt.getEpochSecond()).getBytes(StandardCharsets.UTF_8));
+        return new SessionToken(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    /**
+     * Vérifie la signature et l'expiration d'un jeton
+     *
+     * @param token Jeton reçu du client
+     * @return L'identité portée par le jeton, ou vide si le jeton est invalide ou expiré
+     */
+    public Optional<SessionPrincipal> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        String payload = token.substring(0, dot);
+        try {
+            // Comparaison en temps constant avant tout décodage du contenu
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[2]));
+            if (!clock.instant().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new SessionPrincipal(Long.valueOf(parts[0]), parts[1], expiresAt));
+        } catch (IllegalArgumentException e) {
+            // Base64 ou nombre mal formé
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("Aucun secret de jeton configuré (cabinet.security.token.secret) : secret aléatoire généré, "
+                    + "les jetons ne seront valides que sur ce nœud et jusqu'à son redémarrage");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+
+        byte[] bytes = Base64.getDecoder().decode(secret.trim());
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException(
+                    "Le secret des jetons de session doit faire au moins " + MIN_SECRET_BYTES + " octets");
+        }
+        return bytes;
+    }
+
+    /**
+     * Jeton émis et sa date d'expiration
+     */
+    public record SessionToken(String value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.cabinetmedical.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou, réduit à un seul compteur atomique
+ *
+ * Implémenté sous forme de GCRA (« generic cell rate algorithm ») : au lieu de stocker le nombre
+ * de jetons et la date du dernier remplissage, on stocke l'instant théorique auquel le seau
+ * serait de nouveau plein. Une consommation avance cet instant d'un intervalle ; elle est refusée
+ * si le seau serait alors « plus que vide ». Une seule valeur suffit, mise à jour par CAS.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    /**
+     * Instant (horloge en nanosecondes) auquel le seau sera de nouveau plein
+     */
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity Nombre de jetons disponibles en rafale
+     * @param intervalNanos Durée de remplissage d'un jeton
+     * @param nowNanos Instant de création (le seau est plein)
+     */
+    TokenBucket(int capacity, long intervalNanos, long nowNanos) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consomme un jeton s'il en reste
+     *
+     * @param nowNanos Instant courant
+     * @return 0 si le jeton est accordé, sinon l'attente en nanosecondes avant le prochain jeton
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
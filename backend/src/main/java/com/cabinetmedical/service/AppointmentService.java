@@ -0,0 +1,43 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.AppointmentDTO;
+import com.cabinetmedical.dto.AppointmentRequestDTO;
+
+import java.util.List;
+
+/**
+ * Interface du service de réservation des rendez-vous
+ */
+public interface AppointmentService {
+
+    /**
+     * Réserve un rendez-vous pour un patient
+     *
+     * @param patientId ID du patient authentifié
+     * @param request Médecin, début, durée et motif
+     * @return Rendez-vous créé (statut CONFIRME)
+     * @throws IllegalArgumentException si la demande est invalide (début passé, durée hors bornes...)
+     * @throws com.cabinetmedical.exception.ResourceNotFoundException si le médecin n'existe pas
+     * @throws com.cabinetmedical.exception.ConflictException si la plage chevauche un rendez-vous du médecin
+     */
+    AppointmentDTO book(Long patientId, AppointmentRequestDTO request);
+
+    /**
+     * Récupère les rendez-vous à venir d'un patient, triés par début
+     *
+     * @param patientId ID du patient authentifié
+     * @return Rendez-vous non terminés, annulés compris
+     */
+    List<AppointmentDTO> getUpcomingAppointments(Long patientId);
+
+    /**
+     * Annule un rendez-vous du patient et libère le créneau
+     *
+     * @param patientId ID du patient authentifié
+     * @param appointmentId ID du rendez-vous
+     * @return Rendez-vous annulé
+     * @throws com.cabinetmedical.exception.ResourceNotFoundException si le rendez-vous n'appartient pas au patient
+     * @throws IllegalArgumentException si le rendez-vous a déjà commencé
+     */
+    AppointmentDTO cancel(Long patientId, Long appointmentId);
+}
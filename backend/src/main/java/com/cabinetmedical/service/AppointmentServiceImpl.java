@@ -0,0 +1,209 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.cache.AppointmentIndex;
+import com.cabinetmedical.dto.AppointmentDTO;
+import com.cabinetmedical.dto.AppointmentRequestDTO;
+import com.cabinetmedical.entity.Appointement;
+import com.cabinetmedical.exception.ConflictException;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.mapper.AppointmentMapper;
+import com.cabinetmedical.repository.AppointementRepository;
+import com.cabinetmedical.repository.DoctorRepository;
+import com.cabinetmedical.repository.PatientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implémentation du service de réservation des rendez-vous
+ *
+ * Le chevauchement est contrôlé en mémoire par {@link AppointmentIndex} avant toute écriture ;
+ * la contrainte d'exclusion PostgreSQL rejette les cas que l'index n'a pas vus (autre instance).
+ * Les transactions sont explicites : l'index n'est mis à jour qu'une fois l'issue connue.
+ *
+ * Les réservations d'un même médecin sont sérialisées par {@link AppointmentWriteLocks} ; celles
+ * de médecins différents s'exécutent en parallèle. Les changements de statut (annulation) ne
+ * prennent pas ce verrou : ils reposent sur le verrouillage optimiste du rendez-vous.
+ */
+@Service
+@Slf4j
+public class AppointmentServiceImpl implements AppointmentService {
+
+    static final int DEFAULT_DURATION_MINUTES = 60;
+    static final int MIN_DURATION_MINUTES = 5;
+
+    /**
+     * SQLSTATE PostgreSQL d'une violation de contrainte d'exclusion
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final AppointementRepository appointementRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final DoctorService doctorService;
+    private final AppointmentIndex appointmentIndex;
+    private final AppointmentMapper appointmentMapper;
+    private final AppointmentWriteLocks writeLocks;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AppointmentServiceImpl(AppointementRepository appointementRepository,
+                                  DoctorRepository doctorRepository,
+                                  PatientRepository patientRepository,
+                                  DoctorService doctorService,
+                                  AppointmentIndex appointmentIndex,
+                                  AppointmentMapper appointmentMapper,
+                                  AppointmentWriteLocks writeLocks,
+                                  PlatformTransactionManager transactionManager) {
+        this.appointementRepository = appointementRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.doctorService = doctorService;
+        this.appointmentIndex = appointmentIndex;
+        this.appointmentMapper = appointmentMapper;
+        this.writeLocks = writeLocks;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public AppointmentDTO book(Long patientId, AppointmentRequestDTO request) {
+        log.info("Demande de rendez-vous du patient {} avec le médecin {} à {}",
+                patientId, request.doctorId(), request.dateHeureDebut());
+
+        Duration duration = validateRequest(request);
+        LocalDateTime start = request.dateHeureDebut();
+        LocalDateTime end = start.plus(duration);
+        if (!start.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("La date de début du rendez-vous doit être dans le futur");
+        }
+
+        // Existence du médecin (servie par le cache des fiches) : 404 avant toute réservation
+        doctorService.getDoctorById(request.doctorId());
+
+        Appointement saved = writeLocks.withDoctorLock(request.doctorId(),
+                () -> reserveAndInsert(patientId, request, start, end));
+
+        log.info("Rendez-vous {} réservé: médecin {}, {} - {}", saved.getId(), request.doctorId(), start, end);
+        return appointmentMapper.toDTO(saved);
+    }
+
+    @Override
+    public List<AppointmentDTO> getUpcomingAppointments(Long patientId) {
+        log.debug("Récupération des rendez-vous à venir du patient {}", patientId);
+
+        return readOnlyTransaction.execute(status ->
+                appointementRepository.findUpcomingByPatientId(patientId, LocalDateTime.now()).stream()
+                        .map(appointmentMapper::toDTO)
+                        .toList());
+    }
+
+    @Override
+    public AppointmentDTO cancel(Long patientId, Long appointmentId) {
+        log.info("Annulation du rendez-vous {} par le patient {}", appointmentId, patientId);
+
+        Appointement cancelled;
+        try {
+            cancelled = transaction.execute(status -> {
+                Appointement appointement = appointementRepository.findByIdAndPatientId(appointmentId, patientId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Rendez-vous", "id", appointmentId));
+                if (appointement.getStatut() == Appointement.StatutRendezVous.ANNULE) {
+                    return appointement;
+                }
+                if (!appointement.getDateHeureDebut().isAfter(LocalDateTime.now())) {
+                    throw new IllegalArgumentException("Un rendez-vous commencé ou passé ne peut pas être annulé");
+                }
+                appointement.setStatut(Appointement.StatutRendezVous.ANNULE);
+                return appointement;
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Statut modifié par une autre requête entre la lecture et le commit
+            log.warn("Modification concurrente du rendez-vous {} pendant son annulation", appointmentId);
+            throw new ConflictException("Le rendez-vous a été modifié entre-temps, veuillez réessayer");
+        }
+
+        // Après commit : le créneau redevient réservable
+        appointmentIndex.remove(cancelled.getDoctor().getId(), cancelled.getDateHeureDebut(), cancelled.getId());
+        return appointmentMapper.toDTO(cancelled);
+    }
+
+    /**
+     * Contrôle, insertion et mise à jour de l'index, sous le verrou du médecin
+     */
+    private Appointement reserveAndInsert(Long patientId, AppointmentRequestDTO request,
+                                          LocalDateTime start, LocalDateTime end) {
+        if (!appointmentIndex.tryReserve(request.doctorId(), start, end)) {
+            throw overlapConflict(start, end);
+        }
+
+        Appointement saved;
+        try {
+            saved = transaction.execute(status -> {
+                Appointement appointement = new Appointement();
+                appointement.setDoctor(doctorRepository.getReferenceById(request.doctorId()));
+                appointement.setPatient(patientRepository.getReferenceById(patientId));
+                appointement.setDateHeureDebut(start);
+                appointement.setDateHeureFin(end);
+                appointement.setStatut(Appointement.StatutRendezVous.CONFIRME);
+                appointement.setMotif(request.motif());
+                return appointementRepository.saveAndFlush(appointement);
+            });
+        } catch (DataIntegrityViolationException e) {
+            appointmentIndex.release(request.doctorId(), start);
+            if (isExclusionViolation(e)) {
+                // Rendez-vous enregistré par une autre instance, absent de l'index local
+                log.warn("Chevauchement détecté par la contrainte d'exclusion pour le médecin {} à {}",
+                        request.doctorId(), start);
+                throw overlapConflict(start, end);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            appointmentIndex.release(request.doctorId(), start);
+            throw e;
+        }
+
+        appointmentIndex.confirm(request.doctorId(), start, saved.getId());
+        return saved;
+    }
+
+    /**
+     * Valide la demande et retourne la durée du rendez-vous
+     */
+    private static Duration validateRequest(AppointmentRequestDTO request) {
+        if (request.doctorId() == null || request.dateHeureDebut() == null) {
+            throw new IllegalArgumentException("Le médecin et la date de début du rendez-vous sont obligatoires");
+        }
+
+        int minutes = request.dureeMinutes() != null ? request.dureeMinutes() : DEFAULT_DURATION_MINUTES;
+        long maxMinutes = AppointmentIndex.MAX_DURATION.toMinutes();
+        if (minutes < MIN_DURATION_MINUTES || minutes > maxMinutes) {
+            throw new IllegalArgumentException(String.format(
+                    "La durée du rendez-vous doit être comprise entre %d et %d minutes",
+                    MIN_DURATION_MINUTES, maxMinutes));
+        }
+        return Duration.ofMinutes(minutes);
+    }
+
+    private static ConflictException overlapConflict(LocalDateTime start, LocalDateTime end) {
+        return new ConflictException(String.format(
+                "Le créneau %s - %s chevauche un rendez-vous existant du médecin", start, end));
+    }
+
+    private static boolean isExclusionViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Verrous d'écriture des rendez-vous, répartis par médecin sur une table de verrous (striping)
+ *
+ * Les réservations d'un même médecin s'exécutent l'une après l'autre (contrôle, insertion,
+ * mise à jour de l'index) ; celles de médecins différents tombent sur des verrous différents
+ * et avancent en parallèle. La table a une taille fixe : pas de verrou créé par médecin, pas de
+ * nettoyage. Les IDs étant séquentiels, deux médecins ne partagent un verrou que s'ils sont
+ * distants d'un multiple du nombre de verrous.
+ * Métriques : appointments.lock.wait, appointments.lock.timeouts
+ */
+@Component
+@Slf4j
+public class AppointmentWriteLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    @Autowired
+    public AppointmentWriteLocks(@Value("${cabinet.appointments.lock-stripes:256}") int stripes,
+                                 @Value("${cabinet.appointments.lock-timeout:PT2S}") Duration timeout,
+                                 MeterRegistry meterRegistry) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.timeoutNanos = timeout.toNanos();
+        log.info("Verrous d'écriture des rendez-vous: {} verrous, attente maximale {}", size, timeout);
+
+        this.waitTimer = Timer.builder("appointments.lock.wait")
+                .description("Attente du verrou d'écriture de l'agenda d'un médecin")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("appointments.lock.timeouts")
+                .description("Écritures abandonnées faute d'obtenir le verrou à temps")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exécute une écriture sous le verrou du médecin
+     *
+     * @param doctorId ID du médecin
+     * @param action Écriture à exécuter
+     * @return Résultat de l'écriture
+     * @throws TooManyRequestsException si le verrou n'est pas obtenu dans le délai configuré
+     */
+    public <T> T withDoctorLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeIndex(doctorId)];
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            timeouts.increment();
+            log.warn("Verrou de l'agenda du médecin {} non obtenu ({} écritures en attente)",
+                    doctorId, lock.getQueueLength());
+            throw new TooManyRequestsException("Agenda du médecin très sollicité, veuillez réessayer",
+                    Duration.ofSeconds(1));
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int stripeIndex(Long doctorId) {
+        return Long.hashCode(doctorId) & mask;
+    }
+
+    int size() {
+        return stripes.length;
+    }
+}
@@ -4,48 +4,91 @@ import com.cabinetmedical.dto.LoginRequestDTO;
 import com.cabinetmedical.dto.LoginResponseDTO;
 import com.cabinetmedical.entity.Patient;
 import com.cabinetmedical.repository.PatientRepository;
+import com.cabinetmedical.security.CredentialVerifier;
+import com.cabinetmedical.security.KnownPatientEmails;
+import com.cabinetmedical.security.SessionTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service pour l'authentification des patients
+ * Pas de transaction englobante : un email inconnu est rejeté sans emprunter de connexion,
+ * la recherche du patient s'exécute dans la transaction en lecture seule du repository.
+ * La comparaison de l'empreinte BCrypt est confiée au pool dédié de {@link CredentialVerifier} ;
+ * les rejets sans empreinte (email inconnu) passent aussi par une comparaison, factice.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class AuthService {
 
+    static final String PATIENT_ROLE = "PATIENT";
+
     private final PatientRepository patientRepository;
+    private final SessionTokenService sessionTokenService;
+    private final KnownPatientEmails knownPatientEmails;
+    private final CredentialVerifier credentialVerifier;
 
     /**
      * Authentifie un patient avec son email et son téléphone
      * @param loginRequest requête d'authentification
-     * @return les informations du patient authentifié
-     * @throws RuntimeException si l'authentification échoue
+     * @return les informations du patient authentifié et son jeton de session, une fois l'empreinte vérifiée
+     * @throws RuntimeException si l'authentification échoue (levée directement ou portée par le future)
      */
-    public LoginResponseDTO login(LoginRequestDTO loginRequest) {
+    public CompletableFuture<LoginResponseDTO> login(LoginRequestDTO loginRequest) {
         log.info("Tentative d'authentification pour l'email: {}", loginRequest.email());
 
-        Patient patient = patientRepository.findByEmailAndTelephone(
-                loginRequest.email(),
-                loginRequest.telephone()
-        ).orElseThrow(() -> {
+        // Filtre de Bloom : un email qu'aucun patient ne possède ne coûte aucune requête
+        if (!knownPatientEmails.mightBeKnown(loginRequest.email())) {
+            log.warn("Échec de l'authentification pour l'email inconnu: {}", loginRequest.email());
+            return rejectAfterDummyCheck(loginRequest);
+        }
+
+        Patient patient = patientRepository.findByEmail(loginRequest.email()).orElse(null);
+        if (patient == null) {
             log.warn("Échec de l'authentification pour l'email: {}", loginRequest.email());
-            return new RuntimeException("Email ou mot de passe incorrect");
-        });
-
-        log.info("Authentification réussie pour le patient: {} {}", patient.getPrenom(), patient.getNom());
-
-        return new LoginResponseDTO(
-                patient.getId(),
-                patient.getNom(),
-                patient.getPrenom(),
-                patient.getEmail(),
-                "PATIENT"
-        );
+            return rejectAfterDummyCheck(loginRequest);
+        }
+
+        return credentialVerifier.verify(loginRequest.telephone(), patient.getTelephoneHash())
+                .thenApply(valid -> {
+                    if (!valid) {
+                        log.warn("Échec de l'authentification pour l'email: {}", loginRequest.email());
+                        throw authenticationFailure();
+                    }
+
+                    log.info("Authentification réussie pour le patient: {} {}", patient.getPrenom(), patient.getNom());
+
+                    SessionTokenService.SessionToken token =
+                            sessionTokenService.issue(patient.getId(), PATIENT_ROLE);
+
+                    return new LoginResponseDTO(
+                            patient.getId(),
+                            patient.getNom(),
+                            patient.getPrenom(),
+                            patient.getEmail(),
+                            PATIENT_ROLE,
+                            token.value(),
+                            token.expiresAt()
+                    );
+                });
     }
-}
 
+    /**
+     * Rejette la tentative après une vérification factice de même coût qu'une vraie :
+     * un email inconnu ne répond pas plus vite qu'un téléphone erroné
+     */
+    private CompletableFuture<LoginResponseDTO> rejectAfterDummyCheck(LoginRequestDTO loginRequest) {
+        return credentialVerifier.verify(loginRequest.telephone(), null)
+                .thenApply(valid -> {
+                    throw authenticationFailure();
+                });
+    }
+
+    private static RuntimeException authenticationFailure() {
+        return new RuntimeException("Email ou mot de passe incorrect");
+    }
+}
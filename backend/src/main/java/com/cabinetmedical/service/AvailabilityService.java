@@ -0,0 +1,24 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.AvailabilityDTO;
+
+import java.util.List;
+
+/**
+ * Interface du service de gestion des disponibilités hebdomadaires des médecins
+ */
+public interface AvailabilityService {
+
+    /**
+     * Remplace la semaine type d'un médecin par les plages fournies
+     * Seules les différences sont écrites : ajouts, modifications (heure de fin, note, réactivation)
+     * et désactivation des plages absentes ; une seule notification est émise pour le médecin
+     *
+     * @param doctorId ID du médecin
+     * @param plages Semaine type complète souhaitée (liste vide : plus aucune disponibilité)
+     * @return Plages actives après écriture, triées par jour puis heure de début
+     * @throws IllegalArgumentException si une plage est invalide ou chevauche une autre plage du même jour
+     * @throws com.cabinetmedical.exception.ResourceNotFoundException si le médecin n'existe pas
+     */
+    List<AvailabilityDTO> replaceWeeklySchedule(Long doctorId, List<AvailabilityDTO> plages);
+}
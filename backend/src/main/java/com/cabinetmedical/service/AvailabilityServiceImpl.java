@@ -0,0 +1,166 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.AvailabilityDTO;
+import com.cabinetmedical.entity.DaysOfTheWeek;
+import com.cabinetmedical.entity.DoctorsAvailability;
+import com.cabinetmedical.entity.HoursOfTheDay;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.mapper.AvailabilityMapper;
+import com.cabinetmedical.repository.DaysOfTheWeekRepository;
+import com.cabinetmedical.repository.DoctorRepository;
+import com.cabinetmedical.repository.DoctorsAvailabilityRepository;
+import com.cabinetmedical.repository.HoursOfTheDayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implémentation du service de gestion des disponibilités hebdomadaires
+ *
+ * La semaine souhaitée est comparée en mémoire aux plages existantes du médecin, indexées par
+ * leur clé unique (jour, heure de début) : les plages inchangées ne sont pas réécrites, une plage
+ * désactivée de même clé est réactivée plutôt que réinsérée. Toutes les écritures partagent une
+ * transaction, sous le verrou de la ligne du médecin ; le listener JPA n'émet qu'un
+ * {@link com.cabinetmedical.event.AvailabilityChangedEvent} pour l'ensemble.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    static final int MAX_NOTE_LENGTH = 500;
+
+    private static final Comparator<AvailabilityDTO> BY_DAY_AND_START =
+            Comparator.comparing(AvailabilityDTO::jour).thenComparing(AvailabilityDTO::heureDebut);
+
+    private final DoctorsAvailabilityRepository availabilityRepository;
+    private final DoctorRepository doctorRepository;
+    private final DaysOfTheWeekRepository daysRepository;
+    private final HoursOfTheDayRepository hoursRepository;
+    private final AvailabilityMapper availabilityMapper;
+
+    @Override
+    @Transactional
+    public List<AvailabilityDTO> replaceWeeklySchedule(Long doctorId, List<AvailabilityDTO> plages) {
+        log.info("Réécriture de la semaine type du médecin {} : {} plage(s)", doctorId, plages != null ? plages.size() : 0);
+
+        List<AvailabilityDTO> desired = validate(plages);
+        doctorRepository.lockById(doctorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Médecin", "id", doctorId));
+
+        Map<Integer, DaysOfTheWeek> days = daysRepository.findAllByOrderByNumeroJourAsc().stream()
+                .collect(Collectors.toMap(DaysOfTheWeek::getNumeroJour, Function.identity()));
+        Map<LocalTime, HoursOfTheDay> hours = hoursRepository.findAllByOrderByHeureAsc().stream()
+                .collect(Collectors.toMap(HoursOfTheDay::getHeure, Function.identity()));
+        Map<Key, DoctorsAvailability> current = availabilityRepository.findAllByDoctorId(doctorId).stream()
+                .collect(Collectors.toMap(Key::of, Function.identity()));
+
+        List<DoctorsAvailability> schedule = new ArrayList<>(desired.size());
+        List<DoctorsAvailability> inserts = new ArrayList<>();
+        int updates = 0;
+        for (AvailabilityDTO plage : desired) {
+            DaysOfTheWeek day = days.get(plage.jour());
+            HoursOfTheDay start = hourOf(hours, plage.heureDebut());
+            HoursOfTheDay end = hourOf(hours, plage.heureFin());
+
+            DoctorsAvailability availability = current.remove(new Key(day.getId(), start.getId()));
+            if (availability == null) {
+                availability = new DoctorsAvailability();
+                availability.setDoctor(doctorRepository.getReferenceById(doctorId));
+                availability.setJourSemaine(day);
+                availability.setHeureDebut(start);
+                availability.setHeureFin(end);
+                availability.setNote(plage.note());
+                inserts.add(availability);
+            } else if (!availability.getActif()
+                    || !availability.getHeureFin().getId().equals(end.getId())
+                    || !Objects.equals(availability.getNote(), plage.note())) {
+                // Entité gérée : écrite au flush, dans le même lot que les autres modifications
+                availability.setActif(true);
+                availability.setHeureFin(end);
+                availability.setNote(plage.note());
+                updates++;
+            }
+            schedule.add(availability);
+        }
+
+        // Plages restantes : absentes de la semaine souhaitée
+        int deactivations = 0;
+        for (DoctorsAvailability availability : current.values()) {
+            if (availability.getActif()) {
+                availability.setActif(false);
+                deactivations++;
+            }
+        }
+        availabilityRepository.saveAll(inserts);
+
+        log.info("Semaine type du médecin {} : {} ajout(s), {} modification(s), {} désactivation(s)",
+                doctorId, inserts.size(), updates, deactivations);
+        return schedule.stream().map(availabilityMapper::toDTO).toList();
+    }
+
+    /**
+     * Contrôle les plages et les retourne triées par jour puis heure de début
+     */
+    private static List<AvailabilityDTO> validate(List<AvailabilityDTO> plages) {
+        if (plages == null) {
+            throw new IllegalArgumentException("La semaine type est obligatoire (liste vide pour aucune disponibilité)");
+        }
+        for (AvailabilityDTO plage : plages) {
+            if (plage == null || plage.jour() == null || plage.heureDebut() == null || plage.heureFin() == null) {
+                throw new IllegalArgumentException("Le jour, l'heure de début et l'heure de fin de chaque plage sont obligatoires");
+            }
+            if (plage.jour() < 1 || plage.jour() > 7) {
+                throw new IllegalArgumentException("Le jour doit être compris entre 1 (lundi) et 7 (dimanche)");
+            }
+            if (!plage.heureDebut().isBefore(plage.heureFin())) {
+                throw new IllegalArgumentException(String.format(
+                        "L'heure de début doit précéder l'heure de fin (%s - %s)", plage.heureDebut(), plage.heureFin()));
+            }
+            if (plage.note() != null && plage.note().length() > MAX_NOTE_LENGTH) {
+                throw new IllegalArgumentException(String.format(
+                        "La note ne doit pas dépasser %d caractères", MAX_NOTE_LENGTH));
+            }
+        }
+
+        List<AvailabilityDTO> sorted = plages.stream().sorted(BY_DAY_AND_START).toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            AvailabilityDTO previous = sorted.get(i - 1);
+            AvailabilityDTO plage = sorted.get(i);
+            if (previous.jour().equals(plage.jour()) && plage.heureDebut().isBefore(previous.heureFin())) {
+                throw new IllegalArgumentException(String.format(
+                        "Les plages %s - %s et %s - %s du jour %d se chevauchent",
+                        previous.heureDebut(), previous.heureFin(), plage.heureDebut(), plage.heureFin(), plage.jour()));
+            }
+        }
+        return sorted;
+    }
+
+    private static HoursOfTheDay hourOf(Map<LocalTime, HoursOfTheDay> hours, LocalTime heure) {
+        HoursOfTheDay hour = hours.get(heure);
+        if (hour == null) {
+            throw new IllegalArgumentException(String.format("L'heure %s n'est pas une heure de la grille horaire", heure));
+        }
+        return hour;
+    }
+
+    /**
+     * Clé unique d'une plage pour un médecin (contrainte uk_medecin_jour_heure)
+     */
+    private record Key(Long dayId, Long startId) {
+
+        static Key of(DoctorsAvailability availability) {
+            return new Key(availability.getJourSemaine().getId(), availability.getHeureDebut().getId());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.cache.DoctorByIdCache;
+import com.cabinetmedical.cache.DoctorPageCache;
+import com.cabinetmedical.cache.DoctorPageKey;
+import com.cabinetmedical.dto.CursorPageResponse;
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.dto.PageResponse;
+import com.cabinetmedical.dto.SliceResponse;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.repository.DoctorSortField;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service des médecins servant les pages depuis le cache {@link DoctorPageCache}
+ * et les fiches par ID depuis le cache {@link DoctorByIdCache}
+ * Placé devant {@link DoctorServiceImpl} : une donnée en cache est renvoyée
+ * sans ouvrir de transaction ni emprunter de connexion au pool
+ *
+ * Les recherches, les tranches, les pages par curseur et les exports ne sont pas mis en cache.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+public class CachingDoctorService implements DoctorService {
+
+    private final DoctorServiceImpl delegate;
+    private final DoctorPageCache doctorPageCache;
+    private final DoctorByIdCache doctorByIdCache;
+
+    @Override
+    public DoctorDTO getDoctorById(Long id) {
+        List<DoctorDTO> doctors = doctorByIdCache.getAll(List.of(id), this::loadByIds);
+        if (doctors.isEmpty()) {
+            throw new ResourceNotFoundException("Médecin", "id", id);
+        }
+        return doctors.get(0);
+    }
+
+    @Override
+    public List<DoctorDTO> getDoctorsByIds(Collection<Long> ids) {
+        return doctorByIdCache.getAll(ids, this::loadByIds);
+    }
+
+    @Override
+    public PageResponse<DoctorDTO> getAllDoctors(Pageable pageable) {
+        return doctorPageCache.get(DoctorPageKey.of(null, pageable),
+                () -> delegate.getAllDoctors(pageable));
+    }
+
+    @Override
+    public PageResponse<DoctorDTO> getDoctorsBySpeciality(Long specialityId, Pageable pageable) {
+        return doctorPageCache.get(DoctorPageKey.of(specialityId, pageable),
+                () -> delegate.getDoctorsBySpeciality(specialityId, pageable));
+    }
+
+    @Override
+    public PageResponse<DoctorDTO> searchDoctors(String search, Long specialityId, Pageable pageable) {
+        return delegate.searchDoctors(search, specialityId, pageable);
+    }
+
+    @Override
+    public SliceResponse<DoctorDTO> getDoctorsSlice(Long specialityId, Pageable pageable) {
+        return delegate.getDoctorsSlice(specialityId, pageable);
+    }
+
+    @Override
+    public CursorPageResponse<DoctorDTO> getDoctorsAfter(Long specialityId,
+                                                         DoctorSortField sortField,
+                                                         Sort.Direction direction,
+                                                         String after,
+                                                         int size) {
+        return delegate.getDoctorsAfter(specialityId, sortField, direction, after, size);
+    }
+
+    @Override
+    public long exportDoctors(Long specialityId, DoctorExportFormat format, OutputStream output) throws IOException {
+        return delegate.exportDoctors(specialityId, format, output);
+    }
+
+    /**
+     * Charge en une requête les médecins absents du cache, indexés par ID
+     */
+    private Map<Long, DoctorDTO> loadByIds(Set<Long> ids) {
+        return delegate.getDoctorsByIds(ids).stream()
+                .collect(Collectors.toMap(DoctorDTO::id, Function.identity()));
+    }
+}
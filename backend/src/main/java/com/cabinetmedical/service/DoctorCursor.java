@@ -0,0 +1,83 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.repository.DoctorSortField;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de la pagination keyset des médecins
+ * Encode la clé de tri, la direction, la valeur de tri et l'ID de la dernière ligne retournée
+ *
+ * Format binaire (version 1) encodé en Base64 URL sans padding :
+ * version, clé de tri, direction, présence de la valeur, valeur, ID
+ */
+public record DoctorCursor(
+        DoctorSortField sortField,
+        Sort.Direction direction,
+        String lastValue,
+        Long lastId
+) {
+    private static final byte VERSION = 1;
+
+    /**
+     * Encode le curseur en jeton opaque
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(sortField.ordinal());
+            out.writeBoolean(direction.isAscending());
+            out.writeBoolean(lastValue != null);
+            if (lastValue != null) {
+                out.writeUTF(lastValue);
+            }
+            out.writeLong(lastId);
+        } catch (IOException e) {
+            throw new IllegalStateException("Impossible d'encoder le curseur", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Décode un jeton opaque produit par {@link #encode()}
+     *
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    public static DoctorCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Curseur invalide");
+            }
+            int ordinal = in.readUnsignedByte();
+            DoctorSortField[] fields = DoctorSortField.values();
+            if (ordinal >= fields.length) {
+                throw new IllegalArgumentException("Curseur invalide");
+            }
+            Sort.Direction direction = in.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            String lastValue = in.readBoolean() ? in.readUTF() : null;
+            long lastId = in.readLong();
+            return new DoctorCursor(fields[ordinal], direction, lastValue, lastId);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+
+    /**
+     * Vérifie que le curseur a été produit pour le même tri que la requête courante
+     *
+     * @throws IllegalArgumentException si le tri diffère
+     */
+    public void checkMatches(DoctorSortField expectedField, Sort.Direction expectedDirection) {
+        if (sortField != expectedField || direction != expectedDirection) {
+            throw new IllegalArgumentException("Le curseur ne correspond pas au tri demandé");
+        }
+    }
+}
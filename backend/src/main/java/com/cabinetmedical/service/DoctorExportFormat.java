@@ -0,0 +1,45 @@
+package com.cabinetmedical.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formats disponibles pour l'export de l'annuaire des médecins
+ */
+public enum DoctorExportFormat {
+
+    /**
+     * Un objet JSON (DoctorDTO) par ligne
+     */
+    NDJSON("ndjson", "application/x-ndjson"),
+
+    /**
+     * CSV RFC 4180 avec ligne d'en-tête, encodé en UTF-8
+     */
+    CSV("csv", "text/csv;charset=UTF-8");
+
+    private final String extension;
+    private final String contentType;
+
+    DoctorExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Recherche le format correspondant au paramètre de requête (insensible à la casse)
+     */
+    public static Optional<DoctorExportFormat> fromParam(String format) {
+        return Arrays.stream(values())
+                .filter(value -> value.extension.equalsIgnoreCase(format))
+                .findFirst();
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
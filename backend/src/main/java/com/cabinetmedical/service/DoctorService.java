@@ -1,8 +1,17 @@
 package com.cabinetmedical.service;
 
+import com.cabinetmedical.dto.CursorPageResponse;
 import com.cabinetmedical.dto.DoctorDTO;
 import com.cabinetmedical.dto.PageResponse;
+import com.cabinetmedical.dto.SliceResponse;
+import com.cabinetmedical.repository.DoctorSortField;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Interface du service de gestion des médecins
@@ -10,6 +19,23 @@ import org.springframework.data.domain.Pageable;
  */
 public interface DoctorService {
 
+    /**
+     * Récupère un médecin par son ID
+     *
+     * @param id ID du médecin
+     * @return Médecin avec sa spécialité
+     * @throws com.cabinetmedical.exception.ResourceNotFoundException si le médecin n'existe pas
+     */
+    DoctorDTO getDoctorById(Long id);
+
+    /**
+     * Récupère plusieurs médecins par leurs IDs en une seule requête
+     *
+     * @param ids IDs des médecins (les doublons et les IDs inconnus sont ignorés)
+     * @return Médecins trouvés, dans l'ordre des IDs demandés
+     */
+    List<DoctorDTO> getDoctorsByIds(Collection<Long> ids);
+
     /**
      * Récupère tous les médecins avec pagination et tri
      *
@@ -27,5 +53,50 @@ public interface DoctorService {
      */
     PageResponse<DoctorDTO> getDoctorsBySpeciality(Long specialityId, Pageable pageable);
 
-}
+    /**
+     * Recherche des médecins par nom, prénom, numéro d'ordre ou nom de spécialité
+     * Insensible à la casse et aux accents
+     *
+     * @param search Saisie de l'utilisateur (au moins un terme de 3 caractères)
+     * @param specialityId ID de la spécialité à filtrer (null pour tous les médecins)
+     * @param pageable Configuration de pagination et tri
+     * @return Page de médecins correspondant à la recherche
+     */
+    PageResponse<DoctorDTO> searchDoctors(String search, Long specialityId, Pageable pageable);
 
+    /**
+     * Récupère une tranche de médecins sans calculer le total (aucune requête COUNT)
+     *
+     * @param specialityId ID de la spécialité à filtrer (null pour tous les médecins)
+     * @param pageable Configuration de pagination et tri
+     * @return Tranche de médecins indiquant seulement s'il s'agit de la dernière page
+     */
+    SliceResponse<DoctorDTO> getDoctorsSlice(Long specialityId, Pageable pageable);
+
+    /**
+     * Récupère une page de médecins par pagination par curseur (keyset)
+     *
+     * @param specialityId ID de la spécialité à filtrer (null pour tous les médecins)
+     * @param sortField Clé de tri
+     * @param direction Direction du tri
+     * @param after Curseur opaque de la page précédente (null pour la première page)
+     * @param size Nombre d'éléments par page
+     * @return Page de médecins avec le curseur de la page suivante
+     */
+    CursorPageResponse<DoctorDTO> getDoctorsAfter(Long specialityId,
+                                                  DoctorSortField sortField,
+                                                  Sort.Direction direction,
+                                                  String after,
+                                                  int size);
+
+    /**
+     * Exporte l'annuaire des médecins en flux continu, à mémoire constante
+     *
+     * @param specialityId ID de la spécialité à filtrer (null pour tous les médecins)
+     * @param format Format d'export (NDJSON ou CSV)
+     * @param output Flux de sortie (non fermé par cette méthode)
+     * @return Nombre de médecins exportés
+     * @throws IOException en cas d'erreur d'écriture (client déconnecté)
+     */
+    long exportDoctors(Long specialityId, DoctorExportFormat format, OutputStream output) throws IOException;
+}
@@ -1,20 +1,55 @@
 package com.cabinetmedical.service;
 
+import com.cabinetmedical.cache.DoctorCountCache;
+import com.cabinetmedical.dto.CursorPageResponse;
 import com.cabinetmedical.dto.DoctorDTO;
 import com.cabinetmedical.dto.PageResponse;
-import com.cabinetmedical.entity.Doctor;
-import com.cabinetmedical.mapper.DoctorMapper;
+import com.cabinetmedical.dto.SliceResponse;
+import com.cabinetmedical.dto.SpecialityDTO;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.mapper.DoctorRowMapper;
 import com.cabinetmedical.repository.DoctorRepository;
+import com.cabinetmedical.repository.DoctorRow;
+import com.cabinetmedical.repository.DoctorSearch;
+import com.cabinetmedical.repository.DoctorSortField;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * Implémentation simplifiée du service de gestion des médecins
  * Récupération paginée avec tri uniquement
+ *
+ * Les lectures de liste passent par des projections DoctorRow construites dans la requête :
+ * pas d'entités managées ni de mapping MapStruct, une seule SpecialityDTO par spécialité et par page
  */
 @Service
 @Transactional(readOnly = true)
@@ -23,20 +58,59 @@ import org.springframework.transaction.annotation.Transactional;
 public class DoctorServiceImpl implements DoctorService {
 
     private final DoctorRepository doctorRepository;
-    private final DoctorMapper doctorMapper;
+    private final DoctorRowMapper doctorRowMapper;
+    private final DoctorCountCache doctorCountCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Récupère un médecin par son ID
+     */
+    @Override
+    public DoctorDTO getDoctorById(Long id) {
+        log.debug("Récupération du médecin ID: {}", id);
+
+        List<DoctorDTO> doctors = getDoctorsByIds(List.of(id));
+        if (doctors.isEmpty()) {
+            throw new ResourceNotFoundException("Médecin", "id", id);
+        }
+        return doctors.get(0);
+    }
+
+    /**
+     * Récupère plusieurs médecins en une seule requête IN (spécialité jointe)
+     */
+    @Override
+    public List<DoctorDTO> getDoctorsByIds(Collection<Long> ids) {
+        log.debug("Récupération groupée de {} médecins", ids.size());
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, DoctorDTO> doctorsById = doctorRowMapper.toDTOs(doctorRepository.findRowsByIdIn(ids)).stream()
+                .collect(Collectors.toMap(DoctorDTO::id, Function.identity()));
+
+        // Restitue l'ordre demandé, sans doublons ni IDs inconnus
+        return ids.stream()
+                .distinct()
+                .map(doctorsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
     /**
      * Récupère tous les médecins avec pagination et tri
+     * Le total provient du cache de comptage : la requête COUNT n'est exécutée qu'en cas d'absence
      */
     @Override
     public PageResponse<DoctorDTO> getAllDoctors(Pageable pageable) {
         log.debug("Récupération de tous les médecins - page: {}", pageable.getPageNumber());
 
-        // Récupération avec FETCH JOIN pour optimiser (éviter N+1)
-        Page<Doctor> doctorPage = doctorRepository.findAllWithSpecialite(pageable);
+        // Projection directe avec jointure sur la spécialité, sans requête COUNT
+        Slice<DoctorRow> rowSlice = doctorRepository.sliceAllRows(pageable);
+        long total = doctorCountCache.getTotal(null, doctorRepository::count);
 
-        // Conversion avec MapStruct
-        Page<DoctorDTO> dtoPage = doctorPage.map(doctorMapper::toDTO);
+        Page<DoctorDTO> dtoPage = toPage(rowSlice, total);
 
         log.info("Trouvé {} médecins (page {}/{})",
                  dtoPage.getTotalElements(),
@@ -48,16 +122,17 @@ public class DoctorServiceImpl implements DoctorService {
 
     /**
      * Récupère les médecins filtrés par spécialité avec pagination et tri
+     * Le total provient du cache de comptage : la requête COUNT n'est exécutée qu'en cas d'absence
      */
     @Override
     public PageResponse<DoctorDTO> getDoctorsBySpeciality(Long specialityId, Pageable pageable) {
         log.debug("Récupération des médecins par spécialité ID: {} - page: {}", specialityId, pageable.getPageNumber());
 
-        // Récupération avec FETCH JOIN et filtre sur l'ID de la spécialité
-        Page<Doctor> doctorPage = doctorRepository.findBySpecialityId(specialityId, pageable);
+        // Projection directe filtrée sur l'ID de la spécialité, sans requête COUNT
+        Slice<DoctorRow> rowSlice = doctorRepository.sliceRowsBySpecialityId(specialityId, pageable);
+        long total = doctorCountCache.getTotal(specialityId, () -> doctorRepository.countBySpecialityId(specialityId));
 
-        // Conversion avec MapStruct
-        Page<DoctorDTO> dtoPage = doctorPage.map(doctorMapper::toDTO);
+        Page<DoctorDTO> dtoPage = toPage(rowSlice, total);
 
         log.info("Trouvé {} médecins avec la spécialité ID '{}' (page {}/{})",
                  dtoPage.getTotalElements(),
@@ -67,5 +142,171 @@ public class DoctorServiceImpl implements DoctorService {
 
         return PageResponse.of(dtoPage);
     }
-}
 
+    /**
+     * Recherche des médecins via l'index trigrammes
+     * La requête COUNT n'est exécutée que si le total ne se déduit pas de la page lue
+     */
+    @Override
+    public PageResponse<DoctorDTO> searchDoctors(String search, Long specialityId, Pageable pageable) {
+        log.debug("Recherche de médecins '{}' - spécialité: {}, page: {}", search, specialityId, pageable.getPageNumber());
+
+        DoctorSearch doctorSearch = DoctorSearch.parse(search);
+        Slice<DoctorRow> rowSlice = doctorRepository.searchRows(doctorSearch, specialityId, pageable);
+
+        List<DoctorDTO> content = doctorRowMapper.toDTOs(rowSlice.getContent());
+        Page<DoctorDTO> dtoPage = PageableExecutionUtils.getPage(content, pageable,
+                () -> doctorRepository.countSearch(doctorSearch, specialityId));
+
+        log.info("Trouvé {} médecins pour la recherche '{}' (page {}/{})",
+                 dtoPage.getTotalElements(),
+                 search,
+                 dtoPage.getNumber() + 1,
+                 dtoPage.getTotalPages());
+
+        return PageResponse.of(dtoPage);
+    }
+
+    /**
+     * Récupère une tranche de médecins sans total ni requête COUNT
+     */
+    @Override
+    public SliceResponse<DoctorDTO> getDoctorsSlice(Long specialityId, Pageable pageable) {
+        log.debug("Récupération d'une tranche de médecins - spécialité: {}, page: {}", specialityId, pageable.getPageNumber());
+
+        Slice<DoctorRow> rowSlice = specialityId != null
+                ? doctorRepository.sliceRowsBySpecialityId(specialityId, pageable)
+                : doctorRepository.sliceAllRows(pageable);
+
+        List<DoctorDTO> content = doctorRowMapper.toDTOs(rowSlice.getContent());
+        return SliceResponse.of(new SliceImpl<>(content, rowSlice.getPageable(), rowSlice.hasNext()));
+    }
+
+    /**
+     * Récupère une page de médecins par pagination par curseur (keyset)
+     * Lit size + 1 lignes pour savoir s'il existe une page suivante, sans requête COUNT
+     */
+    @Override
+    public CursorPageResponse<DoctorDTO> getDoctorsAfter(Long specialityId,
+                                                         DoctorSortField sortField,
+                                                         Sort.Direction direction,
+                                                         String after,
+                                                         int size) {
+        log.debug("Récupération des médecins par curseur - spécialité: {}, tri: {} {}, after: {}",
+                  specialityId, sortField, direction, after);
+
+        String lastValue = null;
+        Long lastId = null;
+        if (after != null && !after.isBlank()) {
+            DoctorCursor cursor = DoctorCursor.decode(after);
+            cursor.checkMatches(sortField, direction);
+            lastValue = cursor.lastValue();
+            lastId = cursor.lastId();
+        }
+
+        List<DoctorRow> rows = doctorRepository.findNextPage(
+                specialityId, sortField, direction, lastValue, lastId, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<DoctorRow> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            DoctorRow last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new DoctorCursor(sortField, direction, sortField.valueOf(last), last.id()).encode();
+        }
+
+        List<DoctorDTO> content = doctorRowMapper.toDTOs(pageRows);
+
+        log.info("Trouvé {} médecins par curseur (page suivante: {})", content.size(), hasNext);
+
+        return CursorPageResponse.of(content, size, nextCursor);
+    }
+
+    /**
+     * Exporte l'annuaire en flux continu depuis un curseur JDBC
+     * Chaque ligne est écrite puis oubliée : seules les spécialités (quelques dizaines) sont conservées
+     */
+    @Override
+    public long exportDoctors(Long specialityId, DoctorExportFormat format, OutputStream output) throws IOException {
+        log.info("Export des médecins - spécialité: {}, format: {}", specialityId, format);
+
+        try (Stream<DoctorRow> rows = specialityId != null
+                ? doctorRepository.streamRowsBySpecialityId(specialityId)
+                : doctorRepository.streamAllRows()) {
+            long count = switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), output);
+                case CSV -> writeCsv(rows.iterator(), output);
+            };
+
+            log.info("Export terminé: {} médecins", count);
+            return count;
+        }
+    }
+
+    /**
+     * Écrit un DoctorDTO JSON par ligne
+     */
+    private long writeNdjson(Iterator<DoctorRow> rows, OutputStream output) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(DoctorDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Map<Long, SpecialityDTO> specialities = new HashMap<>();
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, doctorRowMapper.toDTO(rows.next(), specialities));
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Écrit un CSV RFC 4180 (séparateur virgule, fins de ligne CRLF) avec ligne d'en-tête
+     */
+    private long writeCsv(Iterator<DoctorRow> rows, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("id,nom,prenom,email,telephone,numeroOrdre,specialiteId,specialite\r\n");
+        long count = 0;
+
+        while (rows.hasNext()) {
+            DoctorRow row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            for (Object value : new Object[]{row.nom(), row.prenom(), row.email(), row.telephone(),
+                    row.numeroOrdre(), row.specialityId(), row.specialityNom()}) {
+                writer.write(',');
+                writer.write(csvField(value));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Échappe un champ CSV : guillemets si nécessaire, guillemets internes doublés
+     */
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Construit une page à partir d'une tranche de projections et du total mis en cache
+     */
+    private Page<DoctorDTO> toPage(Slice<DoctorRow> rowSlice, long total) {
+        List<DoctorDTO> content = doctorRowMapper.toDTOs(rowSlice.getContent());
+        return new PageImpl<>(content, rowSlice.getPageable(), total);
+    }
+}
@@ -0,0 +1,102 @@
+package com.cabinetmedical.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Opérations sur les journées représentées en bitmap de créneaux
+ *
+ * Une journée est découpée en créneaux de {@link #SLOT_MINUTES} minutes ; le bit i d'un long
+ * vaut 1 si le créneau [i x 30 min, (i + 1) x 30 min) est libre. 48 créneaux tiennent dans un long :
+ * disponibilités, rendez-vous et recherche de plages consécutives se calculent par opérations bit à bit.
+ */
+public final class SlotBitmaps {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private SlotBitmaps() {
+    }
+
+    /**
+     * Bits des créneaux [fromSlot, toSlot)
+     */
+    public static long range(int fromSlot, int toSlot) {
+        int from = Math.max(0, fromSlot);
+        int to = Math.min(SLOTS_PER_DAY, toSlot);
+        if (from >= to) {
+            return 0L;
+        }
+        return (-1L >>> (Long.SIZE - (to - from))) << from;
+    }
+
+    /**
+     * Créneau contenant une heure (arrondi inférieur)
+     */
+    public static int slotFloor(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    /**
+     * Premier créneau commençant à ou après une heure (arrondi supérieur)
+     */
+    public static int slotCeil(LocalTime time) {
+        int minutes = time.getHour() * 60 + time.getMinute();
+        boolean exact = minutes % SLOT_MINUTES == 0 && time.getSecond() == 0 && time.getNano() == 0;
+        return minutes / SLOT_MINUTES + (exact ? 0 : 1);
+    }
+
+    /**
+     * Créneaux à partir desquels {@code length} créneaux consécutifs sont libres
+     *
+     * @param free Créneaux libres
+     * @param length Nombre de créneaux consécutifs demandés (au moins 1)
+     */
+    public static long runStarts(long free, int length) {
+        long starts = free;
+        for (int i = 1; i < length && starts != 0; i++) {
+            starts &= free >>> i;
+        }
+        return starts;
+    }
+
+    /**
+     * Efface des bitmaps journaliers les créneaux touchés par [start, end), éventuellement sur plusieurs jours
+     *
+     * @param free Un bitmap par jour à partir de {@code from}
+     * @param from Jour du premier bitmap
+     */
+    public static void clear(long[] free, LocalDate from, LocalDateTime start, LocalDateTime end) {
+        for (LocalDate date = start.toLocalDate(); !date.isAfter(end.toLocalDate()); date = date.plusDays(1)) {
+            long day = ChronoUnit.DAYS.between(from, date);
+            if (day < 0 || day >= free.length) {
+                continue;
+            }
+            int fromSlot = date.equals(start.toLocalDate()) ? slotFloor(start.toLocalTime()) : 0;
+            int toSlot = date.equals(end.toLocalDate()) ? slotCeil(end.toLocalTime()) : SLOTS_PER_DAY;
+            free[(int) day] &= ~range(fromSlot, toSlot);
+        }
+    }
+
+    /**
+     * Efface les créneaux passés : jours antérieurs et créneaux du jour ayant déjà commencé
+     *
+     * @param free Un bitmap par jour à partir de {@code from}
+     * @param from Jour du premier bitmap
+     */
+    public static void clearPast(long[] free, LocalDate from, LocalDateTime now) {
+        long today = ChronoUnit.DAYS.between(from, now.toLocalDate());
+        for (int day = 0; day < free.length && day <= today; day++) {
+            free[day] = day < today ? 0L : free[day] & ~range(0, slotFloor(now.toLocalTime()) + 1);
+        }
+    }
+
+    /**
+     * Heure de début d'un créneau
+     */
+    public static LocalTime startOf(int slot) {
+        return LocalTime.MIN.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+}
@@ -0,0 +1,197 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.event.AppointmentChangedEvent;
+import com.cabinetmedical.event.AvailabilityChangedEvent;
+import com.cabinetmedical.repository.AppointementRepository;
+import com.cabinetmedical.repository.AppointmentInterval;
+import com.cabinetmedical.repository.DoctorInterval;
+import com.cabinetmedical.repository.SlotCalendarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Calendrier des créneaux libres précalculé (table creneaux) sur un horizon de N semaines
+ *
+ * Un recalcul complet a lieu au démarrage puis chaque nuit : semaines types et rendez-vous de tous
+ * les médecins sont lus en deux requêtes, les bitmaps sont calculés en parallèle (fork-join) par
+ * médecin, puis écrits par lots. Entre deux recalculs, le calendrier est maintenu après chaque commit :
+ * - rendez-vous créé : effacement des bits concernés, sans relecture ;
+ * - rendez-vous modifié, annulé ou supprimé, disponibilité modifiée : recalcul du seul médecin.
+ * Métrique : slots.calendar.refresh
+ */
+@Component
+@Slf4j
+public class SlotCalendar {
+
+    private final WeeklyTemplateService weeklyTemplateService;
+    private final AppointementRepository appointementRepository;
+    private final SlotCalendarRepository slotCalendarRepository;
+    private final TransactionTemplate transaction;
+    private final int horizonDays;
+    private final ForkJoinPool pool;
+    private final Timer refreshTimer;
+
+    /**
+     * Dernier jour couvert par le calendrier ; null tant que le premier calcul n'a pas abouti
+     */
+    private volatile LocalDate coveredUntil;
+
+    public SlotCalendar(WeeklyTemplateService weeklyTemplateService,
+                        AppointementRepository appointementRepository,
+                        SlotCalendarRepository slotCalendarRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${cabinet.slots.calendar.horizon-weeks:8}") int horizonWeeks,
+                        @Value("${cabinet.slots.calendar.parallelism:0}") int parallelism,
+                        MeterRegistry meterRegistry) {
+        this.weeklyTemplateService = weeklyTemplateService;
+        this.appointementRepository = appointementRepository;
+        this.slotCalendarRepository = slotCalendarRepository;
+        // Nouvelle transaction : les mises à jour s'exécutent aussi après le commit d'une autre transaction
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.horizonDays = horizonWeeks * 7;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.refreshTimer = Timer.builder("slots.calendar.refresh")
+                .description("Durée d'un recalcul complet du calendrier des créneaux")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indique si le calendrier précalculé couvre une période se terminant à la date donnée
+     */
+    public boolean covers(LocalDate to) {
+        LocalDate until = coveredUntil;
+        return until != null && !to.isAfter(until);
+    }
+
+    /**
+     * Calcule le calendrier au démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Recalcule tout le calendrier et fait glisser l'horizon d'un jour
+     */
+    @Scheduled(cron = "${cabinet.slots.calendar.refresh-cron:0 5 0 * * *}")
+    public synchronized void refresh() {
+        LocalDate from = LocalDate.now();
+        long start = System.nanoTime();
+        try {
+            int doctors = transaction.execute(status -> {
+                // Avant toute lecture : les mises à jour incrémentales attendent la fin du recalcul
+                slotCalendarRepository.lockForRefresh();
+
+                // Semaines types réécrites depuis les disponibilités : le recalcul nocturne corrige toute dérive
+                weeklyTemplateService.rebuildAll();
+                Map<Long, WeeklyTemplate> templates = weeklyTemplateService.getAllTemplates();
+                Map<Long, List<DoctorInterval>> booked = appointementRepository
+                        .findAllActiveIntervalsBetween(from.atStartOfDay(), from.plusDays(horizonDays).atStartOfDay())
+                        .stream()
+                        .collect(Collectors.groupingBy(DoctorInterval::doctorId));
+
+                // Les lectures restent dans le thread de la transaction, seuls les bitmaps sont calculés en parallèle
+                Map<Long, long[]> freeByDoctor = pool.submit(() -> templates.entrySet().parallelStream()
+                        .collect(Collectors.toConcurrentMap(Map.Entry::getKey, e -> {
+                            long[] free = e.getValue().expand(from, horizonDays);
+                            for (DoctorInterval interval : booked.getOrDefault(e.getKey(), List.of())) {
+                                SlotBitmaps.clear(free, from, interval.start(), interval.end());
+                            }
+                            return free;
+                        })))
+                        .join();
+
+                slotCalendarRepository.replaceAll(from, freeByDoctor);
+                return freeByDoctor.size();
+            });
+
+            coveredUntil = from.plusDays(horizonDays - 1L);
+            long elapsed = System.nanoTime() - start;
+            refreshTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Calendrier des créneaux calculé: {} médecins, du {} au {}, en {} ms",
+                    doctors, from, coveredUntil, elapsed / 1_000_000);
+        } catch (RuntimeException e) {
+            // Le calendrier précédent reste en place ; les lectures hors horizon repassent par le calcul à la demande
+            log.error("Échec du calcul du calendrier des créneaux", e);
+        }
+    }
+
+    /**
+     * Recalcule le calendrier d'un médecin à partir de sa semaine type et de ses rendez-vous
+     */
+    public void refreshDoctor(Long doctorId) {
+        LocalDate from = LocalDate.now();
+        transaction.executeWithoutResult(status -> {
+            slotCalendarRepository.lockDoctor(doctorId);
+
+            WeeklyTemplate template = weeklyTemplateService.getTemplate(doctorId);
+            long[] free = template.expand(from, horizonDays);
+            for (AppointmentInterval interval : appointementRepository.findActiveIntervals(doctorId, from.atStartOfDay())) {
+                SlotBitmaps.clear(free, from, interval.start(), interval.end());
+            }
+            slotCalendarRepository.replaceDoctor(doctorId, from, free);
+        });
+        log.debug("Calendrier des créneaux du médecin {} recalculé", doctorId);
+    }
+
+    /**
+     * Maintient le calendrier après le commit d'un rendez-vous
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.type() != AppointmentChangedEvent.Type.CREATED) {
+            // Annulation ou déplacement : les bits libérés dépendent de la semaine type et des autres rendez-vous
+            refreshDoctor(event.doctorId());
+            return;
+        }
+
+        LocalDate from = event.start().toLocalDate();
+        long[] booked = new long[(int) ChronoUnit.DAYS.between(from, event.end().toLocalDate()) + 1];
+        Arrays.fill(booked, -1L);
+        SlotBitmaps.clear(booked, from, event.start(), event.end());
+        transaction.executeWithoutResult(status -> {
+            slotCalendarRepository.lockDoctor(event.doctorId());
+            for (int day = 0; day < booked.length; day++) {
+                long mask = ~booked[day];
+                if (mask != 0L) {
+                    slotCalendarRepository.clearSlots(event.doctorId(), from.plusDays(day), mask);
+                }
+            }
+        });
+    }
+
+    /**
+     * Recalcule le calendrier d'un médecin après le commit d'une disponibilité
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        refreshDoctor(event.doctorId());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,127 @@
+package com.cabinetmedical.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fusion des plages libres de plusieurs médecins par ordre chronologique
+ *
+ * Chaque médecin fournit un flux de débuts de plage déjà trié (bitmaps journaliers parcourus
+ * bit à bit). Les k flux sont fusionnés par une file de priorité de taille k : chaque extraction
+ * coûte O(log k) et la fusion s'arrête dès que {@code limit} plages sont trouvées, sans parcourir
+ * le reste des agendas.
+ */
+final class SlotMerger {
+
+    /**
+     * Nombre de médecins à partir duquel la préparation des flux est répartie sur plusieurs threads
+     */
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private SlotMerger() {
+    }
+
+    /**
+     * Plage trouvée : médecin et début de la plage
+     */
+    record Hit(Long doctorId, LocalDateTime debut) {
+    }
+
+    /**
+     * Retourne les {@code limit} plages de {@code length} créneaux consécutifs les plus proches,
+     * tous médecins confondus ; à début égal, le médecin d'ID le plus petit passe en premier
+     *
+     * @param freeByDoctor Un bitmap par jour à partir de {@code from}, par médecin (non modifiés)
+     */
+    static List<Hit> earliest(Map<Long, long[]> freeByDoctor, LocalDate from, int length, int limit, LocalDateTime now) {
+        Stream<Map.Entry<Long, long[]>> entries = freeByDoctor.size() >= PARALLEL_THRESHOLD
+                ? freeByDoctor.entrySet().parallelStream()
+                : freeByDoctor.entrySet().stream();
+        List<Cursor> cursors = entries
+                .map(e -> Cursor.of(e.getKey(), e.getValue(), from, length, now))
+                .filter(Cursor::hasNext)
+                .collect(Collectors.toList());
+
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, cursors.size()),
+                Comparator.comparingLong(Cursor::key).thenComparing(Cursor::doctorId));
+        queue.addAll(cursors);
+
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        while (hits.size() < limit && !queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            hits.add(new Hit(cursor.doctorId(), from.plusDays(cursor.day).atTime(SlotBitmaps.startOf(cursor.slot()))));
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Flux trié des débuts de plage d'un médecin
+     * Clé de tri : jour x 64 + créneau, soit l'ordre chronologique
+     */
+    private static final class Cursor {
+
+        private final Long doctorId;
+        private final long[] starts;
+        private int day;
+        private long current;
+
+        private Cursor(Long doctorId, long[] starts) {
+            this.doctorId = doctorId;
+            this.starts = starts;
+            this.day = -1;
+            nextDay();
+        }
+
+        static Cursor of(Long doctorId, long[] free, LocalDate from, int length, LocalDateTime now) {
+            long[] starts = free.clone();
+            SlotBitmaps.clearPast(starts, from, now);
+            for (int day = 0; day < starts.length; day++) {
+                starts[day] = SlotBitmaps.runStarts(starts[day], length);
+            }
+            return new Cursor(doctorId, starts);
+        }
+
+        Long doctorId() {
+            return doctorId;
+        }
+
+        boolean hasNext() {
+            return current != 0L;
+        }
+
+        int slot() {
+            return Long.numberOfTrailingZeros(current);
+        }
+
+        long key() {
+            return ((long) day << 6) | slot();
+        }
+
+        /**
+         * Passe au début de plage suivant ; false si le flux est épuisé
+         */
+        boolean advance() {
+            current &= current - 1;
+            if (current == 0L) {
+                nextDay();
+            }
+            return hasNext();
+        }
+
+        private void nextDay() {
+            while (current == 0L && ++day < starts.length) {
+                current = starts[day];
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.DoctorSlotDTO;
+import com.cabinetmedical.dto.SlotDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface du service de calcul des créneaux libres des médecins
+ */
+public interface SlotService {
+
+    /**
+     * Calcule les plages libres d'un médecin sur une période
+     * Semaine type du médecin, moins ses rendez-vous non annulés et les créneaux déjà passés
+     *
+     * @param doctorId ID du médecin
+     * @param from Premier jour (inclus)
+     * @param to Dernier jour (inclus)
+     * @param dureeMinutes Durée de la plage recherchée, multiple de 30 minutes
+     * @return Plages libres triées par début ; deux plages consécutives peuvent se recouvrir si la durée dépasse 30 minutes
+     * @throws IllegalArgumentException si la période ou la durée est invalide
+     * @throws com.cabinetmedical.exception.ResourceNotFoundException si le médecin n'existe pas
+     */
+    List<SlotDTO> getFreeSlots(Long doctorId, LocalDate from, LocalDate to, int dureeMinutes);
+
+    /**
+     * Recherche les plages libres les plus proches parmi tous les médecins d'une spécialité
+     * La recherche porte sur les {@value SlotServiceImpl#EARLIEST_SEARCH_DAYS} jours à partir de {@code from}
+     *
+     * @param specialityId ID de la spécialité
+     * @param from Premier jour (inclus)
+     * @param limit Nombre maximum de plages retournées
+     * @param dureeMinutes Durée de la plage recherchée, multiple de 30 minutes
+     * @return Plages triées par début puis par ID de médecin
+     * @throws IllegalArgumentException si la limite ou la durée est invalide
+     * @throws com.cabinetmedical.exception.ResourceNotFoundException si la spécialité n'existe pas
+     */
+    List<DoctorSlotDTO> getEarliestSlots(Long specialityId, LocalDate from, int limit, int dureeMinutes);
+
+    /**
+     * Calcule le prochain créneau libre de 30 minutes de chaque médecin d'une page de l'annuaire
+     * Une lecture groupée pour toute la page, quel que soit le nombre de médecins
+     *
+     * @param doctorIds IDs des médecins de la page
+     * @return Début du prochain créneau libre par ID de médecin ; médecins sans créneau dans les
+     *         {@value SlotServiceImpl#EARLIEST_SEARCH_DAYS} jours absents
+     */
+    Map<Long, LocalDateTime> getNextSlots(Collection<Long> doctorIds);
+}
@@ -0,0 +1,276 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.cache.AppointmentIndex;
+import com.cabinetmedical.dto.DoctorSlotDTO;
+import com.cabinetmedical.dto.SlotDTO;
+import com.cabinetmedical.entity.DoctorSlotDay;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.repository.AppointementRepository;
+import com.cabinetmedical.repository.AppointmentInterval;
+import com.cabinetmedical.repository.DoctorInterval;
+import com.cabinetmedical.repository.DoctorRepository;
+import com.cabinetmedical.repository.DoctorRow;
+import com.cabinetmedical.repository.DoctorSlotRow;
+import com.cabinetmedical.repository.SlotCalendarRepository;
+import com.cabinetmedical.repository.SpecialityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.cabinetmedical.service.SlotBitmaps.SLOT_MINUTES;
+
+/**
+ * Implémentation du calcul des créneaux libres par bitmaps
+ *
+ * Chaque jour de la période est un long. Dans l'horizon du calendrier précalculé ({@link SlotCalendar}),
+ * les bitmaps sont lus tels quels dans la table creneaux. Au-delà, la semaine type du médecin (une ligne de semaines_types) fournit
+ * les bits disponibles et les rendez-vous non annulés (lus dans {@link AppointmentIndex}, sans requête
+ * une fois l'agenda chargé) sont effacés par masque. Les créneaux passés sont retirés, puis les plages
+ * de la durée demandée sont trouvées par décalages successifs.
+ *
+ * La recherche multi-médecins d'une spécialité lit les bitmaps de tous les médecins semaine par semaine
+ * (une requête par semaine, jointe aux médecins de la spécialité) et les fusionne par ordre chronologique ({@link SlotMerger}) jusqu'à la limite.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SlotServiceImpl implements SlotService {
+
+    /**
+     * Nombre maximum de jours par recherche
+     */
+    static final int MAX_RANGE_DAYS = 31;
+
+    /**
+     * Profondeur de la recherche multi-médecins, lue par tranches de {@link #EARLIEST_CHUNK_DAYS} jours
+     */
+    static final int EARLIEST_SEARCH_DAYS = 56;
+    static final int EARLIEST_CHUNK_DAYS = 7;
+
+    /**
+     * Nombre maximum de plages d'une recherche multi-médecins
+     */
+    static final int MAX_EARLIEST_LIMIT = 50;
+
+    private final DoctorService doctorService;
+    private final AppointmentIndex appointmentIndex;
+    private final WeeklyTemplateService weeklyTemplateService;
+    private final SlotCalendar slotCalendar;
+    private final SlotCalendarRepository slotCalendarRepository;
+    private final DoctorRepository doctorRepository;
+    private final SpecialityRepository specialityRepository;
+    private final AppointementRepository appointementRepository;
+
+    @Override
+    public List<SlotDTO> getFreeSlots(Long doctorId, LocalDate from, LocalDate to, int dureeMinutes) {
+        log.debug("Calcul des créneaux libres du médecin {} du {} au {} ({} min)", doctorId, from, to, dureeMinutes);
+
+        validate(from, to, dureeMinutes);
+        doctorService.getDoctorById(doctorId);
+        int length = dureeMinutes / SLOT_MINUTES;
+
+        // Période précalculée : un parcours de la clé primaire de creneaux
+        if (slotCalendar.covers(to)) {
+            long[] free = new long[(int) ChronoUnit.DAYS.between(from, to) + 1];
+            for (DoctorSlotDay row : slotCalendarRepository.findByDoctorIdAndJourBetweenOrderByJour(doctorId, from, to)) {
+                free[(int) ChronoUnit.DAYS.between(from, row.getJour())] = row.getLibres();
+            }
+            return toSlots(free, from, length, LocalDateTime.now());
+        }
+
+        WeeklyTemplate template = weeklyTemplateService.getTemplate(doctorId);
+        if (template.isEmpty()) {
+            return List.of();
+        }
+
+        List<AppointmentInterval> booked = appointmentIndex.intervalsBetween(
+                doctorId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        return computeFreeSlots(template, booked, from, to, length, LocalDateTime.now());
+    }
+
+    @Override
+    public List<DoctorSlotDTO> getEarliestSlots(Long specialityId, LocalDate from, int limit, int dureeMinutes) {
+        log.debug("Recherche des {} premières plages libres de la spécialité {} à partir du {} ({} min)",
+                limit, specialityId, from, dureeMinutes);
+
+        if (limit < 1 || limit > MAX_EARLIEST_LIMIT) {
+            throw new IllegalArgumentException("La limite doit être comprise entre 1 et " + MAX_EARLIEST_LIMIT);
+        }
+        validateDuration(dureeMinutes);
+
+        int length = dureeMinutes / SLOT_MINUTES;
+        LocalDateTime now = LocalDateTime.now();
+        List<SlotMerger.Hit> hits = new ArrayList<>();
+        // Semaine par semaine : la recherche s'arrête dès que la limite est atteinte
+        for (int offset = 0; offset < EARLIEST_SEARCH_DAYS && hits.size() < limit; offset += EARLIEST_CHUNK_DAYS) {
+            LocalDate chunk = from.plusDays(offset);
+            Map<Long, long[]> free = loadFreeSlots(specialityId, chunk, chunk.plusDays(EARLIEST_CHUNK_DAYS - 1));
+            hits.addAll(SlotMerger.earliest(free, chunk, length, limit - hits.size(), now));
+        }
+
+        if (hits.isEmpty() && !specialityRepository.existsById(specialityId)) {
+            throw new ResourceNotFoundException("Spécialité", "id", specialityId);
+        }
+
+        // Noms des seuls médecins retenus (au plus {@code limit}) : une requête IN
+        Map<Long, DoctorRow> doctors = doctorRepository.findRowsByIdIn(
+                        hits.stream().map(SlotMerger.Hit::doctorId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(DoctorRow::id, Function.identity()));
+        return hits.stream()
+                .map(hit -> {
+                    DoctorRow doctor = doctors.get(hit.doctorId());
+                    return new DoctorSlotDTO(doctor.id(), doctor.nom(), doctor.prenom(),
+                            hit.debut(), hit.debut().plusMinutes(dureeMinutes));
+                })
+                .toList();
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> getNextSlots(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return Map.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate from = now.toLocalDate();
+        LocalDate to = from.plusDays(EARLIEST_SEARCH_DAYS - 1);
+        Map<Long, long[]> free;
+        if (slotCalendar.covers(to)) {
+            free = toBitmaps(slotCalendarRepository.findRowsByDoctorIds(doctorIds, from, to), from, to);
+        } else {
+            free = fromTemplates(weeklyTemplateService.getTemplates(doctorIds),
+                    () -> appointementRepository.findActiveIntervalsByDoctorIds(
+                            doctorIds, from.atStartOfDay(), to.plusDays(1).atStartOfDay()),
+                    from, to);
+        }
+
+        Map<Long, LocalDateTime> nextSlots = new HashMap<>();
+        free.forEach((doctorId, days) -> {
+            SlotBitmaps.clearPast(days, from, now);
+            for (int day = 0; day < days.length; day++) {
+                if (days[day] != 0L) {
+                    int slot = Long.numberOfTrailingZeros(days[day]);
+                    nextSlots.put(doctorId, from.plusDays(day).atTime(SlotBitmaps.startOf(slot)));
+                    break;
+                }
+            }
+        });
+        return nextSlots;
+    }
+
+    /**
+     * Bitmaps des créneaux libres des médecins d'une spécialité sur [from, to], par médecin
+     * Calendrier précalculé si la période est couverte, sinon semaines types et rendez-vous (deux requêtes)
+     */
+    private Map<Long, long[]> loadFreeSlots(Long specialityId, LocalDate from, LocalDate to) {
+        if (slotCalendar.covers(to)) {
+            return toBitmaps(slotCalendarRepository.findRowsBySpecialityId(specialityId, from, to), from, to);
+        }
+        return fromTemplates(weeklyTemplateService.getTemplatesBySpeciality(specialityId),
+                () -> appointementRepository.findActiveIntervalsBySpecialityId(
+                        specialityId, from.atStartOfDay(), to.plusDays(1).atStartOfDay()),
+                from, to);
+    }
+
+    /**
+     * Regroupe les lignes du calendrier précalculé en un bitmap par jour de [from, to], par médecin
+     */
+    private static Map<Long, long[]> toBitmaps(List<DoctorSlotRow> rows, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Map<Long, long[]> free = new HashMap<>();
+        for (DoctorSlotRow row : rows) {
+            free.computeIfAbsent(row.doctorId(), id -> new long[days])
+                    [(int) ChronoUnit.DAYS.between(from, row.jour())] = row.libres();
+        }
+        return free;
+    }
+
+    /**
+     * Calcule les bitmaps de [from, to] à partir des semaines types, moins les rendez-vous
+     * Les rendez-vous ne sont lus que si au moins un médecin a des disponibilités
+     */
+    private static Map<Long, long[]> fromTemplates(Map<Long, WeeklyTemplate> templates,
+                                                   Supplier<List<DoctorInterval>> booked,
+                                                   LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Map<Long, long[]> free = new HashMap<>();
+        templates.forEach((doctorId, template) -> free.put(doctorId, template.expand(from, days)));
+        if (!free.isEmpty()) {
+            for (DoctorInterval interval : booked.get()) {
+                long[] doctorFree = free.get(interval.doctorId());
+                if (doctorFree != null) {
+                    SlotBitmaps.clear(doctorFree, from, interval.start(), interval.end());
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Calcule les plages de {@code length} créneaux consécutifs libres sur la période [from, to]
+     */
+    static List<SlotDTO> computeFreeSlots(WeeklyTemplate template, Collection<AppointmentInterval> booked,
+                                          LocalDate from, LocalDate to, int length, LocalDateTime now) {
+        long[] free = template.expand(from, (int) ChronoUnit.DAYS.between(from, to) + 1);
+        for (AppointmentInterval interval : booked) {
+            SlotBitmaps.clear(free, from, interval.start(), interval.end());
+        }
+        return toSlots(free, from, length, now);
+    }
+
+    /**
+     * Retire les créneaux passés puis liste les plages de {@code length} créneaux consécutifs libres
+     *
+     * @param free Un bitmap par jour à partir de {@code from} (modifié)
+     */
+    static List<SlotDTO> toSlots(long[] free, LocalDate from, int length, LocalDateTime now) {
+        SlotBitmaps.clearPast(free, from, now);
+
+        List<SlotDTO> slots = new ArrayList<>();
+        for (int day = 0; day < free.length; day++) {
+            long starts = SlotBitmaps.runStarts(free[day], length);
+            LocalDate date = from.plusDays(day);
+            while (starts != 0) {
+                int slot = Long.numberOfTrailingZeros(starts);
+                starts &= starts - 1;
+                LocalDateTime debut = date.atTime(SlotBitmaps.startOf(slot));
+                slots.add(new SlotDTO(debut, debut.plusMinutes((long) length * SLOT_MINUTES)));
+            }
+        }
+        return slots;
+    }
+
+    private static void validate(LocalDate from, LocalDate to, int dureeMinutes) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure ou égale à la date de début");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("La période ne peut pas dépasser " + MAX_RANGE_DAYS + " jours");
+        }
+        validateDuration(dureeMinutes);
+    }
+
+    private static void validateDuration(int dureeMinutes) {
+        long maxMinutes = AppointmentIndex.MAX_DURATION.toMinutes();
+        if (dureeMinutes < SLOT_MINUTES || dureeMinutes > maxMinutes || dureeMinutes % SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "La durée doit être un multiple de %d minutes compris entre %d et %d minutes",
+                    SLOT_MINUTES, SLOT_MINUTES, maxMinutes));
+        }
+    }
+}
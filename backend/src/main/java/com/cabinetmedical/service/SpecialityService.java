@@ -1,5 +1,6 @@
 package com.cabinetmedical.service;
 
+import com.cabinetmedical.dto.SpecialityCountDTO;
 import com.cabinetmedical.dto.SpecialityDTO;
 
 import java.util.List;
@@ -15,5 +16,12 @@ public interface SpecialityService {
      * @return Liste de toutes les spécialités
      */
     List<SpecialityDTO> getAllSpecialities();
+
+    /**
+     * Récupère le nombre de médecins de chaque spécialité
+     *
+     * @return Compteurs par spécialité, par ID croissant (spécialités sans médecin incluses)
+     */
+    List<SpecialityCountDTO> getDoctorCounts();
 }
 
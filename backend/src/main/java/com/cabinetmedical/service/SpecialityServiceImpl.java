@@ -1,43 +1,44 @@
 package com.cabinetmedical.service;
 
+import com.cabinetmedical.cache.SpecialityCatalogue;
+import com.cabinetmedical.cache.SpecialityDoctorCounts;
+import com.cabinetmedical.dto.SpecialityCountDTO;
 import com.cabinetmedical.dto.SpecialityDTO;
-import com.cabinetmedical.entity.Speciality;
-import com.cabinetmedical.mapper.SpecialityMapper;
-import com.cabinetmedical.repository.SpecialityRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implémentation du service de gestion des spécialités médicales
+ * Les lectures sont servies depuis la mémoire : aucune transaction ni connexion n'est ouverte
  */
 @Service
-@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class SpecialityServiceImpl implements SpecialityService {
 
-    private final SpecialityRepository specialityRepository;
-    private final SpecialityMapper specialityMapper;
+    private final SpecialityCatalogue specialityCatalogue;
+    private final SpecialityDoctorCounts specialityDoctorCounts;
 
     /**
-     * Récupère toutes les spécialités triées par nom
+     * Récupère toutes les spécialités triées par nom depuis le catalogue en mémoire
      */
     @Override
     public List<SpecialityDTO> getAllSpecialities() {
-        log.info("Récupération de toutes les spécialités");
+        log.debug("Récupération de toutes les spécialités");
 
-        List<Speciality> specialities = specialityRepository.findAllByOrderByNomAsc();
+        return specialityCatalogue.snapshot().specialities();
+    }
 
-        log.info("Nombre de spécialités récupérées: {}", specialities.size());
+    /**
+     * Récupère le nombre de médecins de chaque spécialité depuis les compteurs en mémoire
+     */
+    @Override
+    public List<SpecialityCountDTO> getDoctorCounts() {
+        log.debug("Récupération du nombre de médecins par spécialité");
 
-        return specialities.stream()
-                .map(specialityMapper::toDTO)
-                .collect(Collectors.toList());
+        return specialityDoctorCounts.getCounts();
     }
 }
-
@@ -0,0 +1,84 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.StaffLoginRequestDTO;
+import com.cabinetmedical.dto.StaffLoginResponseDTO;
+import com.cabinetmedical.security.CredentialVerifier;
+import com.cabinetmedical.security.SessionTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service pour l'authentification du personnel du cabinet
+ * Un compte unique est configuré (cabinet.security.staff.*) : email et empreinte BCrypt du mot de passe,
+ * jamais le mot de passe en clair. Sans configuration, toute tentative est rejetée.
+ * Comme pour les patients, la comparaison s'exécute sur le pool dédié de {@link CredentialVerifier},
+ * et un email inconnu passe par une comparaison factice de même coût.
+ */
+@Service
+@Slf4j
+public class StaffAuthService {
+
+    /**
+     * Rôle porté par les jetons du personnel du cabinet
+     */
+    public static final String STAFF_ROLE = "STAFF";
+
+    /**
+     * Identifiant porté par les jetons du compte du personnel (aucune ligne en base)
+     */
+    static final long STAFF_ACCOUNT_ID = 0L;
+
+    private final SessionTokenService sessionTokenService;
+    private final CredentialVerifier credentialVerifier;
+    private final String email;
+    private final String passwordHash;
+
+    public StaffAuthService(SessionTokenService sessionTokenService,
+                            CredentialVerifier credentialVerifier,
+                            @Value("${cabinet.security.staff.email:}") String email,
+                            @Value("${cabinet.security.staff.password-hash:}") String passwordHash) {
+        this.sessionTokenService = sessionTokenService;
+        this.credentialVerifier = credentialVerifier;
+        this.email = normalize(email);
+        this.passwordHash = passwordHash == null || passwordHash.isBlank() ? null : passwordHash.trim();
+        if (this.email == null || this.passwordHash == null) {
+            log.warn("Aucun compte du personnel configuré (cabinet.security.staff.email, "
+                    + "cabinet.security.staff.password-hash) : connexion du personnel désactivée");
+        }
+    }
+
+    /**
+     * Authentifie le personnel du cabinet avec l'email et le mot de passe du compte configuré
+     * @param loginRequest requête d'authentification
+     * @return le jeton de session de rôle {@value #STAFF_ROLE}, une fois l'empreinte vérifiée
+     * @throws RuntimeException si l'authentification échoue (portée par le future)
+     */
+    public CompletableFuture<StaffLoginResponseDTO> login(StaffLoginRequestDTO loginRequest) {
+        log.info("Tentative d'authentification du personnel pour l'email: {}", loginRequest.email());
+
+        // Email inconnu ou compte non configuré : comparaison contre l'empreinte factice
+        boolean knownAccount = email != null && email.equals(normalize(loginRequest.email()));
+        String reference = knownAccount ? passwordHash : null;
+
+        return credentialVerifier.verify(loginRequest.password(), reference)
+                .thenApply(valid -> {
+                    if (!valid) {
+                        log.warn("Échec de l'authentification du personnel pour l'email: {}", loginRequest.email());
+                        throw new RuntimeException("Email ou mot de passe incorrect");
+                    }
+
+                    log.info("Authentification du personnel réussie pour: {}", email);
+
+                    SessionTokenService.SessionToken token = sessionTokenService.issue(STAFF_ACCOUNT_ID, STAFF_ROLE);
+                    return new StaffLoginResponseDTO(email, STAFF_ROLE, token.value(), token.expiresAt());
+                });
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
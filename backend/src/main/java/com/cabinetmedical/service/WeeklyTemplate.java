@@ -0,0 +1,72 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.entity.DoctorWeeklyTemplate;
+import com.cabinetmedical.entity.DoctorsAvailability;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Semaine type d'un médecin : un bitmap de créneaux disponibles par jour (lundi = 0)
+ * Construit à partir des disponibilités hebdomadaires (disponibilites_medecin) ou de leur forme
+ * compacte (semaines_types)
+ */
+public final class WeeklyTemplate {
+
+    public static final WeeklyTemplate EMPTY = new WeeklyTemplate(new long[7]);
+
+    private final long[] days;
+
+    private WeeklyTemplate(long[] days) {
+        this.days = days;
+    }
+
+    /**
+     * Étend les plages [heure de début, heure de fin) de chaque jour en bitmap
+     * Un créneau n'est disponible que s'il est entièrement couvert par une plage
+     *
+     * @param availabilities Disponibilités actives d'un médecin (jours et heures résolus par le cache de second niveau)
+     */
+    public static WeeklyTemplate of(Collection<DoctorsAvailability> availabilities) {
+        long[] days = new long[7];
+        for (DoctorsAvailability availability : availabilities) {
+            int day = availability.getJourSemaine().getNumeroJour() - 1;
+            days[day] |= SlotBitmaps.range(
+                    SlotBitmaps.slotCeil(availability.getHeureDebut().getHeure()),
+                    SlotBitmaps.slotFloor(availability.getHeureFin().getHeure()));
+        }
+        return new WeeklyTemplate(days);
+    }
+
+    /**
+     * Semaine type lue dans sa forme compacte (une ligne de semaines_types)
+     */
+    public static WeeklyTemplate of(DoctorWeeklyTemplate row) {
+        return new WeeklyTemplate(row.days());
+    }
+
+    /**
+     * Bitmap des créneaux disponibles d'un jour de la semaine
+     */
+    public long day(DayOfWeek dayOfWeek) {
+        return days[dayOfWeek.getValue() - 1];
+    }
+
+    /**
+     * Bitmaps des jours consécutifs à partir d'une date
+     */
+    public long[] expand(LocalDate from, int days) {
+        long[] free = new long[days];
+        int first = from.getDayOfWeek().getValue() - 1;
+        for (int day = 0; day < days; day++) {
+            free[day] = this.days[(first + day) % 7];
+        }
+        return free;
+    }
+
+    public boolean isEmpty() {
+        return Arrays.stream(days).allMatch(day -> day == 0L);
+    }
+}
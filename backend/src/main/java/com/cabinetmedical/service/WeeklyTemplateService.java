@@ -0,0 +1,44 @@
+package com.cabinetmedical.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Interface du service des semaines types des médecins (forme compacte, table semaines_types)
+ */
+public interface WeeklyTemplateService {
+
+    /**
+     * Récupère la semaine type d'un médecin en une seule ligne
+     *
+     * @param doctorId ID du médecin
+     * @return Semaine type, {@link WeeklyTemplate#EMPTY} si le médecin n'a aucune disponibilité
+     */
+    WeeklyTemplate getTemplate(Long doctorId);
+
+    /**
+     * Récupère en une requête les semaines types d'un ensemble de médecins
+     *
+     * @return Semaines types par ID de médecin ; médecins sans disponibilité absents
+     */
+    Map<Long, WeeklyTemplate> getTemplates(Collection<Long> doctorIds);
+
+    /**
+     * Récupère en une requête les semaines types des médecins d'une spécialité
+     *
+     * @return Semaines types par ID de médecin ; médecins sans disponibilité absents
+     */
+    Map<Long, WeeklyTemplate> getTemplatesBySpeciality(Long specialityId);
+
+    /**
+     * Récupère les semaines types de tous les médecins
+     *
+     * @return Semaines types par ID de médecin ; médecins sans disponibilité absents
+     */
+    Map<Long, WeeklyTemplate> getAllTemplates();
+
+    /**
+     * Réécrit toutes les semaines types à partir des disponibilités, dans la transaction courante
+     */
+    void rebuildAll();
+}
@@ -0,0 +1,89 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.entity.DoctorWeeklyTemplate;
+import com.cabinetmedical.event.AvailabilityChangedEvent;
+import com.cabinetmedical.repository.WeeklyTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implémentation du service des semaines types
+ *
+ * Les lectures portent sur semaines_types (une ligne par médecin). La table est réécrite en SQL
+ * après chaque changement de disponibilité, avant les autres consommateurs de l'événement
+ * (calendrier des créneaux), et entièrement à chaque recalcul du calendrier.
+ */
+@Service
+@Slf4j
+public class WeeklyTemplateServiceImpl implements WeeklyTemplateService {
+
+    private final WeeklyTemplateRepository weeklyTemplateRepository;
+    private final TransactionTemplate transaction;
+
+    public WeeklyTemplateServiceImpl(WeeklyTemplateRepository weeklyTemplateRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.weeklyTemplateRepository = weeklyTemplateRepository;
+        // Nouvelle transaction : la réécriture s'exécute après le commit de la disponibilité
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WeeklyTemplate getTemplate(Long doctorId) {
+        return weeklyTemplateRepository.findById(doctorId)
+                .map(WeeklyTemplate::of)
+                .orElse(WeeklyTemplate.EMPTY);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, WeeklyTemplate> getTemplates(Collection<Long> doctorIds) {
+        return toMap(weeklyTemplateRepository.findAllById(doctorIds));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, WeeklyTemplate> getTemplatesBySpeciality(Long specialityId) {
+        return toMap(weeklyTemplateRepository.findBySpecialityId(specialityId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, WeeklyTemplate> getAllTemplates() {
+        return toMap(weeklyTemplateRepository.findAll());
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAll() {
+        weeklyTemplateRepository.rebuildAll();
+    }
+
+    /**
+     * Réécrit la semaine type du médecin après le commit d'une disponibilité
+     * Ordonné en premier : le calendrier des créneaux relit ensuite la semaine à jour
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        transaction.executeWithoutResult(status -> weeklyTemplateRepository.rebuildDoctor(event.doctorId()));
+        log.debug("Semaine type du médecin {} réécrite", event.doctorId());
+    }
+
+    private static Map<Long, WeeklyTemplate> toMap(List<DoctorWeeklyTemplate> rows) {
+        return rows.stream().collect(Collectors.toMap(DoctorWeeklyTemplate::getDoctorId, WeeklyTemplate::of));
+    }
+}
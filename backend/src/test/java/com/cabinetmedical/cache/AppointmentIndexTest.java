@@ -0,0 +1,139 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.repository.AppointementRepository;
+import com.cabinetmedical.repository.AppointmentInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour AppointmentIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class AppointmentIndexTest {
+
+    private static final Long DOCTOR_ID = 1L;
+
+    @Mock
+    private AppointementRepository appointementRepository;
+
+    private AppointmentIndex appointmentIndex;
+
+    private LocalDateTime nine;
+
+    @BeforeEach
+    void setUp() {
+        appointmentIndex = new AppointmentIndex(appointementRepository, Duration.ofMinutes(5));
+        nine = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS).withHour(9);
+    }
+
+    @Test
+    @DisplayName("tryReserve - Devrait refuser les chevauchements et accepter les plages contiguës")
+    void tryReserve_ShouldRejectOverlapsAndAcceptAdjacentSlots() {
+        // Given : un rendez-vous déjà en base de 09:00 à 10:00
+        when(appointementRepository.findActiveIntervals(eq(DOCTOR_ID), any()))
+                .thenReturn(List.of(new AppointmentInterval(10L, nine, nine.plusHours(1))));
+        when(appointementRepository.existsActiveOverlap(eq(DOCTOR_ID), any(), any())).thenReturn(true);
+
+        // When & Then
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.plusMinutes(30), nine.plusMinutes(90))).isFalse();
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.minusMinutes(30), nine.plusMinutes(1))).isFalse();
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.minusHours(1), nine.plusHours(2))).isFalse();
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.plusMinutes(15), nine.plusMinutes(45))).isFalse();
+
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.plusHours(1), nine.plusHours(2))).isTrue();
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.minusMinutes(30), nine)).isTrue();
+
+        // L'agenda n'est chargé qu'une fois
+        verify(appointementRepository, times(1)).findActiveIntervals(eq(DOCTOR_ID), any());
+    }
+
+    @Test
+    @DisplayName("release - Devrait libérer une réservation provisoire mais pas un rendez-vous confirmé")
+    void release_ShouldOnlyDropPendingReservations() {
+        // Given
+        when(appointementRepository.findActiveIntervals(eq(DOCTOR_ID), any())).thenReturn(List.of());
+        when(appointementRepository.existsActiveOverlap(eq(DOCTOR_ID), any(), any())).thenReturn(true);
+        appointmentIndex.tryReserve(DOCTOR_ID, nine, nine.plusHours(1));
+        appointmentIndex.tryReserve(DOCTOR_ID, nine.plusHours(2), nine.plusHours(3));
+        appointmentIndex.confirm(DOCTOR_ID, nine.plusHours(2), 20L);
+
+        // When
+        appointmentIndex.release(DOCTOR_ID, nine);
+        appointmentIndex.release(DOCTOR_ID, nine.plusHours(2));
+
+        // Then
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine, nine.plusHours(1))).isTrue();
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.plusHours(2), nine.plusHours(3))).isFalse();
+    }
+
+    @Test
+    @DisplayName("remove - Devrait rendre réservable la plage d'un rendez-vous annulé")
+    void remove_ShouldFreeCancelledSlot() {
+        // Given
+        when(appointementRepository.findActiveIntervals(eq(DOCTOR_ID), any()))
+                .thenReturn(List.of(new AppointmentInterval(10L, nine, nine.plusHours(1))));
+        when(appointementRepository.existsActiveOverlap(eq(DOCTOR_ID), any(), any())).thenReturn(true);
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine, nine.plusHours(1))).isFalse();
+
+        // When : un autre identifiant ne libère rien
+        appointmentIndex.remove(DOCTOR_ID, nine, 99L);
+
+        // Then
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine, nine.plusHours(1))).isFalse();
+
+        // When
+        appointmentIndex.remove(DOCTOR_ID, nine, 10L);
+
+        // Then
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine, nine.plusHours(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("tryReserve - Un conflit démenti par la base devrait recharger l'agenda au lieu de refuser")
+    void tryReserve_ShouldReloadAgenda_WhenConflictIsStale() {
+        // Given : le rendez-vous 10 a été annulé par une autre instance après le chargement de l'agenda
+        when(appointementRepository.findActiveIntervals(eq(DOCTOR_ID), any()))
+                .thenReturn(List.of(new AppointmentInterval(10L, nine, nine.plusHours(1))))
+                .thenReturn(List.of());
+        when(appointementRepository.existsActiveOverlap(DOCTOR_ID, nine, nine.plusHours(1))).thenReturn(false);
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.plusHours(2), nine.plusHours(3))).isTrue();
+
+        // When & Then
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine, nine.plusHours(1))).isTrue();
+        verify(appointementRepository, times(2)).findActiveIntervals(eq(DOCTOR_ID), any());
+
+        // La réservation provisoire posée avant le rechargement est conservée
+        assertThat(appointmentIndex.tryReserve(DOCTOR_ID, nine.plusHours(2), nine.plusHours(3))).isFalse();
+    }
+
+    @Test
+    @DisplayName("intervalsBetween - Devrait recharger l'agenda une fois sa durée de vie écoulée")
+    void intervalsBetween_ShouldReloadExpiredAgenda() {
+        // Given
+        appointmentIndex = new AppointmentIndex(appointementRepository, Duration.ZERO);
+        when(appointementRepository.findActiveIntervals(eq(DOCTOR_ID), any()))
+                .thenReturn(List.of(new AppointmentInterval(10L, nine, nine.plusHours(1))))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertThat(appointmentIndex.intervalsBetween(DOCTOR_ID, nine, nine.plusHours(8))).hasSize(1);
+        assertThat(appointmentIndex.intervalsBetween(DOCTOR_ID, nine, nine.plusHours(8))).isEmpty();
+        verify(appointementRepository, times(2)).findActiveIntervals(eq(DOCTOR_ID), any());
+    }
+}
@@ -0,0 +1,108 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.dto.SpecialityDTO;
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour DoctorByIdCache
+ */
+class DoctorByIdCacheTest {
+
+    private static final SpecialityDTO CARDIOLOGY = new SpecialityDTO(1L, "Cardiologie", "Spécialiste du cœur");
+    private static final SpecialityDTO DERMATOLOGY = new SpecialityDTO(2L, "Dermatologie", "Spécialiste de la peau");
+
+    private DoctorByIdCache cache;
+    private Map<Long, DoctorDTO> database;
+    private List<Set<Long>> loads;
+    private Function<Set<Long>, Map<Long, DoctorDTO>> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DoctorByIdCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        database = Map.of(
+                1L, new DoctorDTO(1L, "Dupont", "Jean", "jean.dupont@cabinet.fr", "0123456789", "ORD-12345", CARDIOLOGY),
+                2L, new DoctorDTO(2L, "Martin", "Marie", "marie.martin@cabinet.fr", "0987654321", "ORD-67890", DERMATOLOGY),
+                3L, new DoctorDTO(3L, "Bernard", "Paul", "paul.bernard@cabinet.fr", "0147258369", "ORD-11111", CARDIOLOGY)
+        );
+        loads = new ArrayList<>();
+        loader = ids -> {
+            loads.add(Set.copyOf(ids));
+            return ids.stream()
+                    .filter(database::containsKey)
+                    .collect(Collectors.toMap(Function.identity(), database::get));
+        };
+    }
+
+    @Test
+    @DisplayName("getAll - Devrait charger uniquement les IDs absents, en un seul appel")
+    void getAll_ShouldLoadOnlyMissingIdsInOneCall() {
+        // Given
+        cache.getAll(List.of(1L), loader);
+
+        // When
+        List<DoctorDTO> result = cache.getAll(List.of(3L, 1L, 2L, 99L), loader);
+
+        // Then
+        assertThat(result).extracting(DoctorDTO::id).containsExactly(3L, 1L, 2L);
+        assertThat(loads).containsExactly(Set.of(1L), Set.of(3L, 2L, 99L));
+    }
+
+    @Test
+    @DisplayName("getAll - Ne devrait pas interroger le chargeur pour des médecins en cache")
+    void getAll_ShouldNotLoadCachedDoctors() {
+        // Given
+        cache.getAll(List.of(1L, 2L), loader);
+
+        // When
+        cache.getAll(List.of(2L, 1L), loader);
+        cache.getAll(List.of(1L), loader);
+
+        // Then
+        assertThat(loads).hasSize(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("onDoctorChanged - Devrait invalider uniquement le médecin modifié")
+    void onDoctorChanged_ShouldInvalidateDoctor() {
+        // Given
+        cache.getAll(List.of(1L, 2L), loader);
+
+        // When
+        cache.onDoctorChanged(new DoctorChangedEvent(1L, 1L, 1L, DoctorChangedEvent.Type.UPDATED));
+        cache.getAll(List.of(1L, 2L), loader);
+
+        // Then
+        assertThat(loads).containsExactly(Set.of(1L, 2L), Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("onSpecialityChanged - Devrait invalider les médecins de la spécialité modifiée")
+    void onSpecialityChanged_ShouldInvalidateDoctorsOfSpeciality() {
+        // Given
+        cache.getAll(List.of(1L, 2L, 3L), loader);
+
+        // When
+        cache.onSpecialityChanged(new SpecialityChangedEvent(1L, SpecialityChangedEvent.Type.UPDATED));
+        cache.getAll(List.of(1L, 2L, 3L), loader);
+
+        // Then
+        assertThat(loads).containsExactly(Set.of(1L, 2L, 3L), Set.of(1L, 3L));
+    }
+}
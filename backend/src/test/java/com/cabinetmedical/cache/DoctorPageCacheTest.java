@@ -0,0 +1,143 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.dto.PageResponse;
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour DoctorPageCache
+ */
+class DoctorPageCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DoctorPageCache cache;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DoctorPageCache(100, Duration.ofMinutes(10), meterRegistry);
+        pageable = PageRequest.of(0, 9, Sort.by("nom").ascending());
+    }
+
+    @Test
+    @DisplayName("get - Devrait charger la page une seule fois puis la servir depuis le cache")
+    void get_ShouldLoadOnceThenHit() {
+        // Given
+        CountingLoader loader = new CountingLoader();
+        DoctorPageKey key = DoctorPageKey.of(null, pageable);
+
+        // When
+        PageResponse<DoctorDTO> first = cache.get(key, loader);
+        PageResponse<DoctorDTO> second = cache.get(key, loader);
+
+        // Then
+        assertThat(loader.calls.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("DoctorPageKey - Devrait normaliser la casse des propriétés de tri")
+    void key_ShouldNormalizeSort() {
+        // Given
+        DoctorPageKey lower = DoctorPageKey.of(1L, PageRequest.of(2, 9, Sort.by(Sort.Direction.DESC, "nom")));
+        DoctorPageKey upper = DoctorPageKey.of(1L, PageRequest.of(2, 9, Sort.by(Sort.Direction.DESC, "NOM")));
+
+        // Then
+        assertThat(lower).isEqualTo(upper);
+        assertThat(lower.sort()).isEqualTo("nom:DESC");
+        assertThat(DoctorPageKey.of(1L, PageRequest.of(2, 9)).sort()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("onDoctorChanged - Devrait invalider uniquement les pages globales et celles des spécialités concernées")
+    void onDoctorChanged_ShouldInvalidateImpactedPagesOnly() {
+        // Given
+        DoctorPageKey all = DoctorPageKey.of(null, pageable);
+        DoctorPageKey speciality1 = DoctorPageKey.of(1L, pageable);
+        DoctorPageKey speciality2 = DoctorPageKey.of(2L, pageable);
+        DoctorPageKey speciality3 = DoctorPageKey.of(3L, pageable);
+        CountingLoader loader = new CountingLoader();
+        List.of(all, speciality1, speciality2, speciality3).forEach(key -> cache.get(key, loader));
+
+        // When - Le médecin passe de la spécialité 1 à la spécialité 2
+        cache.onDoctorChanged(new DoctorChangedEvent(10L, 1L, 2L, DoctorChangedEvent.Type.UPDATED));
+        loader.calls.set(0);
+        List.of(all, speciality1, speciality2, speciality3).forEach(key -> cache.get(key, loader));
+
+        // Then - Seule la spécialité 3 est restée en cache
+        assertThat(loader.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("onSpecialityChanged - Devrait invalider les pages embarquant la spécialité modifiée")
+    void onSpecialityChanged_ShouldInvalidatePagesOfSpeciality() {
+        // Given
+        DoctorPageKey all = DoctorPageKey.of(null, pageable);
+        DoctorPageKey speciality1 = DoctorPageKey.of(1L, pageable);
+        DoctorPageKey speciality2 = DoctorPageKey.of(2L, pageable);
+        CountingLoader loader = new CountingLoader();
+        List.of(all, speciality1, speciality2).forEach(key -> cache.get(key, loader));
+
+        // When
+        cache.onSpecialityChanged(new SpecialityChangedEvent(1L, SpecialityChangedEvent.Type.UPDATED));
+        cache.onSpecialityChanged(new SpecialityChangedEvent(5L, SpecialityChangedEvent.Type.CREATED));
+        loader.calls.set(0);
+        List.of(all, speciality1, speciality2).forEach(key -> cache.get(key, loader));
+
+        // Then - Pages globales et spécialité 1 rechargées, spécialité 2 conservée
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("get - Ne devrait pas conserver une page chargée pendant une invalidation")
+    void get_ShouldNotKeepPageLoadedDuringInvalidation() {
+        // Given - Une écriture est validée pendant la lecture en base
+        DoctorPageKey key = DoctorPageKey.of(null, pageable);
+        CountingLoader loader = new CountingLoader();
+        Supplier<PageResponse<DoctorDTO>> racingLoader = () -> {
+            cache.onDoctorChanged(new DoctorChangedEvent(10L, null, 1L, DoctorChangedEvent.Type.CREATED));
+            return loader.get();
+        };
+
+        // When
+        cache.get(key, racingLoader);
+        cache.get(key, loader);
+
+        // Then
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    /**
+     * Chargeur de page comptant ses appels
+     */
+    private static class CountingLoader implements Supplier<PageResponse<DoctorDTO>> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public PageResponse<DoctorDTO> get() {
+            calls.incrementAndGet();
+            return PageResponse.of(new PageImpl<>(List.of(), PageRequest.of(0, 9), 0));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.SpecialityDTO;
+import com.cabinetmedical.entity.Speciality;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import com.cabinetmedical.mapper.SpecialityMapper;
+import com.cabinetmedical.mapper.SpecialityMapperImpl;
+import com.cabinetmedical.repository.SpecialityRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour SpecialityCatalogue
+ */
+@ExtendWith(MockitoExtension.class)
+class SpecialityCatalogueTest {
+
+    @Mock
+    private SpecialityRepository specialityRepository;
+
+    private final SpecialityMapper specialityMapper = new SpecialityMapperImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SpecialityCatalogue catalogue;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new SpecialityCatalogue(specialityRepository, specialityMapper, objectMapper);
+    }
+
+    @Test
+    @DisplayName("snapshot - Devrait pré-encoder la liste en JSON brut et gzip, en une seule requête")
+    void snapshot_ShouldPreEncodeJsonAndGzipOnce() throws Exception {
+        // Given
+        when(specialityRepository.findAllByOrderByNomAsc()).thenReturn(List.of(
+                speciality(1L, "Cardiologie"),
+                speciality(2L, "Dermatologie")));
+
+        // When
+        catalogue.snapshot();
+        SpecialityCatalogue.Snapshot snapshot = catalogue.snapshot();
+
+        // Then
+        List<SpecialityDTO> decoded = objectMapper.readValue(snapshot.json(), new TypeReference<>() { });
+        assertThat(decoded).isEqualTo(snapshot.specialities());
+        assertThat(decoded).extracting(SpecialityDTO::nom).containsExactly("Cardiologie", "Dermatologie");
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzipJson()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(snapshot.json());
+        }
+        assertThat(snapshot.etag()).startsWith("\"s").endsWith("\"");
+        assertThat(snapshot.gzipEtag()).isNotEqualTo(snapshot.etag());
+        verify(specialityRepository, times(1)).findAllByOrderByNomAsc();
+    }
+
+    @Test
+    @DisplayName("onSpecialityChanged - Devrait remplacer l'instantané par un catalogue reconstruit")
+    void onSpecialityChanged_ShouldSwapRebuiltSnapshot() {
+        // Given
+        when(specialityRepository.findAllByOrderByNomAsc())
+                .thenReturn(List.of(speciality(1L, "Cardiologie")))
+                .thenReturn(List.of(speciality(1L, "Cardiologie pédiatrique")));
+        SpecialityCatalogue.Snapshot before = catalogue.snapshot();
+
+        // When
+        catalogue.onSpecialityChanged(new SpecialityChangedEvent(1L, SpecialityChangedEvent.Type.UPDATED));
+        SpecialityCatalogue.Snapshot after = catalogue.snapshot();
+
+        // Then
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.specialities()).extracting(SpecialityDTO::nom).containsExactly("Cardiologie pédiatrique");
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        verify(specialityRepository, times(2)).findAllByOrderByNomAsc();
+    }
+
+    private static Speciality speciality(Long id, String nom) {
+        Speciality speciality = new Speciality();
+        speciality.setId(id);
+        speciality.setNom(nom);
+        speciality.setDescription("Description " + nom);
+        return speciality;
+    }
+}
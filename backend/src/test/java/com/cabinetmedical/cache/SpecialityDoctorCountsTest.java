@@ -0,0 +1,226 @@
+package com.cabinetmedical.cache;
+
+import com.cabinetmedical.dto.SpecialityCountDTO;
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.event.SpecialityChangedEvent;
+import com.cabinetmedical.repository.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour SpecialityDoctorCounts
+ */
+@ExtendWith(MockitoExtension.class)
+class SpecialityDoctorCountsTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private SpecialityDoctorCounts counts;
+
+    @BeforeEach
+    void setUp() {
+        counts = new SpecialityDoctorCounts(doctorRepository);
+    }
+
+    @Test
+    @DisplayName("getCounts - Devrait charger les compteurs une seule fois, par ID croissant")
+    void getCounts_ShouldLoadOnceSortedById() {
+        // Given
+        when(doctorRepository.countDoctorsBySpeciality()).thenReturn(List.of(
+                new SpecialityCountDTO(3L, 0),
+                new SpecialityCountDTO(1L, 4)));
+
+        // When
+        counts.getCounts();
+        List<SpecialityCountDTO> result = counts.getCounts();
+
+        // Then
+        assertThat(result).containsExactly(
+                new SpecialityCountDTO(1L, 4),
+                new SpecialityCountDTO(3L, 0));
+        verify(doctorRepository, times(1)).countDoctorsBySpeciality();
+    }
+
+    @Test
+    @DisplayName("onDoctorChanged - Devrait appliquer création, suppression et changement de spécialité sans requête")
+    void onDoctorChanged_ShouldApplyDeltas() {
+        // Given
+        when(doctorRepository.countDoctorsBySpeciality()).thenReturn(List.of(
+                new SpecialityCountDTO(1L, 4),
+                new SpecialityCountDTO(2L, 1)));
+        counts.onApplicationReady();
+
+        // When
+        counts.onDoctorChanged(new DoctorChangedEvent(10L, null, 2L, DoctorChangedEvent.Type.CREATED));
+        counts.onDoctorChanged(new DoctorChangedEvent(11L, 1L, null, DoctorChangedEvent.Type.DELETED));
+        counts.onDoctorChanged(new DoctorChangedEvent(12L, 1L, 2L, DoctorChangedEvent.Type.UPDATED));
+        counts.onDoctorChanged(new DoctorChangedEvent(13L, 2L, 2L, DoctorChangedEvent.Type.UPDATED));
+
+        // Then
+        assertThat(counts.getCounts()).containsExactly(
+                new SpecialityCountDTO(1L, 2),
+                new SpecialityCountDTO(2L, 3));
+        verify(doctorRepository, times(1)).countDoctorsBySpeciality();
+    }
+
+    @Test
+    @DisplayName("onSpecialityChanged - Devrait ajouter la spécialité créée et retirer la spécialité supprimée")
+    void onSpecialityChanged_ShouldAddAndRemoveSpecialities() {
+        // Given
+        when(doctorRepository.countDoctorsBySpeciality()).thenReturn(List.of(
+                new SpecialityCountDTO(1L, 4),
+                new SpecialityCountDTO(2L, 0)));
+        counts.onApplicationReady();
+
+        // When
+        counts.onSpecialityChanged(new SpecialityChangedEvent(7L, SpecialityChangedEvent.Type.CREATED));
+        counts.onSpecialityChanged(new SpecialityChangedEvent(2L, SpecialityChangedEvent.Type.DELETED));
+
+        // Then
+        assertThat(counts.getCounts()).containsExactly(
+                new SpecialityCountDTO(1L, 4),
+                new SpecialityCountDTO(7L, 0));
+    }
+
+    @Test
+    @DisplayName("load - Devrait recommencer le comptage si un médecin a changé pendant la requête")
+    void load_ShouldRetryWhenDoctorChangedDuringLoad() {
+        // Given : une création est validée pendant le premier comptage
+        when(doctorRepository.countDoctorsBySpeciality())
+                .thenAnswer(invocation -> {
+                    counts.onDoctorChanged(new DoctorChangedEvent(10L, null, 1L, DoctorChangedEvent.Type.CREATED));
+                    return List.of(new SpecialityCountDTO(1L, 4));
+                })
+                .thenReturn(List.of(new SpecialityCountDTO(1L, 5)));
+
+        // When
+        List<SpecialityCountDTO> result = counts.getCounts();
+
+        // Then
+        assertThat(result).containsExactly(new SpecialityCountDTO(1L, 5));
+        verify(doctorRepository, times(2)).countDoctorsBySpeciality();
+    }
+
+    @Test
+    @DisplayName("load - Un comptage exécuté entre un commit et la réception de son delta ne devrait pas compter deux fois")
+    void load_ShouldNotCountTwice_WhenCommitInterleavesWithLoad() throws Exception {
+        // Given : une transaction crée un médecin de la spécialité 1, son delta n'est pas encore reçu
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counts.onDoctorChanged(new DoctorChangedEvent(10L, null, 1L, DoctorChangedEvent.Type.CREATED));
+
+            // La base compte déjà le médecin : le commit a eu lieu avant la requête
+            CountDownLatch queried = new CountDownLatch(1);
+            when(doctorRepository.countDoctorsBySpeciality()).thenAnswer(invocation -> {
+                queried.countDown();
+                return List.of(new SpecialityCountDTO(1L, 5));
+            });
+
+            // When : le chargement s'exécute, puis le delta du commit est reçu
+            CompletableFuture<List<SpecialityCountDTO>> loading = CompletableFuture.supplyAsync(counts::getCounts);
+            assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            // Then
+            assertThat(loading.get(5, TimeUnit.SECONDS)).containsExactly(new SpecialityCountDTO(1L, 5));
+            assertThat(counts.getCounts()).containsExactly(new SpecialityCountDTO(1L, 5));
+            verify(doctorRepository, times(2)).countDoctorsBySpeciality();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("onDoctorChanged - Une transaction annulée ne devrait appliquer aucun delta")
+    void onDoctorChanged_ShouldIgnoreRolledBackWrites() {
+        // Given
+        when(doctorRepository.countDoctorsBySpeciality()).thenReturn(List.of(new SpecialityCountDTO(1L, 4)));
+        counts.onApplicationReady();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counts.onDoctorChanged(new DoctorChangedEvent(10L, null, 1L, DoctorChangedEvent.Type.CREATED));
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(counts.getCounts()).containsExactly(new SpecialityCountDTO(1L, 4));
+    }
+
+    @Test
+    @DisplayName("load - Ne devrait pas attendre le changement en cours de la transaction de l'appelant")
+    void load_ShouldNotWaitForOwnPendingWrite() {
+        // Given : la transaction courante a changé la spécialité d'un médecin, sans avoir encore commité
+        when(doctorRepository.countDoctorsBySpeciality()).thenReturn(List.of(new SpecialityCountDTO(1L, 5)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counts.onDoctorChanged(new DoctorChangedEvent(10L, null, 1L, DoctorChangedEvent.Type.CREATED));
+
+            // When & Then : le comptage est servi aussitôt, sans être publié
+            List<SpecialityCountDTO> result = assertTimeout(Duration.ofMillis(500), counts::getCounts);
+            assertThat(result).containsExactly(new SpecialityCountDTO(1L, 5));
+            verify(doctorRepository, times(1)).countDoctorsBySpeciality();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then : l'appel suivant recharge
+        counts.getCounts();
+        verify(doctorRepository, times(2)).countDoctorsBySpeciality();
+    }
+
+    @Test
+    @DisplayName("load - Devrait abandonner après un nombre borné de tentatives sous écritures continues")
+    void load_ShouldGiveUpAfterBoundedAttempts() {
+        // Given : chaque comptage est concurrencé par un changement de spécialité
+        when(doctorRepository.countDoctorsBySpeciality()).thenAnswer(invocation -> {
+            counts.onDoctorChanged(new DoctorChangedEvent(10L, 1L, 2L, DoctorChangedEvent.Type.UPDATED));
+            return List.of(new SpecialityCountDTO(1L, 4));
+        });
+
+        // When
+        List<SpecialityCountDTO> result = counts.getCounts();
+
+        // Then : le dernier comptage est servi
+        assertThat(result).containsExactly(new SpecialityCountDTO(1L, 4));
+        verify(doctorRepository, times(SpecialityDoctorCounts.MAX_LOAD_ATTEMPTS)).countDoctorsBySpeciality();
+    }
+
+    @Test
+    @DisplayName("load - Une modification sans changement de spécialité ne devrait pas relancer le comptage")
+    void load_ShouldIgnoreEditsWithoutSpecialityChange() {
+        // Given
+        when(doctorRepository.countDoctorsBySpeciality()).thenAnswer(invocation -> {
+            counts.onDoctorChanged(new DoctorChangedEvent(10L, 1L, 1L, DoctorChangedEvent.Type.UPDATED));
+            return List.of(new SpecialityCountDTO(1L, 4));
+        });
+
+        // When & Then
+        assertThat(counts.getCounts()).containsExactly(new SpecialityCountDTO(1L, 4));
+        verify(doctorRepository, times(1)).countDoctorsBySpeciality();
+    }
+}
@@ -0,0 +1,115 @@
+package com.cabinetmedical.controller;
+
+import com.cabinetmedical.config.SecurityConfig;
+import com.cabinetmedical.dto.AvailabilityDTO;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.security.SessionTokenService;
+import com.cabinetmedical.service.AvailabilityService;
+import com.cabinetmedical.service.StaffAuthService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitaires pour AvailabilityController, filtre de session compris
+ */
+@WebMvcTest(AvailabilityController.class)
+@Import({SecurityConfig.class, SessionTokenService.class})
+@DisplayName("Tests unitaires - AvailabilityController")
+class AvailabilityControllerTest {
+
+    private static final String WEEK = """
+            [{"jour": 2, "heureDebut": "14:00", "heureFin": "18:00", "note": "Sans rendez-vous"},
+             {"jour": 1, "heureDebut": "09:00", "heureFin": "12:00"}]
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @Test
+    @DisplayName("PUT /staff/doctor/{id}/availability - Devrait rejeter en 401 une requête sans jeton")
+    void replaceWeeklySchedule_ShouldReturn401_WhenUnauthenticated() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/staff/doctor/2/availability").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"));
+
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    @DisplayName("PUT /staff/doctor/{id}/availability - Devrait rejeter en 403 un jeton patient")
+    void replaceWeeklySchedule_ShouldReturn403_ForPatientToken() throws Exception {
+        // When & Then
+        mockMvc.perform(withToken(put("/staff/doctor/2/availability"), "PATIENT")
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    @DisplayName("PUT /staff/doctor/{id}/availability - Devrait transmettre la semaine complète et retourner les plages actives")
+    void replaceWeeklySchedule_ShouldReturnActivePlages() throws Exception {
+        // Given
+        AvailabilityDTO monday = new AvailabilityDTO(1, LocalTime.of(9, 0), LocalTime.of(12, 0), null);
+        AvailabilityDTO tuesday = new AvailabilityDTO(2, LocalTime.of(14, 0), LocalTime.of(18, 0), "Sans rendez-vous");
+        when(availabilityService.replaceWeeklySchedule(2L, List.of(tuesday, monday)))
+                .thenReturn(List.of(monday, tuesday));
+
+        // When & Then
+        mockMvc.perform(withToken(put("/staff/doctor/2/availability"), StaffAuthService.STAFF_ROLE)
+                        .contentType(MediaType.APPLICATION_JSON).content(WEEK))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].jour").value(1))
+                .andExpect(jsonPath("$[0].heureDebut").value("09:00:00"))
+                .andExpect(jsonPath("$[1].note").value("Sans rendez-vous"));
+    }
+
+    @Test
+    @DisplayName("PUT /staff/doctor/{id}/availability - Devrait relayer le 400 d'un chevauchement et le 404 d'un médecin inconnu")
+    void replaceWeeklySchedule_ShouldReturnErrors() throws Exception {
+        // Given
+        when(availabilityService.replaceWeeklySchedule(eq(2L), any()))
+                .thenThrow(new IllegalArgumentException("Les plages 09:00 - 12:00 et 11:00 - 13:00 du jour 1 se chevauchent"));
+        when(availabilityService.replaceWeeklySchedule(eq(99L), any()))
+                .thenThrow(new ResourceNotFoundException("Médecin", "id", 99L));
+
+        // When & Then
+        mockMvc.perform(withToken(put("/staff/doctor/2/availability"), StaffAuthService.STAFF_ROLE)
+                        .contentType(MediaType.APPLICATION_JSON).content(WEEK))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(withToken(put("/staff/doctor/99/availability"), StaffAuthService.STAFF_ROLE)
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletRequestBuilder withToken(MockHttpServletRequestBuilder request, String role) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + sessionTokenService.issue(7L, role).value());
+    }
+}
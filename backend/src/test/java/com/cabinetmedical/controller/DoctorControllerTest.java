@@ -1,9 +1,16 @@
 package com.cabinetmedical.controller;
 
+import com.cabinetmedical.cache.DirectoryVersion;
+import com.cabinetmedical.dto.CursorPageResponse;
 import com.cabinetmedical.dto.DoctorDTO;
 import com.cabinetmedical.dto.PageResponse;
+import com.cabinetmedical.dto.SlotDTO;
 import com.cabinetmedical.dto.SpecialityDTO;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.repository.DoctorSortField;
+import com.cabinetmedical.service.DoctorExportFormat;
 import com.cabinetmedical.service.DoctorService;
+import com.cabinetmedical.service.SlotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,16 +22,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +62,14 @@ class DoctorControllerTest {
     @MockBean
     private DoctorService doctorService;
 
+    @MockBean
+    private SlotService slotService;
+
+    @MockBean
+    private DirectoryVersion directoryVersion;
+
+    private static final String ETAG = "\"d3.5f1c2a-s2.5f1b00\"";
+
     private List<DoctorDTO> mockDoctors;
     private PageResponse<DoctorDTO> mockPageResponse;
 
@@ -59,6 +85,8 @@ class DoctorControllerTest {
                 new DoctorDTO(3L, "Bernard", "Paul", "paul.bernard@cabinet.fr", "0147258369", "ORD-11111", cardiology)
         );
 
+        when(directoryVersion.doctorsEtag()).thenReturn(ETAG);
+
         mockPageResponse = new PageResponse<>(
                 mockDoctors,
                 0,      // pageNumber
@@ -102,6 +130,41 @@ class DoctorControllerTest {
         verify(doctorService, times(1)).getAllDoctors(any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("GET /doctor/allDoctors?withNextSlot=true - Devrait renseigner le prochain créneau de toute la page en un appel")
+    void getAllDoctors_ShouldAddNextSlots_WhenRequested() throws Exception {
+        // Given : le médecin 2 n'a aucun créneau libre
+        LocalDateTime nine = LocalDateTime.of(2030, 1, 7, 9, 0);
+        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+        when(slotService.getNextSlots(List.of(1L, 2L, 3L))).thenReturn(Map.of(1L, nine, 3L, nine.plusHours(2)));
+
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors").param("withNextSlot", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content[0].nextSlot").value("2030-01-07T09:00:00"))
+                .andExpect(jsonPath("$.content[1].nextSlot").doesNotExist())
+                .andExpect(jsonPath("$.content[2].nextSlot").value("2030-01-07T11:00:00"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        verify(slotService, times(1)).getNextSlots(any());
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait omettre le prochain créneau par défaut")
+    void getAllDoctors_ShouldOmitNextSlot_ByDefault() throws Exception {
+        // Given
+        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.content[0].nextSlot").doesNotExist());
+
+        verifyNoInteractions(slotService);
+    }
+
     @Test
     @DisplayName("GET /doctor/allDoctors - Devrait utiliser les paramètres de pagination par défaut")
     void getAllDoctors_ShouldUseDefaultPaginationParams_WhenNoParamsProvided() throws Exception {
@@ -195,26 +258,93 @@ class DoctorControllerTest {
     }
 
     @Test
-    @DisplayName("GET /doctor/allDoctors - Devrait trier par spécialité")
-    void getAllDoctors_ShouldSortBySpeciality() throws Exception {
+    @DisplayName("GET /doctor/allDoctors - Devrait trier les résultats d'une recherche par spécialité")
+    void searchDoctors_ShouldSortBySpeciality() throws Exception {
         // Given
-        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+        when(doctorService.searchDoctors(eq("dupont"), isNull(), any(Pageable.class))).thenReturn(mockPageResponse);
 
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
 
         // When
         mockMvc.perform(get("/doctor/allDoctors")
+                        .param("search", "dupont")
                         .param("sortBy", "specialite")
                         .param("sortDirection", "asc"))
                 .andExpect(status().isOk());
 
         // Then
-        verify(doctorService).getAllDoctors(pageableCaptor.capture());
+        verify(doctorService).searchDoctors(eq("dupont"), isNull(), pageableCaptor.capture());
         Pageable capturedPageable = pageableCaptor.getValue();
 
-        // Le tri par spécialité devrait être fait sur "specialite.nom"
-        assertThat(capturedPageable.getSort().getOrderFor("specialite.nom")).isNotNull();
-        assertThat(capturedPageable.getSort().getOrderFor("specialite.nom").getDirection()).isEqualTo(Sort.Direction.ASC);
+        // Le tri par spécialité porte sur le chemin JPA "speciality.nom"
+        assertThat(capturedPageable.getSort().getOrderFor("speciality.nom")).isNotNull();
+        assertThat(capturedPageable.getSort().getOrderFor("speciality.nom").getDirection()).isEqualTo(Sort.Direction.ASC);
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait ramener au nom un tri par spécialité non couvert par un index")
+    void getAllDoctors_ShouldDowngradeSpecialitySort() throws Exception {
+        // Given
+        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // When
+        mockMvc.perform(get("/doctor/allDoctors")
+                        .param("sortBy", "specialite")
+                        .param("sortDirection", "desc"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(doctorService).getAllDoctors(pageableCaptor.capture());
+        Sort sort = pageableCaptor.getValue().getSort();
+
+        assertThat(sort.getOrderFor("speciality.nom")).isNull();
+        assertThat(sort.getOrderFor("nom").getDirection()).isEqualTo(Sort.Direction.DESC);
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait ramener au nom un tri par email filtré par spécialité")
+    void getDoctorsBySpeciality_ShouldDowngradeUnindexedSort() throws Exception {
+        // Given
+        when(doctorService.getDoctorsBySpeciality(eq(2L), any(Pageable.class))).thenReturn(mockPageResponse);
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // When
+        mockMvc.perform(get("/doctor/allDoctors")
+                        .param("specialityId", "2")
+                        .param("sortBy", "email"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(doctorService).getDoctorsBySpeciality(eq(2L), pageableCaptor.capture());
+        Sort sort = pageableCaptor.getValue().getSort();
+
+        assertThat(sort.getOrderFor("email")).isNull();
+        assertThat(sort.getOrderFor("nom")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait départager le tri par ID dans la même direction")
+    void getAllDoctors_ShouldAddIdTieBreaker() throws Exception {
+        // Given
+        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // When
+        mockMvc.perform(get("/doctor/allDoctors")
+                        .param("sortBy", "numeroordre")
+                        .param("sortDirection", "desc"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(doctorService).getAllDoctors(pageableCaptor.capture());
+
+        assertThat(pageableCaptor.getValue().getSort().toList()).containsExactly(
+                Sort.Order.desc("numeroOrdre"),
+                Sort.Order.desc("id"));
     }
 
     @Test
@@ -448,5 +578,276 @@ class DoctorControllerTest {
         // Vérifier que le service a été appelé pour chaque champ
         verify(doctorService, times(validSortFields.length)).getAllDoctors(any(Pageable.class));
     }
-}
 
+    @Test
+    @DisplayName("GET /doctor/allDoctors/cursor - Devrait retourner la première page avec le curseur suivant")
+    void getDoctorsByCursor_ShouldReturnFirstPageWithNextCursor() throws Exception {
+        // Given
+        CursorPageResponse<DoctorDTO> cursorPage = CursorPageResponse.of(mockDoctors, 3, "curseur-suivant");
+        when(doctorService.getDoctorsAfter(isNull(), eq(DoctorSortField.NOM), eq(Sort.Direction.ASC), isNull(), eq(3)))
+                .thenReturn(cursorPage);
+
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors/cursor")
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.pageSize").value(3))
+                .andExpect(jsonPath("$.nextCursor").value("curseur-suivant"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.empty").value(false));
+
+        verify(doctorService, never()).getAllDoctors(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors/cursor - Devrait transmettre le curseur, le tri et la spécialité au service")
+    void getDoctorsByCursor_ShouldPassCursorAndSortToService() throws Exception {
+        // Given
+        when(doctorService.getDoctorsAfter(any(), any(), any(), any(), anyInt()))
+                .thenReturn(CursorPageResponse.of(List.of(), 9, null));
+
+        // When
+        mockMvc.perform(get("/doctor/allDoctors/cursor")
+                        .param("after", "abc")
+                        .param("sortBy", "prenom")
+                        .param("sortDirection", "desc")
+                        .param("specialityId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.empty").value(true));
+
+        // Then
+        verify(doctorService).getDoctorsAfter(2L, DoctorSortField.PRENOM, Sort.Direction.DESC, "abc", 9);
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors/cursor - Devrait ramener au nom un tri non couvert pour une spécialité")
+    void getDoctorsByCursor_ShouldDowngradeUnindexedSort() throws Exception {
+        // Given
+        when(doctorService.getDoctorsAfter(any(), any(), any(), any(), anyInt()))
+                .thenReturn(CursorPageResponse.of(List.of(), 9, null));
+
+        // When
+        mockMvc.perform(get("/doctor/allDoctors/cursor")
+                        .param("sortBy", "numeroOrdre")
+                        .param("sortDirection", "desc")
+                        .param("specialityId", "2"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(doctorService).getDoctorsAfter(2L, DoctorSortField.NOM, Sort.Direction.DESC, null, 9);
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors/cursor - Devrait retourner une erreur 400 pour une taille de page supérieure à 100")
+    void getDoctorsByCursor_ShouldReturn400_WhenPageSizeExceeds100() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors/cursor")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("La taille de la page ne peut pas dépasser 100"));
+
+        verify(doctorService, never()).getDoctorsAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait retourner un ETag et un Cache-Control")
+    void getAllDoctors_ShouldReturnEtagAndCacheControl() throws Exception {
+        // Given
+        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait retourner 304 sans appeler le service si l'ETag correspond")
+    void getAllDoctors_ShouldReturn304_WhenEtagMatches() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors")
+                        .param("specialityId", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+
+        verify(doctorService, never()).getAllDoctors(any(Pageable.class));
+        verify(doctorService, never()).getDoctorsBySpeciality(any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait retourner la page si l'ETag ne correspond plus")
+    void getAllDoctors_ShouldReturnPage_WhenEtagIsStale() throws Exception {
+        // Given
+        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"d2.5f0000-s2.5f1b00\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.content", hasSize(3)));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait transmettre la recherche et la spécialité au service")
+    void getAllDoctors_ShouldSearch_WhenSearchProvided() throws Exception {
+        // Given
+        when(doctorService.searchDoctors(eq("dupont"), eq(1L), any(Pageable.class))).thenReturn(mockPageResponse);
+
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors")
+                        .param("search", "dupont")
+                        .param("specialityId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)));
+
+        verify(doctorService, never()).getDoctorsBySpeciality(any(), any(Pageable.class));
+        verify(doctorService, never()).getAllDoctors(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/allDoctors - Devrait ignorer une recherche vide")
+    void getAllDoctors_ShouldIgnoreBlankSearch() throws Exception {
+        // Given
+        when(doctorService.getAllDoctors(any(Pageable.class))).thenReturn(mockPageResponse);
+
+        // When & Then
+        mockMvc.perform(get("/doctor/allDoctors")
+                        .param("search", "   "))
+                .andExpect(status().isOk());
+
+        verify(doctorService, never()).searchDoctors(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/{id} - Devrait retourner le médecin demandé")
+    void getDoctorById_ShouldReturnDoctor() throws Exception {
+        // Given
+        when(doctorService.getDoctorById(2L)).thenReturn(mockDoctors.get(1));
+
+        // When & Then
+        mockMvc.perform(get("/doctor/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(2))
+                .andExpect(jsonPath("$.nom").value("Martin"))
+                .andExpect(jsonPath("$.specialite.nom").value("Dermatologie"));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/{id} - Devrait retourner 404 si le médecin n'existe pas")
+    void getDoctorById_ShouldReturn404_WhenNotFound() throws Exception {
+        // Given
+        when(doctorService.getDoctorById(99L)).thenThrow(new ResourceNotFoundException("Médecin", "id", 99L));
+
+        // When & Then
+        mockMvc.perform(get("/doctor/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /doctor/{id}/slots - Devrait retourner les créneaux libres sur 7 jours par défaut")
+    void getFreeSlots_ShouldDefaultToNextSevenDays() throws Exception {
+        // Given
+        LocalDate today = LocalDate.now();
+        LocalDateTime debut = today.plusDays(1).atTime(9, 0);
+        when(slotService.getFreeSlots(2L, today, today.plusDays(6), 60))
+                .thenReturn(List.of(new SlotDTO(debut, debut.plusHours(1))));
+
+        // When & Then
+        mockMvc.perform(get("/doctor/2/slots").param("duree", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].debut").value(debut.toString() + ":00"))
+                .andExpect(jsonPath("$[0].fin").value(debut.plusHours(1).toString() + ":00"));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/{id}/slots - Devrait transmettre la période demandée et relayer le 400")
+    void getFreeSlots_ShouldReturn400_WhenRangeIsInvalid() throws Exception {
+        // Given
+        when(slotService.getFreeSlots(eq(2L), eq(LocalDate.of(2030, 1, 10)), eq(LocalDate.of(2030, 1, 7)), anyInt()))
+                .thenThrow(new IllegalArgumentException("La date de fin doit être postérieure ou égale à la date de début"));
+
+        // When & Then
+        mockMvc.perform(get("/doctor/2/slots").param("from", "2030-01-10").param("to", "2030-01-07"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /doctor/batch - Devrait retourner les médecins demandés en un appel")
+    void getDoctorsByIds_ShouldReturnDoctors() throws Exception {
+        // Given
+        when(doctorService.getDoctorsByIds(List.of(3L, 1L))).thenReturn(List.of(mockDoctors.get(2), mockDoctors.get(0)));
+
+        // When & Then
+        mockMvc.perform(get("/doctor/batch").param("ids", "3,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/batch - Devrait retourner une erreur 400 au-delà de 100 IDs")
+    void getDoctorsByIds_ShouldReturn400_WhenTooManyIds() throws Exception {
+        // Given
+        String ids = String.join(",", LongStream.rangeClosed(1, 101).mapToObj(Long::toString).toList());
+
+        // When & Then
+        mockMvc.perform(get("/doctor/batch").param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("La liste des IDs ne peut pas dépasser 100 éléments"));
+
+        verify(doctorService, never()).getDoctorsByIds(any());
+    }
+
+    @Test
+    @DisplayName("GET /doctor/batch - Devrait retourner une erreur 400 si un ID est vide")
+    void getDoctorsByIds_ShouldReturn400_WhenIdIsBlank() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/doctor/batch").param("ids", "1,,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("La liste des IDs ne peut pas contenir d'ID vide"));
+
+        verify(doctorService, never()).getDoctorsByIds(any());
+    }
+
+    @Test
+    @DisplayName("GET /doctor/export - Devrait diffuser l'export CSV en pièce jointe")
+    void exportDoctors_ShouldStreamCsvAttachment() throws Exception {
+        // Given
+        when(doctorService.exportDoctors(eq(3L), eq(DoctorExportFormat.CSV), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write("id,nom\r\n1,Dupont\r\n".getBytes());
+            return 1L;
+        });
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/doctor/export")
+                        .param("format", "CSV")
+                        .param("specialityId", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"medecins.csv\""))
+                .andExpect(content().string("id,nom\r\n1,Dupont\r\n"));
+    }
+
+    @Test
+    @DisplayName("GET /doctor/export - Devrait retourner une erreur 400 pour un format inconnu")
+    void exportDoctors_ShouldReturn400_WhenFormatInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/doctor/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(doctorService, never()).exportDoctors(any(), any(), any());
+    }
+}
@@ -0,0 +1,150 @@
+package com.cabinetmedical.controller;
+
+import com.cabinetmedical.cache.SpecialityCatalogue;
+import com.cabinetmedical.dto.DoctorSlotDTO;
+import com.cabinetmedical.dto.SpecialityDTO;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.service.SlotService;
+import com.cabinetmedical.service.SpecialityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests unitaires pour SpecialityController - Endpoints getAllSpecialities et getEarliestSlots
+ */
+@WebMvcTest(SpecialityController.class)
+@DisplayName("Tests unitaires - SpecialityController")
+class SpecialityControllerTest {
+
+    private static final byte[] JSON = "[{\"id\":1,\"nom\":\"Cardiologie\",\"description\":\"Cœur\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP_JSON = {0x1f, (byte) 0x8b, 0x08, 0x00};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SpecialityService specialityService;
+
+    @MockBean
+    private SpecialityCatalogue specialityCatalogue;
+
+    @MockBean
+    private SlotService slotService;
+
+    @BeforeEach
+    void setUp() {
+        when(specialityCatalogue.snapshot()).thenReturn(new SpecialityCatalogue.Snapshot(
+                List.of(new SpecialityDTO(1L, "Cardiologie", "Cœur")),
+                JSON, GZIP_JSON, "\"sabc\"", "\"sabc-gzip\""));
+    }
+
+    @Test
+    @DisplayName("GET /speciality/allSpecialities - Devrait écrire les octets JSON pré-encodés")
+    void getAllSpecialities_ShouldWritePreEncodedJson() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/speciality/allSpecialities"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/json"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"sabc\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(JSON));
+    }
+
+    @Test
+    @DisplayName("GET /speciality/allSpecialities - Devrait servir la version gzip si le client l'accepte")
+    void getAllSpecialities_ShouldServeGzip_WhenAccepted() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/speciality/allSpecialities")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"sabc-gzip\""))
+                .andExpect(content().bytes(GZIP_JSON));
+    }
+
+    @Test
+    @DisplayName("GET /speciality/allSpecialities - Devrait respecter les pondérations q de Accept-Encoding")
+    void getAllSpecialities_ShouldHonourQualityValues() throws Exception {
+        // When & Then : gzip accepté, même pondéré ou placé après un autre codage
+        for (String accepted : List.of("gzip;q=0.8", "br;q=0.5, gzip", "deflate, *", "GZIP ; Q=1.0")) {
+            mockMvc.perform(get("/speciality/allSpecialities").header(HttpHeaders.ACCEPT_ENCODING, accepted))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        }
+
+        // gzip refusé explicitement (y compris face à *) ou absent
+        for (String refused : List.of("gzip;q=0", "gzip;q=0.000, br", "*;q=0.5, gzip;q=0", "br, deflate", "identity")) {
+            mockMvc.perform(get("/speciality/allSpecialities").header(HttpHeaders.ACCEPT_ENCODING, refused))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(content().bytes(JSON));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /speciality/allSpecialities - Devrait retourner 304 si l'ETag correspond")
+    void getAllSpecialities_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/speciality/allSpecialities")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"sabc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("GET /speciality/{id}/earliest-slots - Devrait retourner les premières plages de la spécialité")
+    void getEarliestSlots_ShouldReturnMergedSlots() throws Exception {
+        // Given
+        LocalDateTime debut = LocalDateTime.of(2030, 1, 7, 9, 0);
+        when(slotService.getEarliestSlots(1L, LocalDate.of(2030, 1, 7), 2, 60)).thenReturn(List.of(
+                new DoctorSlotDTO(3L, "Martin", "Sophie", debut, debut.plusHours(1)),
+                new DoctorSlotDTO(5L, "Bernard", "Luc", debut.plusMinutes(30), debut.plusMinutes(90))));
+
+        // When & Then
+        mockMvc.perform(get("/speciality/1/earliest-slots")
+                        .param("from", "2030-01-07")
+                        .param("limit", "2")
+                        .param("duree", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].medecinId").value(3))
+                .andExpect(jsonPath("$[0].debut").value("2030-01-07T09:00:00"))
+                .andExpect(jsonPath("$[1].nom").value("Bernard"));
+    }
+
+    @Test
+    @DisplayName("GET /speciality/{id}/earliest-slots - Devrait retourner 404 si la spécialité n'existe pas")
+    void getEarliestSlots_ShouldReturnNotFound_WhenSpecialityUnknown() throws Exception {
+        // Given
+        when(slotService.getEarliestSlots(eq(99L), any(), anyInt(), anyInt()))
+                .thenThrow(new ResourceNotFoundException("Spécialité", "id", 99L));
+
+        // When & Then
+        mockMvc.perform(get("/speciality/99/earliest-slots"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,156 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.entity.Doctor;
+import com.cabinetmedical.entity.Speciality;
+import com.cabinetmedical.mapper.DoctorMapper;
+import com.cabinetmedical.mapper.DoctorRowMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mesure comparative du listing des médecins (page de 100 lignes) :
+ * entités managées + MapStruct contre projection DoctorRow
+ * Les deux chemins lisent une tranche sans requête COUNT (taille + 1 lignes) : seule la forme
+ * du résultat diffère
+ * Désactivé par défaut, lancer avec : mvn test -Dtest=DoctorListingBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.cabinetmedical=INFO"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DoctorListingBenchmarkTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1000;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SpecialityRepository specialityRepository;
+
+    @Autowired
+    private DoctorMapper doctorMapper;
+
+    @Autowired
+    private DoctorRowMapper doctorRowMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+    private final List<Long> seededIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Compléter le jeu de données pour obtenir une page pleine de 100 médecins
+        List<Speciality> specialities = specialityRepository.findAll();
+        long missing = PAGE_SIZE - doctorRepository.count();
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < missing; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setNom("Bench" + i);
+            doctor.setPrenom("Medecin" + i);
+            doctor.setEmail("bench" + i + "@cabinet.test");
+            doctor.setTelephone("0600000" + String.format("%03d", i));
+            doctor.setNumeroOrdre("BENCH-" + i);
+            doctor.setSpeciality(specialities.get(i % specialities.size()));
+            doctors.add(doctor);
+        }
+        doctorRepository.saveAll(doctors).forEach(d -> seededIds.add(d.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        doctorRepository.deleteAllById(seededIds);
+    }
+
+    @Test
+    @DisplayName("Benchmark - Projection DoctorRow contre entités + MapStruct sur une page de 100")
+    void compareEntityAndProjectionListing() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("nom").ascending());
+
+        // Avant : entités managées (snapshots de dirty-checking) puis MapStruct, même tranche
+        Supplier<List<DoctorDTO>> entityPath = () -> readOnly.execute(status ->
+                entityManager.createQuery("""
+                                SELECT d FROM Doctor d
+                                JOIN FETCH d.speciality
+                                ORDER BY d.nom ASC
+                                """, Doctor.class)
+                        .setMaxResults(PAGE_SIZE + 1)
+                        .getResultList().stream()
+                        .limit(PAGE_SIZE)
+                        .map(doctorMapper::toDTO)
+                        .toList());
+
+        // Après : projection construite par la requête, spécialités partagées
+        Supplier<List<DoctorDTO>> projectionPath = () -> readOnly.execute(status ->
+                doctorRowMapper.toDTOs(doctorRepository.sliceAllRows(pageable).getContent()));
+
+        assertThat(entityPath.get()).hasSize(PAGE_SIZE);
+        assertThat(projectionPath.get()).hasSize(PAGE_SIZE);
+
+        Measure before = measure(entityPath);
+        Measure after = measure(projectionPath);
+
+        System.out.printf("%n[benchmark] page de %d médecins, %d itérations%n", PAGE_SIZE, ITERATIONS);
+        System.out.printf("[benchmark] entités + MapStruct : %8.1f µs/page, %9d octets alloués/page%n",
+                before.micros(), before.bytes());
+        System.out.printf("[benchmark] projection DoctorRow : %8.1f µs/page, %9d octets alloués/page%n",
+                after.micros(), after.bytes());
+    }
+
+    private Measure measure(Supplier<List<DoctorDTO>> path) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP; i++) {
+            path.get();
+        }
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new Measure(elapsed / 1_000.0 / ITERATIONS, allocated / ITERATIONS);
+    }
+
+    private record Measure(double micros, long bytes) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.cabinetmedical.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour DoctorSearch
+ */
+class DoctorSearchTest {
+
+    @Test
+    @DisplayName("parse - Devrait normaliser la casse et les accents et ignorer les termes trop courts")
+    void parse_ShouldNormalizeAndDropShortTerms() {
+        // When
+        DoctorSearch search = DoctorSearch.parse("  Hélène   de  LA Fontaine  ");
+
+        // Then
+        assertThat(search.terms()).containsExactly("helene", "fontaine");
+    }
+
+    @Test
+    @DisplayName("parse - Devrait dédupliquer les termes")
+    void parse_ShouldDeduplicateTerms() {
+        // When
+        DoctorSearch search = DoctorSearch.parse("Dupont DUPONT dupônt");
+
+        // Then
+        assertThat(search.terms()).containsExactly("dupont");
+    }
+
+    @Test
+    @DisplayName("parse - Devrait rejeter une recherche sans terme de 3 caractères")
+    void parse_ShouldRejectTooShortSearch() {
+        // When & Then
+        assertThatThrownBy(() -> DoctorSearch.parse("du j"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("La recherche doit contenir au moins un terme de 3 caractères");
+    }
+
+    @Test
+    @DisplayName("parse - Devrait rejeter une recherche de plus de 5 termes")
+    void parse_ShouldRejectTooManyTerms() {
+        // When & Then
+        assertThatThrownBy(() -> DoctorSearch.parse("aaa bbb ccc ddd eee fff"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("La recherche ne peut pas contenir plus de 5 termes");
+    }
+
+    @Test
+    @DisplayName("normalize - Devrait suivre lower(unaccent()) y compris pour les ligatures")
+    void normalize_ShouldMatchUnaccent() {
+        assertThat(DoctorSearch.normalize("Œnologie Ærø Straße ÉÈÊç Łódź Ðð Þ ı"))
+                .isEqualTo("oenologie aero strasse eeec lodz dd th i");
+    }
+
+    @Test
+    @DisplayName("likePattern - Devrait échapper les caractères spéciaux de LIKE")
+    void likePattern_ShouldEscapeWildcards() {
+        assertThat(DoctorSearch.likePattern("ord_10%")).isEqualTo("%ord\\_10\\%%");
+        assertThat(DoctorSearch.likePattern("a\\b")).isEqualTo("%a\\\\b%");
+    }
+}
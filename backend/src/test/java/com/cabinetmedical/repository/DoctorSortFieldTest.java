@@ -0,0 +1,46 @@
+package com.cabinetmedical.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour le registre des clés de tri DoctorSortField
+ */
+class DoctorSortFieldTest {
+
+    @Test
+    @DisplayName("toSort - Devrait ajouter l'ID en départage dans la même direction")
+    void toSort_ShouldAppendIdTieBreaker() {
+        // When
+        Sort sort = DoctorSortField.SPECIALITE.toSort(Sort.Direction.DESC);
+
+        // Then
+        assertThat(sort.toList()).containsExactly(
+                Sort.Order.desc("speciality.nom"),
+                Sort.Order.desc("id"));
+    }
+
+    @Test
+    @DisplayName("fromParam / fromProperty - Devrait résoudre la clé publique et la propriété JPA")
+    void fromParamAndProperty_ShouldResolveRegisteredFields() {
+        // When & Then
+        assertThat(DoctorSortField.fromParam("NUMEROORDRE")).contains(DoctorSortField.NUMERO_ORDRE);
+        assertThat(DoctorSortField.fromParam("specialite.nom")).isEmpty();
+        assertThat(DoctorSortField.fromProperty("speciality.nom")).contains(DoctorSortField.SPECIALITE);
+        assertThat(DoctorSortField.fromProperty("recherche")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("isIndexed - Devrait refléter les index composites disponibles")
+    void isIndexed_ShouldMatchShippedIndexes() {
+        // Then : (specialite_id, nom, id) et (specialite_id, prenom, id) uniquement
+        assertThat(DoctorSortField.NOM.isIndexed(true)).isTrue();
+        assertThat(DoctorSortField.PRENOM.isIndexed(true)).isTrue();
+        assertThat(DoctorSortField.EMAIL.isIndexed(false)).isTrue();
+        assertThat(DoctorSortField.EMAIL.isIndexed(true)).isFalse();
+        assertThat(DoctorSortField.SPECIALITE.isIndexed(false)).isFalse();
+    }
+}
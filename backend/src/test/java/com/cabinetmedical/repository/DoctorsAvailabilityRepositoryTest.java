@@ -0,0 +1,119 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.DoctorsAvailability;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration du chargement des plannings : le nombre de requêtes SQL
+ * ne doit pas dépendre du nombre de médecins ni de plages, cache de second niveau vide
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class DoctorsAvailabilityRepositoryTest {
+
+    private static final int DOCTORS = 50;
+
+    @Autowired
+    private DoctorsAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private ScheduledDoctorsFixture fixture;
+    private List<Long> doctorIds;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 50 médecins disponibles chaque jour de 08:00 à 12:00 et de 14:00 à 18:00
+        fixture = new ScheduledDoctorsFixture(jdbcTemplate, "planning");
+        doctorIds = fixture.seed(DOCTORS);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.clear();
+    }
+
+    @Test
+    @DisplayName("findScheduleByDoctorIds - La semaine de 50 médecins est chargée en une seule requête")
+    void findScheduleByDoctorIds_ShouldLoadWeekInOneStatement() {
+        // When
+        List<DoctorsAvailability> week = inSession(() -> {
+            List<DoctorsAvailability> availabilities = availabilityRepository.findScheduleByDoctorIds(doctorIds);
+            availabilities.forEach(DoctorsAvailabilityRepositoryTest::touch);
+            return availabilities;
+        });
+
+        // Then : médecin, jour et heures initialisés par jointure
+        assertThat(week).hasSize(DOCTORS * ScheduledDoctorsFixture.AVAILABILITIES_PER_DOCTOR);
+        assertThat(week).allSatisfy(availability -> {
+            assertThat(Hibernate.isInitialized(availability.getDoctor())).isTrue();
+            assertThat(Hibernate.isInitialized(availability.getHeureFin())).isTrue();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findActiveByDoctorIds - Les associations LAZY sont chargées par lots, sans N+1")
+    void findActiveByDoctorIds_ShouldBatchFetchAssociations() {
+        // When
+        List<DoctorsAvailability> week = inSession(() -> {
+            List<DoctorsAvailability> availabilities = availabilityRepository.findActiveByDoctorIds(doctorIds);
+            availabilities.forEach(DoctorsAvailabilityRepositoryTest::touch);
+            return availabilities;
+        });
+
+        // Then : disponibilités, puis un lot pour les médecins, un pour les jours, un pour les heures
+        assertThat(week).hasSize(DOCTORS * ScheduledDoctorsFixture.AVAILABILITIES_PER_DOCTOR);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    private static void touch(DoctorsAvailability availability) {
+        availability.getDoctor().getNom();
+        availability.getJourSemaine().getNom();
+        availability.getHeureDebut().getHeure();
+        availability.getHeureFin().getHeure();
+    }
+
+    private <T> T inSession(Supplier<T> work) {
+        return readOnly.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,131 @@
+package com.cabinetmedical.repository;
+
+import com.cabinetmedical.entity.DaysOfTheWeek;
+import com.cabinetmedical.entity.Doctor;
+import com.cabinetmedical.entity.DoctorsAvailability;
+import com.cabinetmedical.entity.HoursOfTheDay;
+import com.cabinetmedical.entity.Speciality;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration du cache de second niveau des tables de référence
+ * (Speciality, DaysOfTheWeek, HoursOfTheDay) : après préchauffage, la résolution
+ * des associations LAZY ne doit plus exécuter de requête sur ces tables
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class ReferenceDataCacheTest {
+
+    private static final int DOCTORS = 50;
+
+    @Autowired
+    private DoctorsAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private ScheduledDoctorsFixture fixture;
+    private List<Long> doctorIds;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 50 médecins disponibles chaque jour de 08:00 à 12:00 et de 14:00 à 18:00
+        fixture = new ScheduledDoctorsFixture(jdbcTemplate, "cache");
+        doctorIds = fixture.seed(DOCTORS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.clear();
+    }
+
+    @Test
+    @DisplayName("Disponibilités - Une semaine pour 50 médecins sans requête sur les jours et heures après préchauffage")
+    void weekOfAvailabilities_ShouldResolveReferencesFromCache() {
+        // Given : un premier chargement remplit le cache de second niveau
+        Consumer<List<DoctorsAvailability>> touchReferences = availabilities -> availabilities.forEach(availability -> {
+            availability.getJourSemaine().getNom();
+            availability.getHeureDebut().getHeure();
+            availability.getHeureFin().getHeure();
+        });
+        inSession(() -> touchReferences.accept(availabilityRepository.findActiveByDoctorIds(doctorIds)));
+        statistics.clear();
+
+        // When : nouvelle session, nouveau chargement de la semaine
+        List<DoctorsAvailability> week = inSession(() -> {
+            List<DoctorsAvailability> availabilities = availabilityRepository.findActiveByDoctorIds(doctorIds);
+            touchReferences.accept(availabilities);
+            return availabilities;
+        });
+
+        // Then : seule la requête des disponibilités a été exécutée
+        assertThat(week).hasSize(DOCTORS * ScheduledDoctorsFixture.AVAILABILITIES_PER_DOCTOR);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(DaysOfTheWeek.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(HoursOfTheDay.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("jours-semaine").getHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("heures-jour").getHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Médecins - La spécialité LAZY est résolue depuis le cache de second niveau")
+    void doctorSpeciality_ShouldResolveFromCache() {
+        // Given
+        Consumer<List<Doctor>> touchSpecialities = doctors -> doctors.forEach(doctor -> doctor.getSpeciality().getNom());
+        inSession(() -> touchSpecialities.accept(doctorRepository.findAllById(doctorIds)));
+        statistics.clear();
+
+        // When
+        inSession(() -> touchSpecialities.accept(doctorRepository.findAllById(doctorIds)));
+
+        // Then : une seule requête IN sur les médecins, aucune sur les spécialités
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Speciality.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("specialites").getHitCount()).isPositive();
+    }
+
+    private void inSession(Runnable work) {
+        readOnly.executeWithoutResult(status -> work.run());
+    }
+
+    private <T> T inSession(java.util.function.Supplier<T> work) {
+        return readOnly.execute(status -> work.get());
+    }
+}
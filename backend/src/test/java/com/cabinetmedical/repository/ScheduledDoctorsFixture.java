@@ -0,0 +1,60 @@
+package com.cabinetmedical.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Jeu de données des tests d'intégration des plannings : des médecins répartis sur les spécialités,
+ * disponibles chaque jour de 08:00 à 12:00 et de 14:00 à 18:00 (deux plages par jour)
+ * Les médecins sont reconnus par le préfixe de leur email, propre à chaque classe de test
+ */
+class ScheduledDoctorsFixture {
+
+    /**
+     * Plages actives par médecin : 7 jours x 2 plages
+     */
+    static final int AVAILABILITIES_PER_DOCTOR = 7 * 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String prefix;
+
+    ScheduledDoctorsFixture(JdbcTemplate jdbcTemplate, String prefix) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Insère les médecins et leur semaine de disponibilités
+     * @return IDs des médecins insérés, par ordre croissant
+     */
+    List<Long> seed(int doctors) {
+        jdbcTemplate.update("""
+                INSERT INTO medecins (nom, prenom, email, numero_ordre, specialite_id, created_at, updated_at)
+                SELECT initcap(?) || i, 'Medecin', ? || i || '@cabinet.test', upper(?) || '-' || i,
+                       (SELECT id FROM specialites ORDER BY id LIMIT 1 OFFSET (i % 6)), now(), now()
+                FROM generate_series(1, ?) i
+                """, prefix, prefix, prefix, doctors);
+        jdbcTemplate.update("""
+                INSERT INTO disponibilites_medecin (medecin_id, jour_semaine_id, heure_debut_id, heure_fin_id, actif, created_at, updated_at)
+                SELECT m.id, j.id, debut.id, fin.id, true, now(), now()
+                FROM medecins m
+                CROSS JOIN jours_semaine j
+                CROSS JOIN (VALUES ('08:00'::time, '12:00'::time), ('14:00'::time, '18:00'::time)) AS plage(debut, fin)
+                JOIN heures_jour debut ON debut.heure = plage.debut
+                JOIN heures_jour fin ON fin.heure = plage.fin
+                WHERE m.email LIKE ? || '%@cabinet.test'
+                """, prefix);
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM medecins WHERE email LIKE ? || '%@cabinet.test' ORDER BY id", Long.class, prefix);
+    }
+
+    /**
+     * Supprime les disponibilités puis les médecins du jeu de données
+     */
+    void clear() {
+        jdbcTemplate.update("DELETE FROM disponibilites_medecin WHERE medecin_id IN "
+                + "(SELECT id FROM medecins WHERE email LIKE ? || '%@cabinet.test')", prefix);
+        jdbcTemplate.update("DELETE FROM medecins WHERE email LIKE ? || '%@cabinet.test'", prefix);
+    }
+}
@@ -0,0 +1,80 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour CredentialVerifier
+ */
+class CredentialVerifierTest {
+
+    /**
+     * Empreinte produite par PostgreSQL : crypt('0123456789', gen_salt('bf', 10))
+     */
+    private static final String PGCRYPTO_HASH = "$2a$10$SlqHatgkixvkNmQq8ZSb5eWP8ZBsKdeFc16tFqUvLjQ/2.0fuxqra";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CredentialVerifier verifier = new CredentialVerifier(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Test
+    @DisplayName("verify - Devrait accepter le bon téléphone, refuser les autres, sur le pool dédié")
+    void verify_ShouldMatchOnlyTheHashedSecret() {
+        // Given
+        String hash = verifier.hash("0601020304");
+
+        // When & Then
+        assertThat(hash).startsWith("$2a$10$").doesNotContain("0601020304");
+        assertThat(verifier.verify("0601020304", hash).join()).isTrue();
+        assertThat(verifier.verify("0601020305", hash).join()).isFalse();
+        assertThat(verifier.verify("0601020304", null).join()).isFalse();
+        assertThat(verifier.verify(null, hash).join()).isFalse();
+
+        // Then : sans empreinte ni secret, une comparaison factice s'exécute quand même sur le pool
+        assertThat(meterRegistry.get("auth.credentials.verify").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("verify - Devrait reconnaître les empreintes calculées par la migration pgcrypto")
+    void verify_ShouldAcceptPgcryptoHashes() {
+        assertThat(verifier.verify("0123456789", PGCRYPTO_HASH).join()).isTrue();
+    }
+
+    @Test
+    @DisplayName("verify - Devrait rejeter en 429 quand le pool et sa file sont pleins")
+    void verify_ShouldRejectWhenQueueIsFull() {
+        // Given : 1 thread occupé + 1 tâche en file
+        String hash = verifier.hash("0601020304");
+        List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+        TooManyRequestsException rejected = null;
+
+        // When
+        for (int i = 0; i < 10 && rejected == null; i++) {
+            try {
+                accepted.add(verifier.verify("0601020304", hash));
+            } catch (TooManyRequestsException e) {
+                rejected = e;
+            }
+        }
+
+        // Then
+        assertThat(rejected).isNotNull();
+        assertThat(accepted).hasSizeLessThanOrEqualTo(2);
+        assertThat(meterRegistry.get("auth.credentials.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.credentials.queue.depth").gauge().value()).isLessThanOrEqualTo(1);
+        assertThat(accepted).allMatch(CompletableFuture::join);
+    }
+}
@@ -0,0 +1,97 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.event.PatientChangedEvent;
+import com.cabinetmedical.repository.PatientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour KnownPatientEmails
+ */
+@ExtendWith(MockitoExtension.class)
+class KnownPatientEmailsTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KnownPatientEmails knownPatientEmails;
+
+    @BeforeEach
+    void setUp() {
+        knownPatientEmails = new KnownPatientEmails(patientRepository, transactionManager, 10_000, 0.01, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("mightBeKnown - Devrait tout accepter tant que le filtre n'est pas construit")
+    void mightBeKnown_ShouldFailOpenBeforeBuild() {
+        assertThat(knownPatientEmails.mightBeKnown("inconnu@email.fr")).isTrue();
+        assertThat(knownPatientEmails.mightBeKnown(" ")).isFalse();
+    }
+
+    @Test
+    @DisplayName("rebuild - Devrait reconnaître chaque email en base et écarter ~99 % des inconnus")
+    void rebuild_ShouldKnowEveryEmailAndRejectMostUnknown() {
+        // Given
+        when(patientRepository.count()).thenReturn(5_000L);
+        when(patientRepository.streamAllEmails())
+                .thenReturn(IntStream.range(0, 5_000).mapToObj(i -> "Patient" + i + "@Email.fr"));
+
+        // When
+        knownPatientEmails.rebuild();
+
+        // Then : aucun faux négatif, quelle que soit la casse saisie
+        assertThat(IntStream.range(0, 5_000))
+                .allMatch(i -> knownPatientEmails.mightBeKnown(" patient" + i + "@email.FR"));
+        long falsePositives = IntStream.range(0, 20_000)
+                .filter(i -> knownPatientEmails.mightBeKnown("inconnu" + i + "@email.fr"))
+                .count();
+        assertThat(falsePositives).isLessThan(20_000 / 100 * 2);
+
+        assertThat(meterRegistry.get("auth.login.email-filter.false-positive-rate").gauge().value()).isEqualTo(0.01);
+        assertThat(meterRegistry.get("auth.login.email-filter.size").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("auth.login.unknown-email").counter().count()).isEqualTo(20_000 - falsePositives);
+    }
+
+    @Test
+    @DisplayName("onPatientChanged / rebuild - Devrait ajouter un patient inscrit et oublier un patient supprimé")
+    void onPatientChanged_ShouldAddNewEmailsAndRebuildShouldShedDeleted() {
+        // Given
+        when(patientRepository.count()).thenReturn(1L);
+        when(patientRepository.streamAllEmails())
+                .thenReturn(Stream.of("ancien@email.fr"))
+                .thenReturn(Stream.of("nouveau@email.fr"));
+        knownPatientEmails.rebuild();
+
+        // When
+        knownPatientEmails.onPatientChanged(
+                new PatientChangedEvent(2L, "nouveau@email.fr", PatientChangedEvent.Type.CREATED));
+
+        // Then
+        assertThat(knownPatientEmails.mightBeKnown("nouveau@email.fr")).isTrue();
+        assertThat(knownPatientEmails.mightBeKnown("ancien@email.fr")).isTrue();
+
+        // When : "ancien" a été supprimé entre-temps
+        knownPatientEmails.rebuild();
+
+        // Then
+        assertThat(knownPatientEmails.mightBeKnown("nouveau@email.fr")).isTrue();
+        assertThat(knownPatientEmails.mightBeKnown("ancien@email.fr")).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour LoginRateLimiter
+ */
+class LoginRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginRateLimiter(
+                new LoginRateLimiter.Limit(3, Duration.ofMinutes(1)),
+                new LoginRateLimiter.Limit(10, Duration.ofSeconds(1)),
+                1_000, nanos::get, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("checkLoginAttempt - Devrait rejeter en 429 au-delà de la rafale par email, quelle que soit la casse")
+    void checkLoginAttempt_ShouldThrottlePerEmail() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLoginAttempt(i % 2 == 0 ? "marie@email.fr" : " Marie@Email.FR ", "10.0.0." + i);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("marie@email.fr", "10.0.0.9"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting(e -> ((TooManyRequestsException) e).getRetryAfter())
+                .isEqualTo(Duration.ofMinutes(1));
+        assertThatCode(() -> limiter.checkLoginAttempt("autre@email.fr", "10.0.0.9")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "email").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("checkLoginAttempt - Devrait rejeter une adresse IP qui essaie de nombreux emails")
+    void checkLoginAttempt_ShouldThrottlePerIp() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            limiter.checkLoginAttempt("patient" + i + "@email.fr", "10.0.0.1");
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("patient10@email.fr", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> limiter.checkLoginAttempt("patient10@email.fr", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("checkLoginAttempt - Devrait accorder de nouveau un jeton par période de remplissage")
+    void checkLoginAttempt_ShouldRefillOverTime() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLoginAttempt("marie@email.fr", "10.0.0.1");
+        }
+
+        // When
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        // Then : un seul jeton est revenu
+        assertThatCode(() -> limiter.checkLoginAttempt("marie@email.fr", "10.0.0.1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limiter.checkLoginAttempt("marie@email.fr", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("tryConsume - Devrait accorder exactement la capacité sous accès concurrents")
+    void tryConsume_ShouldGrantExactlyCapacityUnderContention() throws Exception {
+        // Given
+        TokenBucket bucket = new TokenBucket(100, Duration.ofHours(1).toNanos(), 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> {
+                if (bucket.tryConsume(0) == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(granted.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,137 @@
+package com.cabinetmedical.security;
+
+import com.cabinetmedical.controller.AuthController;
+import com.cabinetmedical.dto.LoginRequestDTO;
+import com.cabinetmedical.entity.Patient;
+import com.cabinetmedical.repository.PatientRepository;
+import com.cabinetmedical.service.AuthService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mesure de la charge SQL d'une attaque par bourrage d'identifiants sur /auth/login :
+ * 10 000 tentatives par seconde réparties sur 100 adresses IP, visant les emails de patients existants
+ * (un email inconnu est déjà écarté par le filtre de Bloom), avec et sans le limiteur de débit
+ * Désactivé par défaut, lancer avec : mvn test -Dtest=LoginThrottlingBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.cabinetmedical=ERROR",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginThrottlingBenchmarkTest {
+
+    private static final int REQUESTS_PER_SECOND = 10_000;
+    private static final int SECONDS = 3;
+    private static final int THREADS = 8;
+    private static final int IPS = 100;
+
+    @Autowired
+    private AuthController authController;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<String> emails;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        emails = patientRepository.findAll().stream().map(Patient::getEmail).toList();
+        assertThat(emails).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Benchmark - Requêtes SQL par seconde sous 10k tentatives de connexion par seconde")
+    void measureDatabaseLoadUnderCredentialStuffing() throws Exception {
+        // Avant : chaque tentative atteint la base (la requête SQL est synchrone, seule
+        // la vérification BCrypt qui suit est asynchrone : les futures ne sont pas attendus)
+        Measure unthrottled = attack((login, ip) -> authService.login(login));
+
+        // Après : le limiteur rejette en amont du service ; la première passe consomme
+        // les rafales initiales de chaque IP, la seconde mesure le régime établi
+        BiConsumer<LoginRequestDTO, String> throughController = (login, ip) -> {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+            request.setRemoteAddr(ip);
+            authController.login(login, request);
+        };
+        Measure burst = attack(throughController);
+        Measure throttled = attack(throughController);
+
+        System.out.printf("%n[benchmark] %d tentatives/s visées pendant %d s (%d IP, %d emails)%n",
+                REQUESTS_PER_SECOND, SECONDS, IPS, emails.size());
+        System.out.printf("[benchmark] sans limiteur : %7.0f tentatives/s, %7.0f requêtes SQL/s%n",
+                unthrottled.attemptsPerSecond(), unthrottled.statementsPerSecond());
+        System.out.printf("[benchmark] avec limiteur, rafales initiales : %7.0f tentatives/s, %7.0f requêtes SQL/s%n",
+                burst.attemptsPerSecond(), burst.statementsPerSecond());
+        System.out.printf("[benchmark] avec limiteur, régime établi : %7.0f tentatives/s, %7.0f requêtes SQL/s%n",
+                throttled.attemptsPerSecond(), throttled.statementsPerSecond());
+
+        assertThat(throttled.statementsPerSecond()).isLessThan(unthrottled.statementsPerSecond());
+    }
+
+    private Measure attack(BiConsumer<LoginRequestDTO, String> attempt) throws InterruptedException {
+        long perThread = (long) REQUESTS_PER_SECOND * SECONDS / THREADS;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) * THREADS / REQUESTS_PER_SECOND;
+        AtomicLong sequence = new AtomicLong();
+
+        statistics.clear();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                long next = System.nanoTime();
+                for (int i = 0; i < perThread; i++) {
+                    long n = sequence.incrementAndGet();
+                    LoginRequestDTO login = new LoginRequestDTO(emails.get((int) (n % emails.size())), "06" + n);
+                    try {
+                        attempt.accept(login, "203.0.113." + (n % IPS));
+                    } catch (RuntimeException e) {
+                        // Identifiants incorrects ou 429 : attendu
+                    }
+                    next += intervalNanos;
+                    LockSupport.parkNanos(next - System.nanoTime());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return new Measure(sequence.get() / seconds, statistics.getPrepareStatementCount() / seconds);
+    }
+
+    private record Measure(double attemptsPerSecond, double statementsPerSecond) {
+    }
+}
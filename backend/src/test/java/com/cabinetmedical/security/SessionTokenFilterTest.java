@@ -0,0 +1,68 @@
+package com.cabinetmedical.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour SessionTokenFilter
+ */
+class SessionTokenFilterTest {
+
+    private final SessionTokenService tokenService =
+            new SessionTokenService(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofHours(8));
+    private final SessionTokenFilter filter =
+            new SessionTokenFilter(tokenService, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    @DisplayName("doFilter - Devrait laisser passer un jeton valide et déposer le SessionPrincipal")
+    void doFilter_ShouldExposePrincipalForValidToken() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/session");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(7L, "PATIENT").value());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isSameAs(request);
+        SessionPrincipal principal = (SessionPrincipal) request.getAttribute(SessionPrincipal.REQUEST_ATTRIBUTE);
+        assertThat(principal.patientId()).isEqualTo(7L);
+        assertThat(principal.role()).isEqualTo("PATIENT");
+    }
+
+    @Test
+    @DisplayName("doFilter - Devrait répondre 401 sans appeler la suite de la chaîne si le jeton est absent ou invalide")
+    void doFilter_ShouldRejectMissingOrInvalidToken() throws Exception {
+        for (String header : new String[]{null, "Bearer abc.def", "Basic dXNlcjpwYXNz"}) {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/session");
+            if (header != null) {
+                request.addHeader(HttpHeaders.AUTHORIZATION, header);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            // When
+            filter.doFilter(request, response, chain);
+
+            // Then
+            assertThat(response.getStatus()).isEqualTo(401);
+            assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+            assertThat(response.getContentAsString()).contains("\"status\":401");
+            assertThat(chain.getRequest()).isNull();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.cabinetmedical.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour SessionTokenService
+ */
+class SessionTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2024-01-15T10:00:00Z");
+
+    private final SessionTokenService service =
+            new SessionTokenService(SECRET, Duration.ofHours(8), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("verify - Devrait restituer le patient et le rôle d'un jeton émis")
+    void verify_ShouldReturnPrincipalOfIssuedToken() {
+        // Given
+        SessionTokenService.SessionToken token = service.issue(12L, "PATIENT");
+
+        // When & Then
+        assertThat(token.expiresAt()).isEqualTo(NOW.plus(Duration.ofHours(8)));
+        assertThat(service.verify(token.value()))
+                .contains(new SessionPrincipal(12L, "PATIENT", token.expiresAt()));
+    }
+
+    @Test
+    @DisplayName("verify - Devrait rejeter un jeton altéré, signé avec un autre secret ou mal formé")
+    void verify_ShouldRejectTamperedOrForeignTokens() {
+        // Given
+        String token = service.issue(12L, "PATIENT").value();
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("13:PATIENT:9999999999".getBytes()) + token.substring(token.indexOf('.'));
+        byte[] otherSecret = new byte[32];
+        Arrays.fill(otherSecret, (byte) 1);
+        SessionTokenService otherNode = new SessionTokenService(
+                Base64.getEncoder().encodeToString(otherSecret), Duration.ofHours(8), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When & Then
+        assertThat(service.verify(forged)).isEmpty();
+        assertThat(otherNode.verify(token)).isEmpty();
+        assertThat(service.verify("pas-un-jeton")).isEmpty();
+        assertThat(service.verify(token + ".x")).isEmpty();
+        assertThat(service.verify(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify - Devrait rejeter un jeton expiré")
+    void verify_ShouldRejectExpiredToken() {
+        // Given
+        String token = service.issue(12L, "PATIENT").value();
+        SessionTokenService later = new SessionTokenService(
+                SECRET, Duration.ofHours(8), Clock.fixed(NOW.plus(Duration.ofHours(8)), ZoneOffset.UTC));
+
+        // When & Then
+        assertThat(later.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("constructeur - Devrait refuser un secret de moins de 32 octets")
+    void constructor_ShouldRejectShortSecret() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThatThrownBy(() -> new SessionTokenService(shortSecret, Duration.ofHours(8), Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,170 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.AppointmentRequestDTO;
+import com.cabinetmedical.exception.ConflictException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test du moteur de réservation : 16 threads réservent en rafale des plages de 30 min,
+ * réparties sur 1, 2, 4 puis 8 médecins. Une demande sur quatre vise une plage déjà prise
+ * (409 attendu). Mesure le débit de réservations et vérifie qu'aucun chevauchement n'a été écrit
+ *
+ * Le débit doit croître quasi linéairement avec le nombre de médecins : chaque manche doit atteindre
+ * au moins la moitié du facteur idéal (nombre de médecins) par rapport à la manche à 1 médecin,
+ * plafonné par le pool de connexions et par le parallélisme de la machine
+ * (-Dbenchmark.parallelism, par défaut 4 x cœurs : une réservation attend surtout la base)
+ * Désactivé par défaut, lancer avec : mvn test -Dtest=AppointmentBookingBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.cabinetmedical=ERROR"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AppointmentBookingBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int BOOKINGS_PER_THREAD = 200;
+    private static final int[] DOCTOR_COUNTS = {1, 2, 4, 8};
+    private static final double MIN_SCALING_EFFICIENCY = 0.5;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private List<Long> doctorIds;
+    private Long patientId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO medecins (nom, prenom, email, numero_ordre, specialite_id, created_at, updated_at)
+                SELECT 'Stress' || i, 'Medecin', 'stress' || i || '@cabinet.test', 'STRESS-' || i,
+                       (SELECT id FROM specialites ORDER BY id LIMIT 1), now(), now()
+                FROM generate_series(1, 8) i
+                """);
+        doctorIds = jdbcTemplate.queryForList(
+                "SELECT id FROM medecins WHERE email LIKE 'stress%@cabinet.test' ORDER BY id", Long.class);
+        patientId = jdbcTemplate.queryForObject("SELECT id FROM patients ORDER BY id LIMIT 1", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rendez_vous WHERE medecin_id IN (SELECT id FROM medecins WHERE email LIKE 'stress%@cabinet.test')");
+        jdbcTemplate.update("DELETE FROM medecins WHERE email LIKE 'stress%@cabinet.test'");
+    }
+
+    @Test
+    @DisplayName("Benchmark - Débit de réservation selon le nombre de médecins sollicités en parallèle")
+    void measureThroughputByDistinctDoctors() throws Exception {
+        // Préchauffage : chargement des agendas et JIT
+        run(DOCTOR_COUNTS[DOCTOR_COUNTS.length - 1], 0);
+
+        int parallelism = Math.min(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize(),
+                Integer.getInteger("benchmark.parallelism", 4 * Runtime.getRuntime().availableProcessors()));
+
+        SoftAssertions scaling = new SoftAssertions();
+        double baseline = 0;
+        System.out.printf("%n[benchmark] %d threads, %d demandes par thread (1 sur 4 en conflit), parallélisme %d%n",
+                THREADS, BOOKINGS_PER_THREAD, parallelism);
+        for (int round = 0; round < DOCTOR_COUNTS.length; round++) {
+            int doctors = DOCTOR_COUNTS[round];
+            Measure measure = run(doctors, round + 1);
+            if (round == 0) {
+                baseline = measure.bookingsPerSecond();
+            }
+            double ratio = measure.bookingsPerSecond() / baseline;
+            double expected = MIN_SCALING_EFFICIENCY * Math.min(doctors, parallelism);
+            System.out.printf("[benchmark] %d médecin(s) : %7.0f réservations/s, %5d réservés, %5d conflits (x%.1f, minimum x%.1f)%n",
+                    doctors, measure.bookingsPerSecond(), measure.booked(), measure.conflicts(), ratio, expected);
+            scaling.assertThat(ratio)
+                    .as("facteur de débit à %d médecin(s) par rapport à 1 médecin", doctors)
+                    .isGreaterThanOrEqualTo(expected);
+        }
+
+        assertThat(countOverlaps()).isZero();
+        scaling.assertAll();
+    }
+
+    /**
+     * Une manche de réservations ; chaque manche utilise une année différente (2 400 plages = 50 jours)
+     */
+    private Measure run(int doctors, int round) throws InterruptedException {
+        LocalDateTime origin = LocalDateTime.now().plusYears(round + 1).truncatedTo(ChronoUnit.DAYS);
+        AtomicLongArray nextSlot = new AtomicLongArray(doctors);
+        AtomicLong booked = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicInteger threadIds = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                int thread = threadIds.getAndIncrement();
+                int doctor = thread % doctors;
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    // 3 demandes sur 4 prennent la plage suivante, la 4e reprend une plage déjà attribuée
+                    long slot = i % 4 == 3
+                            ? Math.max(0, nextSlot.get(doctor) - 1)
+                            : nextSlot.getAndIncrement(doctor);
+                    AppointmentRequestDTO request = new AppointmentRequestDTO(doctorIds.get(doctor),
+                            origin.plusMinutes(30 * slot), 30, "Stress");
+                    try {
+                        appointmentService.book(patientId, request);
+                        booked.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return new Measure(booked.get() / seconds, booked.get(), conflicts.get());
+    }
+
+    private long countOverlaps() {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM rendez_vous a JOIN rendez_vous b
+                  ON a.medecin_id = b.medecin_id AND a.id < b.id
+                 AND a.date_heure_debut < b.date_heure_fin AND b.date_heure_debut < a.date_heure_fin
+                WHERE a.statut <> 'ANNULE' AND b.statut <> 'ANNULE'
+                """, Long.class);
+    }
+
+    private record Measure(double bookingsPerSecond, long booked, long conflicts) {
+    }
+}
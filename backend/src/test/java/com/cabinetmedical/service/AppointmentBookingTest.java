@@ -0,0 +1,198 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.AppointmentDTO;
+import com.cabinetmedical.dto.AppointmentRequestDTO;
+import com.cabinetmedical.entity.Appointement;
+import com.cabinetmedical.exception.ConflictException;
+import com.cabinetmedical.repository.AppointementRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests d'intégration du moteur de réservation : index en mémoire et contrainte
+ * d'exclusion ex_rdv_medecin_chevauchement
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentBookingTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointementRepository appointementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long doctorId;
+    private Long patientId;
+    private LocalDateTime nine;
+
+    @BeforeEach
+    void setUp() {
+        // Un médecin neuf par test : son agenda n'est pas encore dans l'index
+        doctorId = jdbcTemplate.queryForObject("""
+                INSERT INTO medecins (nom, prenom, email, numero_ordre, specialite_id, created_at, updated_at)
+                SELECT 'Agenda', 'Medecin', 'agenda-' || n || '@cabinet.test', 'AGENDA-' || n,
+                       (SELECT id FROM specialites ORDER BY id LIMIT 1), now(), now()
+                FROM (SELECT (extract(epoch FROM clock_timestamp()) * 1000000)::bigint AS n) s
+                RETURNING id
+                """, Long.class);
+        patientId = jdbcTemplate.queryForObject("SELECT id FROM patients ORDER BY id LIMIT 1", Long.class);
+        nine = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.DAYS).withHour(9);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rendez_vous WHERE medecin_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM medecins WHERE id = ?", doctorId);
+    }
+
+    @Test
+    @DisplayName("book - Devrait refuser en 409 un chevauchement et accepter un rendez-vous contigu")
+    void book_ShouldRejectOverlapAndAcceptAdjacent() {
+        // Given
+        AppointmentDTO first = appointmentService.book(patientId, request(nine, 60));
+
+        // When & Then
+        assertThat(first.id()).isNotNull();
+        assertThat(first.dateHeureFin()).isEqualTo(nine.plusHours(1));
+        assertThatThrownBy(() -> appointmentService.book(patientId, request(nine.plusMinutes(30), 30)))
+                .isInstanceOf(ConflictException.class);
+        assertThat(appointmentService.book(patientId, request(nine.plusHours(1), 30)).id()).isNotNull();
+        assertThat(countAppointments()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("book - Devrait traduire en 409 un chevauchement que seule la base connaît, puis libérer la plage")
+    void book_ShouldMapExclusionViolationToConflict() {
+        // Given : l'agenda est chargé, puis une autre instance enregistre 10:00 - 11:00
+        appointmentService.book(patientId, request(nine, 60));
+        insertBehindIndex(nine.plusHours(1), nine.plusHours(2));
+
+        // When & Then
+        assertThatThrownBy(() -> appointmentService.book(patientId, request(nine.plusMinutes(90), 60)))
+                .isInstanceOf(ConflictException.class);
+
+        // When : le rendez-vous concurrent disparaît, la plage provisoire ne doit pas rester bloquée
+        jdbcTemplate.update("DELETE FROM rendez_vous WHERE medecin_id = ? AND motif = 'concurrent'", doctorId);
+
+        // Then
+        assertThat(appointmentService.book(patientId, request(nine.plusMinutes(90), 60)).id()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("contrainte d'exclusion - Devrait ignorer les rendez-vous annulés")
+    void exclusionConstraint_ShouldIgnoreCancelledAppointments() {
+        // Given
+        AppointmentDTO booked = appointmentService.book(patientId, request(nine, 60));
+
+        // When & Then : la base rejette un chevauchement même hors du service
+        assertThatThrownBy(() -> insertBehindIndex(nine.plusMinutes(30), nine.plusMinutes(90)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // When
+        appointmentService.cancel(patientId, booked.id());
+
+        // Then : le créneau annulé est de nouveau réservable, en mémoire comme en base
+        assertThat(appointmentService.book(patientId, request(nine, 60)).id()).isNotNull();
+        assertThat(countAppointments()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("book - 16 patients sur des plages qui se chevauchent : aucun double rendez-vous")
+    void book_ShouldNeverDoubleBookUnderContention() throws Exception {
+        // Given : 16 demandes de 60 min décalées de 15 min (chacune chevauche ses 3 voisines)
+        int requests = 16;
+        CountDownLatch ready = new CountDownLatch(requests);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < requests; i++) {
+            LocalDateTime start = nine.plusMinutes(15L * i);
+            Callable<Boolean> booking = () -> {
+                ready.countDown();
+                go.await();
+                try {
+                    appointmentService.book(patientId, request(start, 60));
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            };
+            outcomes.add(executor.submit(booking));
+        }
+        ready.await(5, TimeUnit.SECONDS);
+        go.countDown();
+        long booked = 0;
+        for (Future<Boolean> outcome : outcomes) {
+            booked += outcome.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Then : 3 ou 4 rendez-vous selon l'ordre d'arrivée (09:00 - 13:45), jamais deux qui se recouvrent
+        assertThat(booked).isBetween(3L, 4L).isEqualTo(countAppointments());
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM rendez_vous a JOIN rendez_vous b
+                  ON a.medecin_id = b.medecin_id AND a.id < b.id
+                 AND a.date_heure_debut < b.date_heure_fin AND b.date_heure_debut < a.date_heure_fin
+                WHERE a.medecin_id = ?
+                """, Long.class, doctorId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Appointement - Devrait rejeter l'écriture d'un statut lu avant une annulation concurrente")
+    void version_ShouldRejectStaleStatusChange() {
+        // Given : une copie du rendez-vous lue avant son annulation
+        AppointmentDTO booked = appointmentService.book(patientId, request(nine, 60));
+        Appointement stale = appointementRepository.findById(booked.id()).orElseThrow();
+        appointmentService.cancel(patientId, booked.id());
+
+        // When & Then
+        stale.setStatut(Appointement.StatutRendezVous.TERMINE);
+        assertThatThrownBy(() -> appointementRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT statut FROM rendez_vous WHERE id = ?", String.class, booked.id())).isEqualTo("ANNULE");
+    }
+
+    private AppointmentRequestDTO request(LocalDateTime start, int minutes) {
+        return new AppointmentRequestDTO(doctorId, start, minutes, "Consultation");
+    }
+
+    private void insertBehindIndex(LocalDateTime start, LocalDateTime end) {
+        jdbcTemplate.update("""
+                INSERT INTO rendez_vous (patient_id, medecin_id, date_heure_debut, date_heure_fin, statut, motif, created_at)
+                VALUES (?, ?, ?, ?, 'CONFIRME', 'concurrent', now())
+                """, patientId, doctorId, start, end);
+    }
+
+    private long countAppointments() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM rendez_vous WHERE medecin_id = ?", Long.class, doctorId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour AppointmentWriteLocks
+ */
+class AppointmentWriteLocksTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("stripeIndex - Devrait arrondir à une puissance de 2 et répartir les médecins consécutifs")
+    void stripeIndex_ShouldSpreadConsecutiveDoctors() {
+        // Given
+        AppointmentWriteLocks locks = new AppointmentWriteLocks(100, Duration.ofSeconds(1), meterRegistry);
+
+        // When & Then
+        assertThat(locks.size()).isEqualTo(128);
+        assertThat(LongStream.rangeClosed(1, 128).map(id -> locks.stripeIndex(id)).distinct().count())
+                .isEqualTo(128);
+        assertThat(locks.stripeIndex(129L)).isEqualTo(locks.stripeIndex(1L));
+    }
+
+    @Test
+    @DisplayName("withDoctorLock - Devrait faire attendre le même médecin, pas un autre, puis rejeter en 429")
+    void withDoctorLock_ShouldSerializeSameDoctorOnly() throws Exception {
+        // Given : le médecin 1 est verrouillé par une écriture en cours
+        AppointmentWriteLocks locks = new AppointmentWriteLocks(16, Duration.ofMillis(100), meterRegistry);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> writer = executor.submit(() -> locks.withDoctorLock(1L, () -> {
+            held.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When & Then
+            assertThat(locks.withDoctorLock(2L, () -> "autre médecin")).isEqualTo("autre médecin");
+            assertThatThrownBy(() -> locks.withDoctorLock(1L, () -> "même médecin"))
+                    .isInstanceOf(TooManyRequestsException.class);
+            assertThat(meterRegistry.get("appointments.lock.timeouts").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        assertThat(writer.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(locks.withDoctorLock(1L, () -> "libéré")).isEqualTo("libéré");
+    }
+}
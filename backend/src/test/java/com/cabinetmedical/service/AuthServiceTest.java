@@ -0,0 +1,96 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.LoginRequestDTO;
+import com.cabinetmedical.dto.LoginResponseDTO;
+import com.cabinetmedical.entity.Patient;
+import com.cabinetmedical.repository.PatientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests d'intégration de la connexion des patients créés ou modifiés par l'application
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceTest {
+
+    private static final String EMAIL = "inscription@cabinet.test";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        // Un patient inscrit par JPA, après la migration des empreintes
+        Patient created = new Patient();
+        created.setNom("Inscrit");
+        created.setPrenom("Patient");
+        created.setEmail(EMAIL);
+        created.setTelephone("0611223344");
+        patient = patientRepository.save(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM patients WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    @DisplayName("login - Un patient créé par JPA devrait pouvoir se connecter")
+    void login_ShouldAcceptPatientCreatedThroughJpa() {
+        // Then : l'empreinte est écrite à l'insertion
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT telephone_hash FROM patients WHERE email = ?", String.class, EMAIL)).startsWith("$2a$10$");
+
+        // When
+        LoginResponseDTO response = authService.login(new LoginRequestDTO(EMAIL, "0611223344")).join();
+
+        // Then
+        assertThat(response.id()).isEqualTo(patient.getId());
+        assertThat(response.token()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("login - Après un changement de téléphone, seul le nouveau numéro est accepté")
+    void login_ShouldFollowTelephoneChange() {
+        // Given
+        Patient loaded = patientRepository.findById(patient.getId()).orElseThrow();
+        loaded.setTelephone("0699887766");
+
+        // When
+        patientRepository.save(loaded);
+
+        // Then
+        assertThat(authService.login(new LoginRequestDTO(EMAIL, "0699887766")).join().id()).isEqualTo(patient.getId());
+        assertThatThrownBy(() -> authService.login(new LoginRequestDTO(EMAIL, "0611223344")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("Email ou mot de passe incorrect");
+    }
+
+    @Test
+    @DisplayName("login - Un email inconnu est rejeté de façon asynchrone, après une vérification factice")
+    void login_ShouldRejectUnknownEmailAfterDummyCheck() {
+        assertThatThrownBy(() -> authService.login(new LoginRequestDTO("inconnu@cabinet.test", "0611223344")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("Email ou mot de passe incorrect");
+    }
+}
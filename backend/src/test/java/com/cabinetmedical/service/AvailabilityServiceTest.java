@@ -0,0 +1,168 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.AvailabilityDTO;
+import com.cabinetmedical.event.AvailabilityChangedEvent;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests d'intégration de la réécriture de la semaine type d'un médecin
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class AvailabilityServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private WeeklyTemplateService weeklyTemplateService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long doctorId;
+
+    @BeforeEach
+    void setUp() {
+        // Un médecin neuf : lundi 09:00 - 12:00, mardi 14:00 - 18:00, jeudi 09:00 - 12:00,
+        // et une plage du mercredi désactivée
+        doctorId = jdbcTemplate.queryForObject("""
+                INSERT INTO medecins (nom, prenom, email, numero_ordre, specialite_id, created_at, updated_at)
+                SELECT 'Planning', 'Medecin', 'semaine-type-' || n || '@cabinet.test', 'SEMT-' || n,
+                       (SELECT id FROM specialites ORDER BY id LIMIT 1), now(), now()
+                FROM (SELECT (extract(epoch FROM clock_timestamp()) * 1000000)::bigint AS n) s
+                RETURNING id
+                """, Long.class);
+        insertAvailability(1, "09:00", "12:00", true);
+        insertAvailability(2, "14:00", "18:00", true);
+        insertAvailability(3, "09:00", "12:00", false);
+        insertAvailability(4, "09:00", "12:00", true);
+        weeklyTemplateService.rebuildAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM disponibilites_medecin WHERE medecin_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM medecins WHERE id = ?", doctorId);
+    }
+
+    @Test
+    @DisplayName("replaceWeeklySchedule - Devrait n'écrire que les différences et notifier une seule fois le médecin")
+    void replaceWeeklySchedule_ShouldApplyMinimalDiff() {
+        // Given
+        Map<Integer, Long> idsByDay = idsByDay();
+        List<AvailabilityDTO> week = List.of(
+                new AvailabilityDTO(5, LocalTime.of(8, 0), LocalTime.of(10, 0), null),
+                new AvailabilityDTO(1, LocalTime.of(9, 0), LocalTime.of(12, 0), null),
+                new AvailabilityDTO(2, LocalTime.of(14, 0), LocalTime.of(17, 0), null),
+                new AvailabilityDTO(3, LocalTime.of(9, 0), LocalTime.of(12, 0), "Retour"));
+
+        // When
+        List<AvailabilityDTO> schedule = availabilityService.replaceWeeklySchedule(doctorId, week);
+
+        // Then : lundi inchangé, mardi raccourci, mercredi réactivé, jeudi désactivé, vendredi ajouté
+        assertThat(schedule).extracting(AvailabilityDTO::jour).containsExactly(1, 2, 3, 5);
+        assertThat(schedule.get(2).note()).isEqualTo("Retour");
+        assertThat(idsByDay()).containsAllEntriesOf(idsByDay).hasSize(5);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT j.numero_jour FROM disponibilites_medecin d JOIN jours_semaine j ON j.id = d.jour_semaine_id
+                WHERE d.medecin_id = ? AND d.actif ORDER BY j.numero_jour
+                """, Integer.class, doctorId)).containsExactly(1, 2, 3, 5);
+        assertThat(events.stream(AvailabilityChangedEvent.class))
+                .containsExactly(new AvailabilityChangedEvent(doctorId));
+
+        // Then : semaine type compacte réécrite après le commit
+        assertThat(weeklyTemplateService.getTemplate(doctorId).expand(MONDAY, 7)).containsExactly(
+                SlotBitmaps.range(18, 24), SlotBitmaps.range(28, 34), SlotBitmaps.range(18, 24),
+                0L, SlotBitmaps.range(16, 20), 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("replaceWeeklySchedule - Une semaine identique ne produit ni écriture ni notification")
+    void replaceWeeklySchedule_ShouldSkipUnchangedWeek() {
+        // Given
+        List<AvailabilityDTO> week = List.of(
+                new AvailabilityDTO(1, LocalTime.of(9, 0), LocalTime.of(12, 0), null),
+                new AvailabilityDTO(2, LocalTime.of(14, 0), LocalTime.of(18, 0), null),
+                new AvailabilityDTO(4, LocalTime.of(9, 0), LocalTime.of(12, 0), null));
+
+        // When
+        List<AvailabilityDTO> schedule = availabilityService.replaceWeeklySchedule(doctorId, week);
+
+        // Then
+        assertThat(schedule).hasSize(3);
+        assertThat(events.stream(AvailabilityChangedEvent.class)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM disponibilites_medecin WHERE medecin_id = ? AND updated_at IS NOT NULL",
+                Integer.class, doctorId)).isZero();
+    }
+
+    @Test
+    @DisplayName("replaceWeeklySchedule - Devrait rejeter un chevauchement, une heure hors grille et un médecin inconnu")
+    void replaceWeeklySchedule_ShouldRejectInvalidWeek() {
+        // When & Then
+        assertThatThrownBy(() -> availabilityService.replaceWeeklySchedule(doctorId, List.of(
+                new AvailabilityDTO(1, LocalTime.of(9, 0), LocalTime.of(12, 0), null),
+                new AvailabilityDTO(1, LocalTime.of(11, 0), LocalTime.of(13, 0), null))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("chevauchent");
+        assertThatThrownBy(() -> availabilityService.replaceWeeklySchedule(doctorId, List.of(
+                new AvailabilityDTO(1, LocalTime.of(9, 15), LocalTime.of(12, 0), null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> availabilityService.replaceWeeklySchedule(-1L, List.of()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // Then : rien n'a été écrit
+        assertThat(events.stream(AvailabilityChangedEvent.class)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM disponibilites_medecin WHERE medecin_id = ? AND actif", Integer.class, doctorId))
+                .isEqualTo(3);
+    }
+
+    private Map<Integer, Long> idsByDay() {
+        return jdbcTemplate.query("""
+                SELECT j.numero_jour, d.id FROM disponibilites_medecin d JOIN jours_semaine j ON j.id = d.jour_semaine_id
+                WHERE d.medecin_id = ?
+                """, rs -> {
+            Map<Integer, Long> ids = new HashMap<>();
+            while (rs.next()) {
+                ids.put(rs.getInt(1), rs.getLong(2));
+            }
+            return ids;
+        }, doctorId);
+    }
+
+    private void insertAvailability(int numeroJour, String debut, String fin, boolean actif) {
+        jdbcTemplate.update("""
+                INSERT INTO disponibilites_medecin (medecin_id, jour_semaine_id, heure_debut_id, heure_fin_id, actif, created_at)
+                SELECT ?, j.id, d.id, f.id, ?, now()
+                FROM jours_semaine j, heures_jour d, heures_jour f
+                WHERE j.numero_jour = ? AND d.heure = ?::time AND f.heure = ?::time
+                """, doctorId, actif, numeroJour, debut, fin);
+    }
+}
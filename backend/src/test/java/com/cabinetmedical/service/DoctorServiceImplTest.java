@@ -1,12 +1,19 @@
 package com.cabinetmedical.service;
 
+import com.cabinetmedical.cache.DoctorCountCache;
+import com.cabinetmedical.dto.CursorPageResponse;
 import com.cabinetmedical.dto.DoctorDTO;
 import com.cabinetmedical.dto.PageResponse;
+import com.cabinetmedical.dto.SliceResponse;
 import com.cabinetmedical.dto.SpecialityDTO;
-import com.cabinetmedical.entity.Doctor;
 import com.cabinetmedical.entity.Speciality;
-import com.cabinetmedical.mapper.DoctorMapper;
+import com.cabinetmedical.event.DoctorChangedEvent;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.mapper.DoctorRowMapper;
 import com.cabinetmedical.repository.DoctorRepository;
+import com.cabinetmedical.repository.DoctorRow;
+import com.cabinetmedical.repository.DoctorSearch;
+import com.cabinetmedical.repository.DoctorSortField;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,17 +22,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,16 +52,21 @@ class DoctorServiceImplTest {
     @Mock
     private DoctorRepository doctorRepository;
 
-    @Mock
-    private DoctorMapper doctorMapper;
+    @Spy
+    private DoctorRowMapper doctorRowMapper = new DoctorRowMapper();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private DoctorCountCache doctorCountCache = new DoctorCountCache();
 
     @InjectMocks
     private DoctorServiceImpl doctorService;
 
-    private List<Doctor> mockDoctorEntities;
+    private List<DoctorRow> mockDoctorRows;
     private List<DoctorDTO> mockDoctorDTOs;
     private Pageable pageable;
-    private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() throws IOException {
@@ -65,19 +84,10 @@ class DoctorServiceImplTest {
 
         // Charger les médecins depuis le fichier JSON
         List<Map<String, Object>> doctorsData = loadJsonFile("doctorsMock.json");
-        mockDoctorEntities = new ArrayList<>();
+        mockDoctorRows = new ArrayList<>();
         mockDoctorDTOs = new ArrayList<>();
 
         for (Map<String, Object> docData : doctorsData) {
-            // Créer l'entité Doctor
-            Doctor doctor = new Doctor();
-            doctor.setId(((Number) docData.get("id")).longValue());
-            doctor.setNom((String) docData.get("nom"));
-            doctor.setPrenom((String) docData.get("prenom"));
-            doctor.setEmail((String) docData.get("email"));
-            doctor.setTelephone((String) docData.get("telephone"));
-            doctor.setNumeroOrdre((String) docData.get("numeroOrdre"));
-
             // Associer la spécialité
             Map<String, Object> specData = (Map<String, Object>) docData.get("specialite");
             Long specId = ((Number) specData.get("id")).longValue();
@@ -85,8 +95,20 @@ class DoctorServiceImplTest {
                     .filter(s -> s.getId().equals(specId))
                     .findFirst()
                     .orElseThrow();
-            doctor.setSpeciality(speciality);
-            mockDoctorEntities.add(doctor);
+
+            // Créer la projection DoctorRow retournée par le repository
+            DoctorRow row = new DoctorRow(
+                    ((Number) docData.get("id")).longValue(),
+                    (String) docData.get("nom"),
+                    (String) docData.get("prenom"),
+                    (String) docData.get("email"),
+                    (String) docData.get("telephone"),
+                    (String) docData.get("numeroOrdre"),
+                    speciality.getId(),
+                    speciality.getNom(),
+                    speciality.getDescription()
+            );
+            mockDoctorRows.add(row);
 
             // Créer le DTO correspondant
             SpecialityDTO specialityDTO = new SpecialityDTO(
@@ -96,12 +118,12 @@ class DoctorServiceImplTest {
             );
 
             DoctorDTO doctorDTO = new DoctorDTO(
-                    doctor.getId(),
-                    doctor.getNom(),
-                    doctor.getPrenom(),
-                    doctor.getEmail(),
-                    doctor.getTelephone(),
-                    doctor.getNumeroOrdre(),
+                    row.id(),
+                    row.nom(),
+                    row.prenom(),
+                    row.email(),
+                    row.telephone(),
+                    row.numeroOrdre(),
                     specialityDTO
             );
             mockDoctorDTOs.add(doctorDTO);
@@ -122,17 +144,21 @@ class DoctorServiceImplTest {
         }
     }
 
+    /**
+     * Simule la lecture d'une page : tranche de projections sans COUNT + requête de comptage
+     */
+    private void givenDoctorPage(Page<DoctorRow> page) {
+        when(doctorRepository.sliceAllRows(page.getPageable()))
+                .thenReturn(new SliceImpl<>(page.getContent(), page.getPageable(), page.hasNext()));
+        when(doctorRepository.count()).thenReturn(page.getTotalElements());
+    }
+
     @Test
     @DisplayName("getAllDoctors - Devrait retourner une page de médecins avec succès")
     void getAllDoctors_ShouldReturnPageOfDoctors_WhenSuccessful() {
         // Given
-        Page<Doctor> doctorPage = new PageImpl<>(mockDoctorEntities, pageable, mockDoctorEntities.size());
-        when(doctorRepository.findAllWithSpecialite(pageable)).thenReturn(doctorPage);
-
-        // Configurer le mapper pour chaque médecin
-        when(doctorMapper.toDTO(mockDoctorEntities.get(0))).thenReturn(mockDoctorDTOs.get(0));
-        when(doctorMapper.toDTO(mockDoctorEntities.get(1))).thenReturn(mockDoctorDTOs.get(1));
-        when(doctorMapper.toDTO(mockDoctorEntities.get(2))).thenReturn(mockDoctorDTOs.get(2));
+        Page<DoctorRow> doctorPage = new PageImpl<>(mockDoctorRows, pageable, mockDoctorRows.size());
+        givenDoctorPage(doctorPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(pageable);
@@ -156,16 +182,15 @@ class DoctorServiceImplTest {
         assertThat(firstDoctor.specialite().nom()).isEqualTo("Cardiologie");
 
         // Vérifier les interactions
-        verify(doctorRepository, times(1)).findAllWithSpecialite(pageable);
-        verify(doctorMapper, times(3)).toDTO(any(Doctor.class));
+        verify(doctorRepository, times(1)).sliceAllRows(pageable);
     }
 
     @Test
     @DisplayName("getAllDoctors - Devrait retourner une page vide quand aucun médecin n'existe")
     void getAllDoctors_ShouldReturnEmptyPage_WhenNoDoctorsExist() {
         // Given
-        Page<Doctor> emptyPage = new PageImpl<>(List.of(), pageable, 0);
-        when(doctorRepository.findAllWithSpecialite(pageable)).thenReturn(emptyPage);
+        Page<DoctorRow> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        givenDoctorPage(emptyPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(pageable);
@@ -177,8 +202,7 @@ class DoctorServiceImplTest {
         assertThat(result.totalPages()).isEqualTo(0);
         assertThat(result.empty()).isTrue();
 
-        verify(doctorRepository, times(1)).findAllWithSpecialite(pageable);
-        verify(doctorMapper, never()).toDTO(any(Doctor.class));
+        verify(doctorRepository, times(1)).sliceAllRows(pageable);
     }
 
     @Test
@@ -186,12 +210,10 @@ class DoctorServiceImplTest {
     void getAllDoctors_ShouldHandlePaginationCorrectly() {
         // Given - Simuler la deuxième page avec seulement 2 médecins
         Pageable secondPageable = PageRequest.of(1, 9, Sort.by("nom").ascending());
-        List<Doctor> secondPageDoctors = mockDoctorEntities.subList(0, 2);
-        Page<Doctor> doctorPage = new PageImpl<>(secondPageDoctors, secondPageable, 25); // 25 éléments au total
+        List<DoctorRow> secondPageDoctors = mockDoctorRows.subList(0, 2);
+        Page<DoctorRow> doctorPage = new PageImpl<>(secondPageDoctors, secondPageable, 25); // 25 éléments au total
 
-        when(doctorRepository.findAllWithSpecialite(secondPageable)).thenReturn(doctorPage);
-        when(doctorMapper.toDTO(mockDoctorEntities.get(0))).thenReturn(mockDoctorDTOs.get(0));
-        when(doctorMapper.toDTO(mockDoctorEntities.get(1))).thenReturn(mockDoctorDTOs.get(1));
+        givenDoctorPage(doctorPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(secondPageable);
@@ -205,7 +227,7 @@ class DoctorServiceImplTest {
         assertThat(result.first()).isFalse();
         assertThat(result.last()).isFalse();
 
-        verify(doctorRepository, times(1)).findAllWithSpecialite(secondPageable);
+        verify(doctorRepository, times(1)).sliceAllRows(secondPageable);
     }
 
     @Test
@@ -213,10 +235,9 @@ class DoctorServiceImplTest {
     void getAllDoctors_ShouldApplySortingCorrectly() {
         // Given - Tri par prénom en ordre décroissant
         Pageable sortedPageable = PageRequest.of(0, 9, Sort.by("prenom").descending());
-        Page<Doctor> doctorPage = new PageImpl<>(mockDoctorEntities, sortedPageable, mockDoctorEntities.size());
+        Page<DoctorRow> doctorPage = new PageImpl<>(mockDoctorRows, sortedPageable, mockDoctorRows.size());
 
-        when(doctorRepository.findAllWithSpecialite(sortedPageable)).thenReturn(doctorPage);
-        when(doctorMapper.toDTO(any(Doctor.class))).thenReturn(mockDoctorDTOs.get(0), mockDoctorDTOs.get(1), mockDoctorDTOs.get(2));
+        givenDoctorPage(doctorPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(sortedPageable);
@@ -225,7 +246,7 @@ class DoctorServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.content()).hasSize(3);
 
-        verify(doctorRepository, times(1)).findAllWithSpecialite(sortedPageable);
+        verify(doctorRepository, times(1)).sliceAllRows(sortedPageable);
     }
 
     @Test
@@ -233,12 +254,10 @@ class DoctorServiceImplTest {
     void getAllDoctors_ShouldHandleDifferentPageSizes() {
         // Given - Taille de page = 2
         Pageable smallPageable = PageRequest.of(0, 2, Sort.by("nom").ascending());
-        List<Doctor> twoDoctor = mockDoctorEntities.subList(0, 2);
-        Page<Doctor> doctorPage = new PageImpl<>(twoDoctor, smallPageable, mockDoctorEntities.size());
+        List<DoctorRow> twoDoctor = mockDoctorRows.subList(0, 2);
+        Page<DoctorRow> doctorPage = new PageImpl<>(twoDoctor, smallPageable, mockDoctorRows.size());
 
-        when(doctorRepository.findAllWithSpecialite(smallPageable)).thenReturn(doctorPage);
-        when(doctorMapper.toDTO(mockDoctorEntities.get(0))).thenReturn(mockDoctorDTOs.get(0));
-        when(doctorMapper.toDTO(mockDoctorEntities.get(1))).thenReturn(mockDoctorDTOs.get(1));
+        givenDoctorPage(doctorPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(smallPageable);
@@ -252,18 +271,17 @@ class DoctorServiceImplTest {
         assertThat(result.first()).isTrue();
         assertThat(result.last()).isFalse();
 
-        verify(doctorRepository, times(1)).findAllWithSpecialite(smallPageable);
+        verify(doctorRepository, times(1)).sliceAllRows(smallPageable);
     }
 
     @Test
     @DisplayName("getAllDoctors - Devrait mapper correctement tous les champs du médecin")
     void getAllDoctors_ShouldMapAllDoctorFieldsCorrectly() {
         // Given
-        Page<Doctor> doctorPage = new PageImpl<>(mockDoctorEntities.subList(0, 1), pageable, 1);
+        Page<DoctorRow> doctorPage = new PageImpl<>(mockDoctorRows.subList(0, 1), pageable, 1);
         DoctorDTO expectedDTO = mockDoctorDTOs.get(0);
 
-        when(doctorRepository.findAllWithSpecialite(pageable)).thenReturn(doctorPage);
-        when(doctorMapper.toDTO(mockDoctorEntities.get(0))).thenReturn(expectedDTO);
+        givenDoctorPage(doctorPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(pageable);
@@ -283,7 +301,6 @@ class DoctorServiceImplTest {
         assertThat(actualDTO.specialite().nom()).isEqualTo(expectedDTO.specialite().nom());
         assertThat(actualDTO.specialite().description()).isEqualTo(expectedDTO.specialite().description());
 
-        verify(doctorMapper, times(1)).toDTO(mockDoctorEntities.get(0));
     }
 
     @Test
@@ -291,15 +308,15 @@ class DoctorServiceImplTest {
     void getAllDoctors_ShouldCallRepositoryWithCorrectPageable() {
         // Given
         Pageable customPageable = PageRequest.of(3, 25, Sort.by("email").descending());
-        Page<Doctor> doctorPage = new PageImpl<>(List.of(), customPageable, 0);
+        Page<DoctorRow> doctorPage = new PageImpl<>(List.of(), customPageable, 0);
 
-        when(doctorRepository.findAllWithSpecialite(customPageable)).thenReturn(doctorPage);
+        givenDoctorPage(doctorPage);
 
         // When
         doctorService.getAllDoctors(customPageable);
 
         // Then
-        verify(doctorRepository, times(1)).findAllWithSpecialite(customPageable);
+        verify(doctorRepository, times(1)).sliceAllRows(customPageable);
     }
 
     @Test
@@ -307,10 +324,9 @@ class DoctorServiceImplTest {
     void getAllDoctors_ShouldHandleLargeListOfDoctors() {
         // Given - Simuler 50 médecins
         Pageable largePageable = PageRequest.of(0, 50);
-        Page<Doctor> doctorPage = new PageImpl<>(mockDoctorEntities, largePageable, 150); // 150 au total
+        Page<DoctorRow> doctorPage = new PageImpl<>(mockDoctorRows, largePageable, 150); // 150 au total
 
-        when(doctorRepository.findAllWithSpecialite(largePageable)).thenReturn(doctorPage);
-        when(doctorMapper.toDTO(any(Doctor.class))).thenReturn(mockDoctorDTOs.get(0), mockDoctorDTOs.get(1), mockDoctorDTOs.get(2));
+        givenDoctorPage(doctorPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(largePageable);
@@ -321,7 +337,7 @@ class DoctorServiceImplTest {
         assertThat(result.pageSize()).isEqualTo(50);
         assertThat(result.totalPages()).isEqualTo(3);
 
-        verify(doctorRepository, times(1)).findAllWithSpecialite(largePageable);
+        verify(doctorRepository, times(1)).sliceAllRows(largePageable);
     }
 
     @Test
@@ -329,11 +345,10 @@ class DoctorServiceImplTest {
     void getAllDoctors_ShouldReturnLastPageCorrectly() {
         // Given - Dernière page avec un seul élément
         Pageable lastPageable = PageRequest.of(2, 9);
-        List<Doctor> lastPageDoctors = mockDoctorEntities.subList(0, 1);
-        Page<Doctor> doctorPage = new PageImpl<>(lastPageDoctors, lastPageable, 21); // 21 éléments au total
+        List<DoctorRow> lastPageDoctors = mockDoctorRows.subList(0, 1);
+        Page<DoctorRow> doctorPage = new PageImpl<>(lastPageDoctors, lastPageable, 21); // 21 éléments au total
 
-        when(doctorRepository.findAllWithSpecialite(lastPageable)).thenReturn(doctorPage);
-        when(doctorMapper.toDTO(mockDoctorEntities.get(0))).thenReturn(mockDoctorDTOs.get(0));
+        givenDoctorPage(doctorPage);
 
         // When
         PageResponse<DoctorDTO> result = doctorService.getAllDoctors(lastPageable);
@@ -346,7 +361,279 @@ class DoctorServiceImplTest {
         assertThat(result.first()).isFalse();
         assertThat(result.last()).isTrue();
 
-        verify(doctorRepository, times(1)).findAllWithSpecialite(lastPageable);
+        verify(doctorRepository, times(1)).sliceAllRows(lastPageable);
     }
-}
 
+    @Test
+    @DisplayName("getDoctorsAfter - Devrait lire size + 1 lignes et produire le curseur de la dernière ligne retournée")
+    void getDoctorsAfter_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        // Given - 3 lignes lues pour une page de 2
+        when(doctorRepository.findNextPage(null, DoctorSortField.NOM, Sort.Direction.ASC, null, null, 3))
+                .thenReturn(mockDoctorRows);
+
+        // When
+        CursorPageResponse<DoctorDTO> result =
+                doctorService.getDoctorsAfter(null, DoctorSortField.NOM, Sort.Direction.ASC, null, 2);
+
+        // Then
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.hasNext()).isTrue();
+
+        DoctorCursor cursor = DoctorCursor.decode(result.nextCursor());
+        assertThat(cursor.sortField()).isEqualTo(DoctorSortField.NOM);
+        assertThat(cursor.direction()).isEqualTo(Sort.Direction.ASC);
+        assertThat(cursor.lastValue()).isEqualTo(mockDoctorRows.get(1).nom());
+        assertThat(cursor.lastId()).isEqualTo(mockDoctorRows.get(1).id());
+    }
+
+    @Test
+    @DisplayName("getDoctorsAfter - Devrait reprendre après la position encodée dans le curseur")
+    void getDoctorsAfter_ShouldSeekAfterCursorPosition() {
+        // Given
+        String after = new DoctorCursor(DoctorSortField.EMAIL, Sort.Direction.DESC, "marie.martin@cabinet.fr", 2L).encode();
+        when(doctorRepository.findNextPage(5L, DoctorSortField.EMAIL, Sort.Direction.DESC, "marie.martin@cabinet.fr", 2L, 10))
+                .thenReturn(List.of());
+
+        // When
+        CursorPageResponse<DoctorDTO> result =
+                doctorService.getDoctorsAfter(5L, DoctorSortField.EMAIL, Sort.Direction.DESC, after, 9);
+
+        // Then
+        assertThat(result.content()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getDoctorsAfter - Devrait rejeter un curseur produit pour un autre tri")
+    void getDoctorsAfter_ShouldRejectCursor_WhenSortDiffers() {
+        // Given
+        String after = new DoctorCursor(DoctorSortField.PRENOM, Sort.Direction.ASC, "Jean", 1L).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> doctorService.getDoctorsAfter(null, DoctorSortField.NOM, Sort.Direction.ASC, after, 9))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Le curseur ne correspond pas au tri demandé");
+
+        verify(doctorRepository, never()).findNextPage(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getDoctorsAfter - Devrait rejeter un curseur illisible")
+    void getDoctorsAfter_ShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> doctorService.getDoctorsAfter(null, DoctorSortField.NOM, Sort.Direction.ASC, "%%%", 9))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("getAllDoctors - Devrait réutiliser le total en cache et ne compter qu'une seule fois")
+    void getAllDoctors_ShouldCountOnlyOnce_WhenTotalIsCached() {
+        // Given
+        Pageable secondPageable = PageRequest.of(1, 9, Sort.by("nom").ascending());
+        givenDoctorPage(new PageImpl<>(mockDoctorRows, pageable, 25));
+        when(doctorRepository.sliceAllRows(secondPageable))
+                .thenReturn(new SliceImpl<>(mockDoctorRows, secondPageable, true));
+
+        // When
+        doctorService.getAllDoctors(pageable);
+        PageResponse<DoctorDTO> result = doctorService.getAllDoctors(secondPageable);
+
+        // Then
+        assertThat(result.totalElements()).isEqualTo(25);
+        assertThat(result.totalPages()).isEqualTo(3);
+        verify(doctorRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("getAllDoctors - Devrait recompter après l'écriture d'un médecin")
+    void getAllDoctors_ShouldRecount_AfterDoctorChanged() {
+        // Given
+        givenDoctorPage(new PageImpl<>(List.of(), pageable, 0));
+        doctorService.getAllDoctors(pageable);
+
+        // When
+        doctorCountCache.onDoctorChanged(new DoctorChangedEvent(99L, null, 1L, DoctorChangedEvent.Type.CREATED));
+        doctorService.getAllDoctors(pageable);
+
+        // Then
+        verify(doctorRepository, times(2)).count();
+    }
+
+    @Test
+    @DisplayName("getDoctorsBySpeciality - Devrait utiliser le total en cache de la spécialité")
+    void getDoctorsBySpeciality_ShouldUseCachedSpecialityTotal() {
+        // Given
+        when(doctorRepository.sliceRowsBySpecialityId(1L, pageable))
+                .thenReturn(new SliceImpl<>(mockDoctorRows.subList(0, 1), pageable, false));
+        when(doctorRepository.countBySpecialityId(1L)).thenReturn(1L);
+
+        // When
+        doctorService.getDoctorsBySpeciality(1L, pageable);
+        PageResponse<DoctorDTO> result = doctorService.getDoctorsBySpeciality(1L, pageable);
+
+        // Then
+        assertThat(result.totalElements()).isEqualTo(1);
+        assertThat(result.last()).isTrue();
+        verify(doctorRepository, times(1)).countBySpecialityId(1L);
+        verify(doctorRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("getDoctorsSlice - Devrait retourner une tranche sans exécuter de requête COUNT")
+    void getDoctorsSlice_ShouldNotCount() {
+        // Given
+        when(doctorRepository.sliceAllRows(pageable))
+                .thenReturn(new SliceImpl<>(mockDoctorRows, pageable, true));
+
+        // When
+        SliceResponse<DoctorDTO> result = doctorService.getDoctorsSlice(null, pageable);
+
+        // Then
+        assertThat(result.content()).hasSize(3);
+        assertThat(result.first()).isTrue();
+        assertThat(result.last()).isFalse();
+        verify(doctorRepository, never()).count();
+        verify(doctorRepository, never()).countBySpecialityId(any());
+    }
+
+    @Test
+    @DisplayName("getAllDoctors - Devrait partager une seule SpecialityDTO par spécialité dans la page")
+    void getAllDoctors_ShouldShareSpecialityDTOWithinPage() {
+        // Given - Les médecins 1 et 3 partagent la même spécialité
+        givenDoctorPage(new PageImpl<>(mockDoctorRows, pageable, mockDoctorRows.size()));
+
+        // When
+        PageResponse<DoctorDTO> result = doctorService.getAllDoctors(pageable);
+
+        // Then
+        assertThat(mockDoctorRows.get(0).specialityId()).isEqualTo(mockDoctorRows.get(2).specialityId());
+        assertThat(result.content().get(0).specialite()).isSameAs(result.content().get(2).specialite());
+        assertThat(result.content().get(0).specialite()).isNotSameAs(result.content().get(1).specialite());
+    }
+
+    @Test
+    @DisplayName("searchDoctors - Devrait rechercher avec les termes normalisés sans COUNT si la page n'est pas pleine")
+    void searchDoctors_ShouldSearchWithoutCount_WhenPageNotFull() {
+        // Given
+        DoctorSearch expectedSearch = new DoctorSearch(List.of("helene", "cardio"));
+        when(doctorRepository.searchRows(expectedSearch, 1L, pageable))
+                .thenReturn(new SliceImpl<>(mockDoctorRows.subList(0, 2), pageable, false));
+
+        // When
+        PageResponse<DoctorDTO> result = doctorService.searchDoctors("Hélène CARDIO", 1L, pageable);
+
+        // Then
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.totalElements()).isEqualTo(2);
+        verify(doctorRepository, never()).countSearch(any(), any());
+    }
+
+    @Test
+    @DisplayName("searchDoctors - Devrait exécuter le COUNT si d'autres pages existent")
+    void searchDoctors_ShouldCount_WhenMorePages() {
+        // Given
+        Pageable smallPageable = PageRequest.of(0, 3, Sort.by("nom").ascending());
+        DoctorSearch expectedSearch = new DoctorSearch(List.of("dupont"));
+        when(doctorRepository.searchRows(expectedSearch, null, smallPageable))
+                .thenReturn(new SliceImpl<>(mockDoctorRows, smallPageable, true));
+        when(doctorRepository.countSearch(expectedSearch, null)).thenReturn(7L);
+
+        // When
+        PageResponse<DoctorDTO> result = doctorService.searchDoctors("dupont", null, smallPageable);
+
+        // Then
+        assertThat(result.totalElements()).isEqualTo(7);
+        assertThat(result.totalPages()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("searchDoctors - Devrait rejeter une recherche trop courte sans interroger la base")
+    void searchDoctors_ShouldRejectTooShortSearch() {
+        // When & Then
+        assertThatThrownBy(() -> doctorService.searchDoctors("du", null, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(doctorRepository);
+    }
+
+    @Test
+    @DisplayName("getDoctorsByIds - Devrait charger les médecins en une requête et restituer l'ordre demandé")
+    void getDoctorsByIds_ShouldLoadInOneQueryAndKeepOrder() {
+        // Given - La base retourne les lignes dans un ordre quelconque, l'ID 99 n'existe pas
+        List<Long> ids = List.of(3L, 99L, 1L, 3L);
+        when(doctorRepository.findRowsByIdIn(ids))
+                .thenReturn(List.of(mockDoctorRows.get(0), mockDoctorRows.get(2)));
+
+        // When
+        List<DoctorDTO> result = doctorService.getDoctorsByIds(ids);
+
+        // Then
+        assertThat(result).extracting(DoctorDTO::id).containsExactly(3L, 1L);
+        verify(doctorRepository, times(1)).findRowsByIdIn(ids);
+    }
+
+    @Test
+    @DisplayName("getDoctorById - Devrait retourner le médecin demandé")
+    void getDoctorById_ShouldReturnDoctor() {
+        // Given
+        when(doctorRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(mockDoctorRows.get(1)));
+
+        // When
+        DoctorDTO result = doctorService.getDoctorById(2L);
+
+        // Then
+        assertThat(result).isEqualTo(mockDoctorDTOs.get(1));
+    }
+
+    @Test
+    @DisplayName("getDoctorById - Devrait lever ResourceNotFoundException si le médecin n'existe pas")
+    void getDoctorById_ShouldThrow_WhenNotFound() {
+        // Given
+        when(doctorRepository.findRowsByIdIn(List.of(99L))).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> doctorService.getDoctorById(99L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    @DisplayName("exportDoctors - Devrait écrire un DoctorDTO JSON par ligne et fermer le curseur")
+    void exportDoctors_ShouldWriteNdjsonAndCloseStream() throws IOException {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(doctorRepository.streamAllRows()).thenReturn(mockDoctorRows.stream().onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = doctorService.exportDoctors(null, DoctorExportFormat.NDJSON, output);
+
+        // Then
+        String[] lines = output.toString(UTF_8).split("\n");
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[1], DoctorDTO.class)).isEqualTo(mockDoctorDTOs.get(1));
+        assertThat(output.toString(UTF_8)).endsWith("}\n");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("exportDoctors - Devrait écrire un CSV avec en-tête et champs échappés")
+    void exportDoctors_ShouldWriteEscapedCsv() throws IOException {
+        // Given
+        DoctorRow tricky = new DoctorRow(7L, "D'Artagnan, \"le Gascon\"", "Charles", null, null, "ORD-7",
+                2L, "Dermatologie", "Peau");
+        when(doctorRepository.streamRowsBySpecialityId(2L)).thenReturn(Stream.of(tricky));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = doctorService.exportDoctors(2L, DoctorExportFormat.CSV, output);
+
+        // Then
+        assertThat(count).isEqualTo(1);
+        assertThat(output.toString(UTF_8)).isEqualTo(
+                "id,nom,prenom,email,telephone,numeroOrdre,specialiteId,specialite\r\n" +
+                "7,\"D'Artagnan, \"\"le Gascon\"\"\",Charles,,,ORD-7,2,Dermatologie\r\n");
+        verify(doctorRepository, never()).streamAllRows();
+    }
+}
@@ -0,0 +1,139 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.AppointmentDTO;
+import com.cabinetmedical.dto.AppointmentRequestDTO;
+import com.cabinetmedical.dto.SlotDTO;
+import com.cabinetmedical.entity.DoctorsAvailability;
+import com.cabinetmedical.repository.DoctorsAvailabilityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration du calendrier des créneaux précalculé (table creneaux)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotCalendarTest {
+
+    /**
+     * Créneaux de 09:00 à 12:00
+     */
+    private static final long MORNING = SlotBitmaps.range(18, 24);
+
+    @Autowired
+    private SlotCalendar slotCalendar;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorsAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        // Un médecin neuf disponible tous les jours de 09:00 à 12:00, puis un recalcul complet
+        doctorId = jdbcTemplate.queryForObject("""
+                INSERT INTO medecins (nom, prenom, email, numero_ordre, specialite_id, created_at, updated_at)
+                SELECT 'Calendrier', 'Medecin', 'calendrier-' || n || '@cabinet.test', 'CAL-' || n,
+                       (SELECT id FROM specialites ORDER BY id LIMIT 1), now(), now()
+                FROM (SELECT (extract(epoch FROM clock_timestamp()) * 1000000)::bigint AS n) s
+                RETURNING id
+                """, Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO disponibilites_medecin (medecin_id, jour_semaine_id, heure_debut_id, heure_fin_id, actif, created_at)
+                SELECT ?, j.id, d.id, f.id, true, now()
+                FROM jours_semaine j, heures_jour d, heures_jour f
+                WHERE d.heure = '09:00' AND f.heure = '12:00'
+                """, doctorId);
+        patientId = jdbcTemplate.queryForObject("SELECT id FROM patients ORDER BY id LIMIT 1", Long.class);
+        day = LocalDate.now().plusDays(7);
+        slotCalendar.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rendez_vous WHERE medecin_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM disponibilites_medecin WHERE medecin_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM medecins WHERE id = ?", doctorId);
+    }
+
+    @Test
+    @DisplayName("refresh - Devrait précalculer une ligne par jour de l'horizon et servir les créneaux depuis la table")
+    void refresh_ShouldMaterializeHorizon() {
+        // Then
+        assertThat(slotCalendar.covers(day)).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM creneaux WHERE medecin_id = ? AND jour >= ?", Integer.class, doctorId, LocalDate.now()))
+                .isEqualTo(8 * 7);
+        assertThat(libres(day)).isEqualTo(MORNING);
+
+        // When
+        List<SlotDTO> slots = slotService.getFreeSlots(doctorId, day, day, 60);
+
+        // Then : 09:00, 09:30, 10:00, 10:30, 11:00
+        assertThat(slots).hasSize(5);
+        assertThat(slots.get(0).debut()).isEqualTo(day.atTime(9, 0));
+    }
+
+    @Test
+    @DisplayName("onAppointmentChanged - Devrait effacer les créneaux réservés puis les restituer à l'annulation")
+    void onAppointmentChanged_ShouldClearThenRestoreSlots() {
+        // When
+        AppointmentDTO booked = appointmentService.book(patientId,
+                new AppointmentRequestDTO(doctorId, day.atTime(10, 0), 60, "Calendrier"));
+
+        // Then : 10:00 - 11:00 n'est plus libre
+        assertThat(libres(day)).isEqualTo(MORNING & ~SlotBitmaps.range(20, 22));
+        assertThat(slotService.getFreeSlots(doctorId, day, day, 60))
+                .extracting(SlotDTO::debut)
+                .containsExactly(day.atTime(9, 0), day.atTime(11, 0));
+
+        // When
+        appointmentService.cancel(patientId, booked.id());
+
+        // Then
+        assertThat(libres(day)).isEqualTo(MORNING);
+    }
+
+    @Test
+    @DisplayName("onAvailabilityChanged - Devrait recalculer le médecin dont la semaine type change")
+    void onAvailabilityChanged_ShouldRefreshDoctor() {
+        // Given
+        List<DoctorsAvailability> availabilities = availabilityRepository.findActiveByDoctorIds(List.of(doctorId));
+
+        // When : le médecin n'est plus disponible
+        availabilities.forEach(availability -> availability.setActif(false));
+        availabilityRepository.saveAll(availabilities);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM creneaux WHERE medecin_id = ?", Integer.class, doctorId)).isZero();
+        assertThat(slotService.getFreeSlots(doctorId, day, day, 30)).isEmpty();
+    }
+
+    private long libres(LocalDate jour) {
+        return jdbcTemplate.queryForObject(
+                "SELECT libres FROM creneaux WHERE medecin_id = ? AND jour = ?", Long.class, doctorId, jour);
+    }
+}
@@ -0,0 +1,87 @@
+package com.cabinetmedical.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour SlotMerger
+ */
+class SlotMergerTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+    private static final LocalDateTime BEFORE = MONDAY.minusDays(1).atStartOfDay();
+
+    @Test
+    @DisplayName("earliest - Devrait fusionner les agendas par ordre chronologique puis par ID de médecin")
+    void earliest_ShouldMergeChronologically() {
+        // Given : médecin 2 libre lundi 09:00 et mardi 08:00, médecin 1 libre lundi 09:00 - 10:00
+        Map<Long, long[]> free = Map.of(
+                1L, new long[]{SlotBitmaps.range(18, 20), 0L},
+                2L, new long[]{SlotBitmaps.range(18, 19), SlotBitmaps.range(16, 17)});
+
+        // When
+        List<SlotMerger.Hit> hits = SlotMerger.earliest(free, MONDAY, 1, 10, BEFORE);
+
+        // Then
+        assertThat(hits).containsExactly(
+                new SlotMerger.Hit(1L, MONDAY.atTime(9, 0)),
+                new SlotMerger.Hit(2L, MONDAY.atTime(9, 0)),
+                new SlotMerger.Hit(1L, MONDAY.atTime(9, 30)),
+                new SlotMerger.Hit(2L, MONDAY.plusDays(1).atTime(8, 0)));
+    }
+
+    @Test
+    @DisplayName("earliest - Devrait s'arrêter à la limite et ignorer les créneaux passés et trop courts")
+    void earliest_ShouldStopAtLimitAndSkipPastSlots() {
+        // Given : lundi 09:00 - 11:00, il est lundi 09:10 ; plages d'une heure
+        Map<Long, long[]> free = Map.of(
+                1L, new long[]{SlotBitmaps.range(18, 22), SlotBitmaps.range(18, 22)},
+                2L, new long[]{SlotBitmaps.range(18, 19), 0L});
+
+        // When
+        List<SlotMerger.Hit> hits = SlotMerger.earliest(free, MONDAY, 2, 2, MONDAY.atTime(9, 10));
+
+        // Then : 09:30 et 10:00 le lundi ; le médecin 2 n'a aucune plage d'une heure
+        assertThat(hits).containsExactly(
+                new SlotMerger.Hit(1L, MONDAY.atTime(9, 30)),
+                new SlotMerger.Hit(1L, MONDAY.atTime(10, 0)));
+        assertThat(free.get(1L)[0]).isEqualTo(SlotBitmaps.range(18, 22));
+    }
+
+    @Test
+    @DisplayName("earliest - 300 médecins sur une semaine en moins de 20 ms")
+    void earliest_ShouldMergeLargeSpecialityQuickly() {
+        // Given : agendas aléatoires, à moitié remplis
+        Random random = new Random(42);
+        Map<Long, long[]> free = new HashMap<>();
+        for (long doctorId = 1; doctorId <= 300; doctorId++) {
+            long[] week = new long[7];
+            for (int day = 0; day < 7; day++) {
+                week[day] = random.nextLong() & SlotBitmaps.range(16, 38);
+            }
+            free.put(doctorId, week);
+        }
+        for (int i = 0; i < 20; i++) {
+            SlotMerger.earliest(free, MONDAY, 2, 50, BEFORE);
+        }
+
+        // When
+        long start = System.nanoTime();
+        List<SlotMerger.Hit> hits = SlotMerger.earliest(free, MONDAY, 2, 50, BEFORE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(hits).hasSize(50);
+        assertThat(hits).isSortedAccordingTo((a, b) -> a.debut().compareTo(b.debut()));
+        assertThat(elapsedMillis).isLessThan(20);
+    }
+}
@@ -0,0 +1,274 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.cache.AppointmentIndex;
+import com.cabinetmedical.dto.DoctorDTO;
+import com.cabinetmedical.dto.DoctorSlotDTO;
+import com.cabinetmedical.dto.SlotDTO;
+import com.cabinetmedical.entity.DaysOfTheWeek;
+import com.cabinetmedical.entity.DoctorsAvailability;
+import com.cabinetmedical.entity.HoursOfTheDay;
+import com.cabinetmedical.exception.ResourceNotFoundException;
+import com.cabinetmedical.repository.AppointementRepository;
+import com.cabinetmedical.repository.AppointmentInterval;
+import com.cabinetmedical.repository.DoctorInterval;
+import com.cabinetmedical.repository.DoctorRepository;
+import com.cabinetmedical.repository.DoctorRow;
+import com.cabinetmedical.repository.DoctorSlotRow;
+import com.cabinetmedical.repository.SlotCalendarRepository;
+import com.cabinetmedical.repository.SpecialityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour SlotServiceImpl
+ */
+@ExtendWith(MockitoExtension.class)
+class SlotServiceImplTest {
+
+    /**
+     * Lundi de référence, et un instant antérieur à toute la semaine
+     */
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+    private static final LocalDateTime BEFORE = MONDAY.minusDays(1).atStartOfDay();
+
+    @Mock
+    private WeeklyTemplateService weeklyTemplateService;
+
+    @Mock
+    private DoctorService doctorService;
+
+    @Mock
+    private AppointmentIndex appointmentIndex;
+
+    @Mock
+    private SlotCalendar slotCalendar;
+
+    @Mock
+    private SlotCalendarRepository slotCalendarRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private SpecialityRepository specialityRepository;
+
+    @Mock
+    private AppointementRepository appointementRepository;
+
+    @InjectMocks
+    private SlotServiceImpl slotService;
+
+    @Test
+    @DisplayName("WeeklyTemplate - Devrait étendre les plages horaires en bitmap de créneaux de 30 minutes")
+    void weeklyTemplate_ShouldExpandAvailabilitiesToBitmaps() {
+        // Given : lundi 09:00 - 12:00 et 14:00 - 15:15, mardi 08:45 - 10:00
+        WeeklyTemplate template = WeeklyTemplate.of(List.of(
+                availability(1, "09:00", "12:00"),
+                availability(1, "14:00", "15:15"),
+                availability(2, "08:45", "10:00")));
+
+        // When & Then
+        assertThat(template.day(DayOfWeek.MONDAY))
+                .isEqualTo(SlotBitmaps.range(18, 24) | SlotBitmaps.range(28, 30));
+        assertThat(template.day(DayOfWeek.TUESDAY)).isEqualTo(SlotBitmaps.range(18, 20));
+        assertThat(template.day(DayOfWeek.SUNDAY)).isZero();
+        assertThat(WeeklyTemplate.of(List.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("computeFreeSlots - Devrait retirer les créneaux touchés par un rendez-vous")
+    void computeFreeSlots_ShouldClearBookedSlots() {
+        // Given : lundi 09:00 - 12:00, rendez-vous 09:30 - 10:15
+        WeeklyTemplate template = WeeklyTemplate.of(List.of(availability(1, "09:00", "12:00")));
+        List<AppointmentInterval> booked = List.of(
+                new AppointmentInterval(1L, MONDAY.atTime(9, 30), MONDAY.atTime(10, 15)));
+
+        // When
+        List<SlotDTO> slots = SlotServiceImpl.computeFreeSlots(template, booked, MONDAY, MONDAY.plusDays(6), 1, BEFORE);
+
+        // Then
+        assertThat(slots).extracting(SlotDTO::debut).containsExactly(
+                MONDAY.atTime(9, 0), MONDAY.atTime(10, 30), MONDAY.atTime(11, 0), MONDAY.atTime(11, 30));
+        assertThat(slots.get(0).fin()).isEqualTo(MONDAY.atTime(9, 30));
+    }
+
+    @Test
+    @DisplayName("computeFreeSlots - Devrait ne proposer que des plages consécutives de la durée demandée, dans le futur")
+    void computeFreeSlots_ShouldFindRunsAndSkipPast() {
+        // Given : lundi 09:00 - 12:00 et 14:00 - 15:00, mercredi 09:00 - 10:00
+        WeeklyTemplate template = WeeklyTemplate.of(List.of(
+                availability(1, "09:00", "12:00"),
+                availability(1, "14:00", "15:00"),
+                availability(3, "09:00", "10:00")));
+        LocalDateTime mondayAt1005 = MONDAY.atTime(10, 5);
+
+        // When : plages d'1 heure, lundi 10:05
+        List<SlotDTO> slots = SlotServiceImpl.computeFreeSlots(template, List.of(), MONDAY, MONDAY.plusDays(6), 2, mondayAt1005);
+
+        // Then : 10:30 - 11:30 et 11:00 - 12:00 sont deux plages possibles
+        assertThat(slots).extracting(SlotDTO::debut).containsExactly(
+                MONDAY.atTime(10, 30), MONDAY.atTime(11, 0), MONDAY.atTime(14, 0), MONDAY.plusDays(2).atTime(9, 0));
+        assertThat(slots).extracting(SlotDTO::fin).first().isEqualTo(MONDAY.atTime(11, 30));
+        assertThat(SlotServiceImpl.computeFreeSlots(template, List.of(), MONDAY, MONDAY.plusDays(6), 2,
+                MONDAY.plusDays(3).atStartOfDay())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("computeFreeSlots - Devrait calculer une semaine chargée en moins d'une milliseconde")
+    void computeFreeSlots_ShouldStayBelowOneMillisecondPerWeek() {
+        // Given : 08:00 - 20:00 tous les jours, un rendez-vous sur deux créneaux
+        List<DoctorsAvailability> availabilities = new ArrayList<>();
+        List<AppointmentInterval> booked = new ArrayList<>();
+        for (int day = 1; day <= 7; day++) {
+            availabilities.add(availability(day, "08:00", "20:00"));
+            for (int hour = 8; hour < 20; hour++) {
+                LocalDateTime start = MONDAY.plusDays(day - 1).atTime(hour, 0);
+                booked.add(new AppointmentInterval((long) day * 100 + hour, start, start.plusMinutes(30)));
+            }
+        }
+        WeeklyTemplate template = WeeklyTemplate.of(availabilities);
+
+        // When
+        int weeks = 10_000;
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < weeks; i++) {
+            found += SlotServiceImpl.computeFreeSlots(template, booked, MONDAY, MONDAY.plusDays(6), 1, BEFORE).size();
+        }
+        double microsPerWeek = (System.nanoTime() - start) / 1_000.0 / weeks;
+
+        // Then
+        assertThat(found).isEqualTo(weeks * 7 * 12);
+        assertThat(microsPerWeek).isLessThan(1_000);
+    }
+
+    @Test
+    @DisplayName("getFreeSlots - Devrait lire la semaine type et les rendez-vous de la période")
+    void getFreeSlots_ShouldCombineTemplateAndIndex() {
+        // Given
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        when(doctorService.getDoctorById(1L)).thenReturn(
+                new DoctorDTO(1L, "Dupont", "Jean", "jean.dupont@cabinet.fr", "0123456789", "ORD-12345", null));
+        when(weeklyTemplateService.getTemplate(1L))
+                .thenReturn(WeeklyTemplate.of(List.of(availability(1, "09:00", "10:00"))));
+        when(appointmentIndex.intervalsBetween(eq(1L), any(), any())).thenReturn(
+                List.of(new AppointmentInterval(5L, nextMonday.atTime(9, 0), nextMonday.atTime(9, 30))));
+
+        // When
+        List<SlotDTO> slots = slotService.getFreeSlots(1L, nextMonday, nextMonday.plusDays(6), 30);
+
+        // Then
+        assertThat(slots).containsExactly(new SlotDTO(nextMonday.atTime(9, 30), nextMonday.atTime(10, 0)));
+    }
+
+    @Test
+    @DisplayName("getFreeSlots - Devrait rejeter une période inversée, trop longue ou une durée invalide")
+    void getFreeSlots_ShouldValidateRangeAndDuration() {
+        assertThatThrownBy(() -> slotService.getFreeSlots(1L, MONDAY, MONDAY.minusDays(1), 30))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotService.getFreeSlots(1L, MONDAY, MONDAY.plusDays(31), 30))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotService.getFreeSlots(1L, MONDAY, MONDAY, 45))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(doctorService, weeklyTemplateService, appointmentIndex);
+    }
+
+    @Test
+    @DisplayName("getEarliestSlots - Devrait fusionner les agendas précalculés de la spécialité jusqu'à la limite")
+    void getEarliestSlots_ShouldMergeCalendarRows() {
+        // Given : médecin 1 libre mardi 10:00, médecin 2 libre lundi 09:00 - 10:00
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        when(slotCalendar.covers(any())).thenReturn(true);
+        when(slotCalendarRepository.findRowsBySpecialityId(eq(7L), eq(nextMonday), any())).thenReturn(List.of(
+                new DoctorSlotRow(1L, nextMonday.plusDays(1), SlotBitmaps.range(20, 21)),
+                new DoctorSlotRow(2L, nextMonday, SlotBitmaps.range(18, 20))));
+        when(doctorRepository.findRowsByIdIn(any())).thenReturn(List.of(
+                new DoctorRow(1L, "Dupont", "Jean", null, null, null, 7L, null, null),
+                new DoctorRow(2L, "Martin", "Sophie", null, null, null, 7L, null, null)));
+
+        // When
+        List<DoctorSlotDTO> slots = slotService.getEarliestSlots(7L, nextMonday, 2, 30);
+
+        // Then : la recherche s'arrête à la deuxième plage, sans lire la semaine suivante
+        assertThat(slots).containsExactly(
+                new DoctorSlotDTO(2L, "Martin", "Sophie", nextMonday.atTime(9, 0), nextMonday.atTime(9, 30)),
+                new DoctorSlotDTO(2L, "Martin", "Sophie", nextMonday.atTime(9, 30), nextMonday.atTime(10, 0)));
+        verify(slotCalendarRepository, times(1)).findRowsBySpecialityId(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getEarliestSlots - Devrait rejeter une limite invalide et une spécialité inconnue")
+    void getEarliestSlots_ShouldValidateLimitAndSpeciality() {
+        assertThatThrownBy(() -> slotService.getEarliestSlots(7L, MONDAY, 0, 30))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotService.getEarliestSlots(7L, MONDAY, SlotServiceImpl.MAX_EARLIEST_LIMIT + 1, 30))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Given : aucun agenda sur 8 semaines, spécialité inconnue
+        when(specialityRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> slotService.getEarliestSlots(99L, MONDAY, 10, 30))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("getNextSlots - Devrait calculer le prochain créneau de chaque médecin avec une requête groupée par table")
+    void getNextSlots_ShouldBatchTemplateAndAppointments() {
+        // Given : médecins 1 et 2 disponibles le lundi 09:00 - 10:00, le médecin 1 réservé à 09:00
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        WeeklyTemplate mondayMorning = WeeklyTemplate.of(List.of(availability(1, "09:00", "10:00")));
+        when(weeklyTemplateService.getTemplates(List.of(1L, 2L, 3L)))
+                .thenReturn(Map.of(1L, mondayMorning, 2L, mondayMorning));
+        when(appointementRepository.findActiveIntervalsByDoctorIds(eq(List.of(1L, 2L, 3L)), any(), any())).thenReturn(
+                List.of(new DoctorInterval(1L, nextMonday.atTime(9, 0), nextMonday.atTime(9, 30))));
+
+        // When
+        Map<Long, LocalDateTime> nextSlots = slotService.getNextSlots(List.of(1L, 2L, 3L));
+
+        // Then : le médecin 3 n'a aucune disponibilité
+        assertThat(nextSlots).containsOnly(
+                entry(1L, nextMonday.atTime(9, 30)),
+                entry(2L, nextMonday.atTime(9, 0)));
+        verify(weeklyTemplateService, times(1)).getTemplates(any());
+        verify(appointementRepository, times(1)).findActiveIntervalsByDoctorIds(any(), any(), any());
+    }
+
+    private static DoctorsAvailability availability(int numeroJour, String debut, String fin) {
+        DaysOfTheWeek day = new DaysOfTheWeek();
+        day.setNumeroJour(numeroJour);
+        HoursOfTheDay start = new HoursOfTheDay();
+        start.setHeure(LocalTime.parse(debut));
+        HoursOfTheDay end = new HoursOfTheDay();
+        end.setHeure(LocalTime.parse(fin));
+
+        DoctorsAvailability availability = new DoctorsAvailability();
+        availability.setJourSemaine(day);
+        availability.setHeureDebut(start);
+        availability.setHeureFin(end);
+        return availability;
+    }
+}
@@ -0,0 +1,81 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.dto.StaffLoginRequestDTO;
+import com.cabinetmedical.dto.StaffLoginResponseDTO;
+import com.cabinetmedical.security.CredentialVerifier;
+import com.cabinetmedical.security.SessionPrincipal;
+import com.cabinetmedical.security.SessionTokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour StaffAuthService
+ */
+@ExtendWith(MockitoExtension.class)
+class StaffAuthServiceTest {
+
+    private static final String EMAIL = "secretariat@cabinet.test";
+    private static final String HASH = "$2a$10$SlqHatgkixvkNmQq8ZSb5eWP8ZBsKdeFc16tFqUvLjQ/2.0fuxqra";
+
+    @Mock
+    private CredentialVerifier credentialVerifier;
+
+    private final SessionTokenService sessionTokenService = new SessionTokenService("", Duration.ofHours(1));
+
+    @Test
+    @DisplayName("login - Devrait émettre un jeton STAFF pour le compte configuré")
+    void login_ShouldIssueStaffToken() {
+        // Given
+        StaffAuthService service = new StaffAuthService(sessionTokenService, credentialVerifier, " Secretariat@Cabinet.test ", HASH);
+        when(credentialVerifier.verify("motDePasse", HASH)).thenReturn(CompletableFuture.completedFuture(true));
+
+        // When
+        StaffLoginResponseDTO response = service.login(new StaffLoginRequestDTO("SECRETARIAT@cabinet.test", "motDePasse")).join();
+
+        // Then
+        assertThat(response.email()).isEqualTo(EMAIL);
+        assertThat(response.role()).isEqualTo(StaffAuthService.STAFF_ROLE);
+        assertThat(sessionTokenService.verify(response.token()))
+                .map(SessionPrincipal::role)
+                .contains(StaffAuthService.STAFF_ROLE);
+    }
+
+    @Test
+    @DisplayName("login - Devrait rejeter un email inconnu après une comparaison factice")
+    void login_ShouldRejectUnknownEmailAfterDummyCheck() {
+        // Given
+        StaffAuthService service = new StaffAuthService(sessionTokenService, credentialVerifier, EMAIL, HASH);
+        when(credentialVerifier.verify("motDePasse", null)).thenReturn(CompletableFuture.completedFuture(false));
+
+        // When & Then
+        assertThatThrownBy(() -> service.login(new StaffLoginRequestDTO("inconnu@cabinet.test", "motDePasse")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("Email ou mot de passe incorrect");
+        verify(credentialVerifier).verify("motDePasse", null);
+    }
+
+    @Test
+    @DisplayName("login - Sans compte configuré, toute tentative devrait être rejetée")
+    void login_ShouldRejectEverything_WhenNotConfigured() {
+        // Given
+        StaffAuthService service = new StaffAuthService(sessionTokenService, credentialVerifier, "", "");
+        when(credentialVerifier.verify("motDePasse", null)).thenReturn(CompletableFuture.completedFuture(false));
+
+        // When & Then
+        assertThatThrownBy(() -> service.login(new StaffLoginRequestDTO("", "motDePasse")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("Email ou mot de passe incorrect");
+    }
+}
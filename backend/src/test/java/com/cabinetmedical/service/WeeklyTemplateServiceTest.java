@@ -0,0 +1,126 @@
+package com.cabinetmedical.service;
+
+import com.cabinetmedical.entity.DoctorsAvailability;
+import com.cabinetmedical.repository.DoctorsAvailabilityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration des semaines types compactes (table semaines_types)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WeeklyTemplateServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private WeeklyTemplateService weeklyTemplateService;
+
+    @Autowired
+    private DoctorsAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long doctorId;
+
+    @BeforeEach
+    void setUp() {
+        // Un médecin neuf : lundi 08:45 - 12:15 et 14:00 - 18:00, mercredi 09:00 - 12:00
+        jdbcTemplate.update("""
+                INSERT INTO heures_jour (heure, libelle, created_at)
+                VALUES ('08:45', 'test', now()), ('12:15', 'test', now())
+                ON CONFLICT DO NOTHING
+                """);
+        doctorId = jdbcTemplate.queryForObject("""
+                INSERT INTO medecins (nom, prenom, email, numero_ordre, specialite_id, created_at, updated_at)
+                SELECT 'Semaine', 'Medecin', 'semaine-' || n || '@cabinet.test', 'SEM-' || n,
+                       (SELECT id FROM specialites ORDER BY id LIMIT 1), now(), now()
+                FROM (SELECT (extract(epoch FROM clock_timestamp()) * 1000000)::bigint AS n) s
+                RETURNING id
+                """, Long.class);
+        insertAvailability(1, "08:45", "12:15");
+        insertAvailability(1, "14:00", "18:00");
+        insertAvailability(3, "09:00", "12:00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM disponibilites_medecin WHERE medecin_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM medecins WHERE id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM heures_jour WHERE libelle = 'test'");
+    }
+
+    @Test
+    @DisplayName("rebuildAll - Devrait produire en SQL les mêmes bitmaps que les disponibilités, en une ligne par médecin")
+    void rebuildAll_ShouldMatchAvailabilities() {
+        // When
+        weeklyTemplateService.rebuildAll();
+
+        // Then : créneaux entièrement couverts uniquement (09:00 - 12:00 le lundi matin)
+        WeeklyTemplate compact = weeklyTemplateService.getTemplate(doctorId);
+        assertThat(compact.expand(MONDAY, 7)).containsExactly(
+                SlotBitmaps.range(18, 24) | SlotBitmaps.range(28, 36), 0L, SlotBitmaps.range(18, 24), 0L, 0L, 0L, 0L);
+        assertThat(compact.expand(MONDAY, 7)).containsExactly(fromAvailabilities().expand(MONDAY, 7));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM semaines_types WHERE medecin_id = ?", Integer.class, doctorId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onAvailabilityChanged - Devrait réécrire la semaine type du médecin après le commit")
+    void onAvailabilityChanged_ShouldRebuildDoctor() {
+        // Given
+        weeklyTemplateService.rebuildAll();
+        Long wednesdayId = jdbcTemplate.queryForObject("""
+                SELECT d.id FROM disponibilites_medecin d JOIN jours_semaine j ON j.id = d.jour_semaine_id
+                WHERE d.medecin_id = ? AND j.numero_jour = 3
+                """, Long.class, doctorId);
+        DoctorsAvailability wednesday = availabilityRepository.findById(wednesdayId).orElseThrow();
+
+        // When : la plage du mercredi est désactivée
+        wednesday.setActif(false);
+        availabilityRepository.save(wednesday);
+
+        // Then
+        assertThat(weeklyTemplateService.getTemplate(doctorId).expand(MONDAY, 7)[2]).isZero();
+
+        // When : plus aucune disponibilité
+        List<DoctorsAvailability> availabilities = availabilityRepository.findActiveByDoctorIds(List.of(doctorId));
+        availabilities.forEach(availability -> availability.setActif(false));
+        availabilityRepository.saveAll(availabilities);
+
+        // Then
+        assertThat(weeklyTemplateService.getTemplate(doctorId).isEmpty()).isTrue();
+        assertThat(weeklyTemplateService.getTemplates(List.of(doctorId))).isEmpty();
+    }
+
+    private WeeklyTemplate fromAvailabilities() {
+        return transactionTemplate.execute(status ->
+                WeeklyTemplate.of(availabilityRepository.findActiveByDoctorIds(List.of(doctorId))));
+    }
+
+    private void insertAvailability(int numeroJour, String debut, String fin) {
+        jdbcTemplate.update("""
+                INSERT INTO disponibilites_medecin (medecin_id, jour_semaine_id, heure_debut_id, heure_fin_id, actif, created_at)
+                SELECT ?, j.id, d.id, f.id, true, now()
+                FROM jours_semaine j, heures_jour d, heures_jour f
+                WHERE j.numero_jour = ? AND d.heure = ?::time AND f.heure = ?::time
+                """, doctorId, numeroJour, debut, fin);
+    }
+}
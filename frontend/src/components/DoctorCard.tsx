@@ -16,12 +16,22 @@ interface Doctor {
   numeroOrdre: string;
   speciality?: Speciality;
   adresse?: string;
+  nextSlot?: string;
 }
 
 interface DoctorCardProps {
   doctor: Doctor;
 }
 
+const formatNextSlot = (nextSlot: string): string =>
+  new Date(nextSlot).toLocaleString('fr-FR', {
+    weekday: 'short',
+    day: 'numeric',
+    month: 'short',
+    hour: '2-digit',
+    minute: '2-digit',
+  });
+
 const DoctorCard: React.FC<DoctorCardProps> = ({ doctor }) => {
   return (
     <div className="doctor-card">
@@ -55,6 +65,13 @@ const DoctorCard: React.FC<DoctorCardProps> = ({ doctor }) => {
             <span className="info-value">{doctor.adresse}</span>
           </div>
         )}
+
+        {doctor.nextSlot && (
+          <div className="info-item">
+            <span className="info-label">Prochain créneau:</span>
+            <span className="info-value">{formatNextSlot(doctor.nextSlot)}</span>
+          </div>
+        )}
       </div>
 
       <div className="doctor-actions">
@@ -6,6 +6,8 @@ interface User {
   prenom: string;
   email: string;
   role: string;
+  token?: string;
+  expiresAt?: string;
 }
 
 interface AuthContextType {
@@ -2,7 +2,7 @@ import React, { useState, useEffect, FormEvent, ChangeEvent } from 'react';
 import { useHistory } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
 import { getDoctors } from '../services/doctorService';
-import { getAllSpecialities } from '../services/specialityService';
+import { getAllSpecialities, getDoctorCounts } from '../services/specialityService';
 import DoctorCard from '../components/DoctorCard';
 import { Specialite } from '../types';
 import '../styles/DoctorsPage.css';
@@ -25,6 +25,7 @@ interface FetchParams {
   page: number;
   search?: string;
   specialityId?: number;
+  withNextSlot?: boolean;
 }
 
 const DoctorsPage: React.FC = () => {
@@ -36,6 +37,9 @@ const DoctorsPage: React.FC = () => {
   const [searchTerm, setSearchTerm] = useState<string>('');
   const [selectedSpecialityId, setSelectedSpecialityId] = useState<number | null>(null);
   const [specialities, setSpecialities] = useState<Specialite[]>([]);
+  const [doctorCounts, setDoctorCounts] = useState<Record<number, number>>({});
+  // Prochain créneau uniquement sur demande : sans lui, la page reste revalidable (304)
+  const [showNextSlot, setShowNextSlot] = useState<boolean>(false);
 
   const { user, logout } = useAuth();
   const history = useHistory();
@@ -50,13 +54,22 @@ const DoctorsPage: React.FC = () => {
         console.error('Erreur lors du chargement des spécialités:', err);
       }
     };
+    const fetchDoctorCounts = async () => {
+      try {
+        const data = await getDoctorCounts();
+        setDoctorCounts(Object.fromEntries(data.map((count) => [count.specialityId, count.doctorCount])));
+      } catch (err) {
+        console.error('Erreur lors du chargement des compteurs de spécialités:', err);
+      }
+    };
     fetchSpecialities();
+    fetchDoctorCounts();
   }, []);
 
   useEffect(() => {
     console.log('🔄 useEffect triggered - page:', page, 'searchTerm:', searchTerm, 'selectedSpecialityId:', selectedSpecialityId);
     fetchDoctors();
-  }, [page, searchTerm, selectedSpecialityId]);
+  }, [page, searchTerm, selectedSpecialityId, showNextSlot]);
 
   const fetchDoctors = async (): Promise<void> => {
     setLoading(true);
@@ -74,6 +87,10 @@ const DoctorsPage: React.FC = () => {
         params.specialityId = selectedSpecialityId;
       }
 
+      if (showNextSlot) {
+        params.withNextSlot = true;
+      }
+
       console.log('📡 Appel API avec params:', params);
       const response = await getDoctors(params);
       console.log('✅ Réponse API:', response);
@@ -146,9 +163,18 @@ const DoctorsPage: React.FC = () => {
               {specialities.map((specialite) => (
                 <option key={specialite.id} value={specialite.id}>
                   {specialite.nom}
+                  {doctorCounts[specialite.id] !== undefined && ` (${doctorCounts[specialite.id]})`}
                 </option>
               ))}
             </select>
+            <label className="next-slot-toggle">
+              <input
+                type="checkbox"
+                checked={showNextSlot}
+                onChange={(e: ChangeEvent<HTMLInputElement>) => setShowNextSlot(e.target.checked)}
+              />
+              Afficher le prochain créneau
+            </label>
             <button type="submit" className="search-button">
               Rechercher
             </button>
@@ -17,16 +17,16 @@ const apiClient: AxiosInstance = axios.create({
 });
 
 /**
- * Intercepteur de requête (optionnel)
- * Peut être utilisé pour ajouter des tokens d'authentification, etc.
+ * Intercepteur de requête
+ * Ajoute le jeton de session du patient connecté (stocké avec l'utilisateur par AuthContext)
  */
 apiClient.interceptors.request.use(
   (config) => {
-    // Exemple : Ajouter un token d'authentification si disponible
-    // const token = localStorage.getItem('authToken');
-    // if (token) {
-    //   config.headers.Authorization = `Bearer ${token}`;
-    // }
+    const storedUser = localStorage.getItem('user');
+    const token = storedUser ? (JSON.parse(storedUser) as { token?: string }).token : undefined;
+    if (token) {
+      config.headers.Authorization = `Bearer ${token}`;
+    }
     return config;
   },
   (error) => {
@@ -8,6 +8,7 @@ interface GetDoctorsParams {
   sortDirection?: string;
   search?: string;
   specialityId?: number;
+  withNextSlot?: boolean;
 }
 
 /**
@@ -33,6 +34,17 @@ export const getDoctors = async (params: GetDoctorsParams = {}): Promise<PageRes
       queryParams.specialityId = params.specialityId;
     }
 
+    // Only include search once it is long enough to be matched (3 characters minimum server-side)
+    const search = params.search?.trim();
+    if (search && search.length >= 3) {
+      queryParams.search = search;
+    }
+
+    // Only ask for next free slots when the caller displays them (computed server-side for the whole page)
+    if (params.withNextSlot) {
+      queryParams.withNextSlot = true;
+    }
+
     const response = await apiClient.get<PageResponse<Doctor>>('/doctor/allDoctors', {
       params: queryParams
     });
@@ -58,8 +70,26 @@ export const getDoctorById = async (id: number): Promise<Doctor> => {
   }
 };
 
+/**
+ * Récupère plusieurs médecins en un seul appel
+ * @param ids - Identifiants des médecins (100 au maximum)
+ * @returns Médecins trouvés, dans l'ordre des identifiants demandés
+ */
+export const getDoctorsByIds = async (ids: number[]): Promise<Doctor[]> => {
+  try {
+    const response = await apiClient.get<Doctor[]>('/doctor/batch', {
+      params: { ids: ids.join(',') }
+    });
+    return response.data;
+  } catch (error) {
+    console.error('Error fetching doctors:', error);
+    throw error;
+  }
+};
+
 export default {
   getDoctors,
   getDoctorById,
+  getDoctorsByIds,
 };
 
@@ -1,4 +1,4 @@
-import { Specialite } from '../types';
+import { Specialite, SpecialityCount } from '../types';
 import apiClient from './apiClient';
 
 /**
@@ -15,7 +15,22 @@ export const getAllSpecialities = async (): Promise<Specialite[]> => {
   }
 };
 
+/**
+ * Récupère le nombre de médecins de chaque spécialité (compteurs du filtre)
+ * @returns Compteurs par ID de spécialité
+ */
+export const getDoctorCounts = async (): Promise<SpecialityCount[]> => {
+  try {
+    const response = await apiClient.get<SpecialityCount[]>('/speciality/doctorCounts');
+    return response.data;
+  } catch (error) {
+    console.error('Error fetching speciality doctor counts:', error);
+    throw error;
+  }
+};
+
 export default {
   getAllSpecialities,
+  getDoctorCounts,
 };
 
@@ -59,5 +59,16 @@ describe('DoctorCard', () => {
     expect(screen.getByText(mockDoctors.cardiologist.telephone)).toBeInTheDocument();
     expect(screen.getByText(mockDoctors.cardiologist.adresse!)).toBeInTheDocument();
   });
-});
 
+  it('renders next free slot when provided', () => {
+    render(<DoctorCard doctor={{ ...mockDoctors.cardiologist, nextSlot: '2030-01-07T09:30:00' }} />);
+
+    expect(screen.getByText('Prochain créneau:')).toBeInTheDocument();
+  });
+
+  it('does not render next free slot when absent', () => {
+    render(<DoctorCard doctor={mockDoctors.generalPractitioner} />);
+
+    expect(screen.queryByText('Prochain créneau:')).not.toBeInTheDocument();
+  });
+});
@@ -8,4 +8,5 @@ export type Doctor = {
   telephone: string;
   numeroOrdre: string;
   specialite: Specialite;
+  nextSlot?: string;
 }
\ No newline at end of file
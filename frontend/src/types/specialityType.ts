@@ -2,4 +2,9 @@ export type Specialite = {
   id: number;
   nom: string;
   description: string;
-}
\ No newline at end of file
+}
+
+export type SpecialityCount = {
+  specialityId: number;
+  doctorCount: number;
+}
@@ -4,6 +4,8 @@ export type User = {
   prenom: string;
   email: string;
   role: string;
+  token?: string;
+  expiresAt?: string;
 }
 
 export type LoginRequest = {